@@ -0,0 +1,47 @@
+package engine;
+
+import java.util.logging.Level;
+
+/**
+ * Shared set up of the benchmarks.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class Benchmarks {
+
+	/** Width of the screen the benchmarks run on. */
+	public static final int WIDTH = 448;
+	/** Height of the screen the benchmarks run on. */
+	public static final int HEIGHT = 520;
+	/** Frame rate of the screen the benchmarks run on. */
+	public static final int FPS = 60;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private Benchmarks() {
+
+	}
+
+	/**
+	 * Keeps the engine from logging every ship it creates or destroys, so
+	 * logging isn't measured.
+	 */
+	public static void quiet() {
+		Core.getLogger().setLevel(Level.WARNING);
+	}
+
+	/**
+	 * Builds game settings for a formation of the given size.
+	 *
+	 * @param formation
+	 *            Formation size, as width x height, such as "8x7".
+	 * @return Settings of a regular level with that formation.
+	 */
+	public static GameSettings settings(final String formation) {
+		String[] size = formation.split("x");
+		return new GameSettings(Integer.parseInt(size[0]),
+				Integer.parseInt(size[1]), 20, 1000, false);
+	}
+}
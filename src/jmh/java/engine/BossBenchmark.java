@@ -0,0 +1,112 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.BossScript;
+import entity.EnemyShipFormation;
+import entity.FiringPattern;
+import screen.Screen;
+
+/**
+ * Stress scene of the bullet store, collisions and drawing: a boss fight
+ * whose boss shoots a ring every frame and an eight arm spiral, keeping
+ * thousands of bullets on screen. The player never shoots back, and has
+ * lives enough to be hit all the time.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BossBenchmark {
+
+	/** Milliseconds between frames. */
+	private static final int FRAME_TIME = 1000 / Benchmarks.FPS;
+	/** Frames played before measuring, until the screen is full. */
+	private static final int WARMUP_FRAMES = 1000;
+	/** Lives of the player, enough to last the whole benchmark. */
+	private static final int LIVES = 1000000;
+
+	/** Bullets in each ring, keeping about 4,000, 8,000 and 15,000 live. */
+	@Param({ "32", "64", "128" })
+	private int ringSize;
+
+	/** Clock of the fight, moved a frame at a time. */
+	private TickClock clock;
+	/** Fight being measured. */
+	private GameSimulation simulation;
+	/** Draw manager drawing off screen. */
+	private DrawManager drawManager;
+	/** Screen drawn on. */
+	private Screen screen;
+
+	/**
+	 * Starts the fight and plays it until the screen is full of bullets.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		BossScript script = new BossScript(BossScript.phase(10, 1000,
+				BossScript.stream(0, FRAME_TIME, 1000 / FRAME_TIME,
+						FiringPattern.ring(this.ringSize, 2, Color.RED)),
+				BossScript.stream(0, 50, 20,
+						FiringPattern.spiral(8, 3, Color.YELLOW))));
+		this.clock = new TickClock();
+		Random random = new Random(0);
+		EnemyShipFormation formation = new EnemyShipFormation(
+				new GameSettings(1, 1, 2, 500, true), this.clock, random,
+				script);
+		this.simulation = new GameSimulation(new GameState(8, 0, LIVES, 0, 0),
+				false, Benchmarks.WIDTH, Benchmarks.HEIGHT, this.clock, random,
+				keyCode -> false, formation);
+		for (int i = 0; i < WARMUP_FRAMES; i++)
+			update();
+
+		this.drawManager = Core.getDrawManager();
+		this.screen = new Screen(Benchmarks.WIDTH, Benchmarks.HEIGHT,
+				Benchmarks.FPS);
+		this.drawManager.initDrawing(this.screen);
+	}
+
+	/**
+	 * Plays a frame: the boss shoots, every bullet moves and is checked
+	 * against the ships, and the ones off screen are removed.
+	 *
+	 * @return Bullets on screen.
+	 */
+	@Benchmark
+	public int update() {
+		this.clock.advance(FRAME_TIME);
+		this.simulation.update();
+		return this.simulation.getBulletCount();
+	}
+
+	/**
+	 * Draws every bullet into the off screen buffer.
+	 *
+	 * @return Bullets drawn.
+	 */
+	@Benchmark
+	public int draw() {
+		this.drawManager.drawBullets(this.screen, this.simulation.getBullets());
+		return this.simulation.getBulletCount();
+	}
+}
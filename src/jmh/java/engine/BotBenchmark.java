@@ -0,0 +1,86 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.BulletStore;
+
+/**
+ * Measures how long the reference bots take to decide a frame.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BotBenchmark {
+
+	/** Enemy bullets falling towards the player. */
+	@Param({ "10", "100" })
+	private int bulletCount;
+
+	/** Game the bots look at. */
+	private GameSimulation simulation;
+	/** Bot that dodges. */
+	private Bot dodgerBot;
+	/** Bot that clears columns. */
+	private Bot greedyBot;
+
+	/**
+	 * Creates the game and fills the screen with enemy bullets above the
+	 * player.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.simulation = new GameSimulation(new GameState(1, 0, 3, 0, 0),
+				Benchmarks.settings("8x7"), false, Benchmarks.WIDTH,
+				Benchmarks.HEIGHT, new Clock(), new Random(),
+				keyCode -> false);
+		this.dodgerBot = new DodgerBot();
+		this.greedyBot = new GreedyBot();
+
+		BulletStore bullets = this.simulation.getBullets();
+		for (int i = 0; i < this.bulletCount; i++)
+			bullets.add(i * 7 % Benchmarks.WIDTH,
+					Benchmarks.HEIGHT - 200 + i % 150, 0, 4, Color.WHITE,
+					true);
+	}
+
+	/**
+	 * Lets the dodger decide once.
+	 *
+	 * @return Keys pressed.
+	 */
+	@Benchmark
+	public int dodger() {
+		return this.dodgerBot.decide(this.simulation);
+	}
+
+	/**
+	 * Lets the column clearer decide once.
+	 *
+	 * @return Keys pressed.
+	 */
+	@Benchmark
+	public int greedy() {
+		return this.greedyBot.decide(this.simulation);
+	}
+}
@@ -0,0 +1,77 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.BulletStore;
+
+/**
+ * Measures the game's collision checks with bullets that miss, which
+ * is what almost every frame does.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	/** Formation size. */
+	@Param({ "5x4", "8x7", "16x6" })
+	private String formation;
+	/** Bullets on screen, half of them shot by the player. */
+	@Param({ "10", "100", "1000" })
+	private int bulletCount;
+
+	/** Game being measured. */
+	private GameSimulation simulation;
+
+	/**
+	 * Creates the game and fills the screen with bullets between the
+	 * formation and the player.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.simulation = new GameSimulation(new GameState(1, 0, 3, 0, 0),
+				Benchmarks.settings(this.formation), false, Benchmarks.WIDTH,
+				Benchmarks.HEIGHT, new Clock(), new Random(),
+				keyCode -> false);
+
+		BulletStore bullets = this.simulation.getBullets();
+		for (int i = 0; i < this.bulletCount; i++) {
+			boolean enemy = i % 2 != 0;
+			bullets.add(i * 7 % Benchmarks.WIDTH,
+					Benchmarks.HEIGHT - 120 - i % 40, 0, enemy ? 4 : -6,
+					Color.WHITE, enemy);
+		}
+	}
+
+	/**
+	 * Checks every bullet against the ships once.
+	 *
+	 * @return Number of bullets still on screen.
+	 */
+	@Benchmark
+	public int manageCollisions() {
+		this.simulation.manageCollisions();
+		return this.simulation.getBullets().size();
+	}
+}
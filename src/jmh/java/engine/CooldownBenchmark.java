@@ -0,0 +1,132 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures polling the cooldowns of a formation, one per ship, as done every
+ * frame, and the same cooldowns kept in a timing wheel.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownBenchmark {
+
+	/** Formation size, one cooldown per ship. */
+	@Param({ "5x4", "8x7", "16x6" })
+	private String formation;
+	/** Bullets on screen, one cooldown per bullet on top of the ships. */
+	@Param({ "10", "100", "1000" })
+	private int bulletCount;
+
+	/** Cooldowns to poll, half of them running. */
+	private Cooldown[] cooldowns;
+	/** Clock of the frames played, moved forward a frame at a time. */
+	private TickClock clock;
+	/** Cooldowns reading the clock, restarted when finished. */
+	private Cooldown[] clockCooldowns;
+	/** Cooldowns kept in the clock's wheel, restarted when finished. */
+	private Cooldown[] wheelCooldowns;
+
+	/**
+	 * Creates the cooldowns.
+	 */
+	@Setup
+	public void setUp() {
+		GameSettings settings = Benchmarks.settings(this.formation);
+		int count = settings.getFormationWidth()
+				* settings.getFormationHeight() + this.bulletCount;
+		this.cooldowns = new Cooldown[count];
+		for (int i = 0; i < count; i++) {
+			this.cooldowns[i] = Core.getCooldown(500);
+			if (i % 2 == 0)
+				this.cooldowns[i].reset();
+		}
+
+		this.clock = new TickClock();
+		this.clockCooldowns = new Cooldown[count];
+		this.wheelCooldowns = new Cooldown[count];
+		for (int i = 0; i < count; i++) {
+			// Spread out, so a few finish each frame.
+			this.clockCooldowns[i] = Core.getCooldown(500 + i % 1000,
+					this.clock);
+			this.clockCooldowns[i].reset();
+			this.wheelCooldowns[i] = Core.getCooldown(500 + i % 1000,
+					this.clock.getTimingWheel());
+			this.wheelCooldowns[i].reset();
+		}
+	}
+
+	/**
+	 * Checks every cooldown once.
+	 *
+	 * @return Number of finished cooldowns.
+	 */
+	@Benchmark
+	public int checkFinished() {
+		int finished = 0;
+		for (Cooldown cooldown : this.cooldowns)
+			if (cooldown.checkFinished())
+				finished++;
+		return finished;
+	}
+
+	/**
+	 * Plays a frame of cooldowns reading the clock: each is checked, and
+	 * restarted if finished.
+	 *
+	 * @return Number of finished cooldowns.
+	 */
+	@Benchmark
+	public int clockFrame() {
+		this.clock.advance(16);
+		return restartFinished(this.clockCooldowns);
+	}
+
+	/**
+	 * Plays a frame of cooldowns kept in the timing wheel: the wheel is
+	 * advanced once, then each is checked, and restarted if finished.
+	 *
+	 * @return Number of finished cooldowns.
+	 */
+	@Benchmark
+	public int wheelFrame() {
+		this.clock.advance(16);
+		this.clock.getTimingWheel().advance();
+		return restartFinished(this.wheelCooldowns);
+	}
+
+	/**
+	 * Checks every cooldown, restarting the finished ones.
+	 *
+	 * @param frameCooldowns
+	 *            Cooldowns to check.
+	 * @return Number of finished cooldowns.
+	 */
+	private static int restartFinished(final Cooldown[] frameCooldowns) {
+		int finished = 0;
+		for (Cooldown cooldown : frameCooldowns)
+			if (cooldown.checkFinished()) {
+				cooldown.reset();
+				finished++;
+			}
+		return finished;
+	}
+}
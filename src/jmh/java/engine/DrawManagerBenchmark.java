@@ -0,0 +1,89 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.BulletStore;
+import entity.EnemyShipFormation;
+import screen.Screen;
+
+/**
+ * Measures drawing a formation and its bullets into the off screen buffer.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawManagerBenchmark {
+
+	/** Formation size. */
+	@Param({ "5x4", "8x7", "16x6" })
+	private String formation;
+	/** Bullets on screen. */
+	@Param({ "10", "100", "1000" })
+	private int bulletCount;
+
+	/** Draw manager drawing off screen. */
+	private DrawManager drawManager;
+	/** Formation to draw. */
+	private EnemyShipFormation enemyShipFormation;
+	/** Snapshot the formation is drawn from. */
+	private FrameSnapshot snapshot;
+	/** Bullets to draw. */
+	private BulletStore bullets;
+	/** Screen drawn on. */
+	private Screen screen;
+
+	/**
+	 * Prepares the off screen buffer and the entities to draw.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.drawManager = Core.getDrawManager();
+		this.screen = new Screen(Benchmarks.WIDTH, Benchmarks.HEIGHT,
+				Benchmarks.FPS);
+		this.enemyShipFormation = new EnemyShipFormation(
+				Benchmarks.settings(this.formation), new Clock(), new Random());
+		this.enemyShipFormation.attach(this.screen);
+		this.snapshot = new FrameSnapshot(this.bulletCount, 0);
+		this.bullets = new BulletStore(this.bulletCount);
+		for (int i = 0; i < this.bulletCount; i++)
+			this.bullets.add(i * 7 % Benchmarks.WIDTH,
+					60 + i * 13 % (Benchmarks.HEIGHT - 60), 0, 4, Color.WHITE,
+					true);
+		this.drawManager.initDrawing(this.screen);
+	}
+
+	/**
+	 * Draws every ship and bullet once.
+	 *
+	 * @return Number of entities drawn.
+	 */
+	@Benchmark
+	public int drawEntity() {
+		this.snapshot.clear();
+		this.enemyShipFormation.addTo(this.snapshot);
+		this.drawManager.drawEntities(this.snapshot);
+		this.drawManager.drawBullets(this.screen, this.bullets);
+		return this.snapshot.getEntityCount() + this.bullets.size();
+	}
+}
@@ -0,0 +1,101 @@
+package engine;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Measures loading the sprites and the high scores. These don't depend on
+ * the formation size or the bullet count, so they aren't parameterised.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileManagerBenchmark {
+
+	/** File manager instance. */
+	private FileManager fileManager;
+	/** Sprites to load, sized as the draw manager does. */
+	private Map<SpriteType, boolean[][]> spriteMap;
+
+	/**
+	 * Prepares the sprite map.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.fileManager = Core.getFileManager();
+		this.spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
+		this.spriteMap.put(SpriteType.Ship, new boolean[13][8]);
+		this.spriteMap.put(SpriteType.ShipDestroyed, new boolean[13][8]);
+		this.spriteMap.put(SpriteType.Bullet, new boolean[3][5]);
+		this.spriteMap.put(SpriteType.EnemyBullet, new boolean[3][5]);
+		this.spriteMap.put(SpriteType.EnemyShipA1, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipA2, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipB1, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipB2, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipC1, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipC2, new boolean[12][8]);
+		this.spriteMap.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
+		this.spriteMap.put(SpriteType.Explosion, new boolean[13][7]);
+		this.spriteMap.put(SpriteType.EnemyBoss, new boolean[48][32]);
+	}
+
+	/**
+	 * Loads every sprite.
+	 *
+	 * @return Loaded sprites.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	@Benchmark
+	public Map<SpriteType, boolean[][]> loadSprite() throws IOException {
+		this.fileManager.loadSprite(this.spriteMap);
+		return this.spriteMap;
+	}
+
+	/**
+	 * Reads the high scores from disk.
+	 *
+	 * @return Loaded high scores.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	@Benchmark
+	public List<Score> readHighScores() throws IOException {
+		return this.fileManager.readHighScores();
+	}
+
+	/**
+	 * Loads the high scores as the screens do, after the first read.
+	 *
+	 * @return Loaded high scores.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	@Benchmark
+	public List<Score> loadHighScores() throws IOException {
+		return this.fileManager.loadHighScores();
+	}
+}
@@ -0,0 +1,101 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.BulletStore;
+
+/**
+ * Finds how many bullets a frame needs before splitting it across threads
+ * pays off. Every bullet is moved and checked for collisions each frame,
+ * split whatever their number when there is more than one thread. The
+ * bullets hover over the formation, so they stay on screen and hit nothing.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelTickBenchmark {
+
+	/** Rows of the screen the bullets hover in, over the formation. */
+	private static final int ROWS = 25;
+	/** Highest the bullets hover, under the interface line. */
+	private static final int TOP = GameSimulation.SEPARATION_LINE_HEIGHT + 5;
+
+	/** Bullets on screen, half of them shot by the player. */
+	@Param({ "1000", "4000", "16000", "64000", "256000" })
+	private int bulletCount;
+	/** Threads each frame is split across, 1 to not split it. */
+	@Param({ "1", "2", "4" })
+	private int threads;
+
+	/** Game being measured. */
+	private GameSimulation simulation;
+	/** Pool the frames are split across, null if they aren't. */
+	private ForkJoinPool pool;
+
+	/**
+	 * Creates the game and fills the space over the formation with
+	 * bullets.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.simulation = new GameSimulation(new GameState(1, 0, 3, 0, 0),
+				Benchmarks.settings("8x7"), false, Benchmarks.WIDTH,
+				Benchmarks.HEIGHT, new Clock(), new Random(0),
+				keyCode -> false);
+		if (this.threads > 1) {
+			this.pool = new ForkJoinPool(this.threads);
+			this.simulation.setParallelTick(new ParallelTick(this.pool, 1));
+		}
+
+		BulletStore bullets = this.simulation.getBullets();
+		for (int i = 0; i < this.bulletCount; i++) {
+			boolean enemy = i % 2 != 0;
+			bullets.add(i * 7 % Benchmarks.WIDTH, TOP + i % ROWS, 0, 0,
+					Color.WHITE, enemy);
+		}
+	}
+
+	/**
+	 * Stops the threads of the pool.
+	 */
+	@TearDown
+	public void tearDown() {
+		if (this.pool != null)
+			this.pool.shutdown();
+	}
+
+	/**
+	 * Moves every bullet and checks it against the ships once.
+	 *
+	 * @return Number of bullets still on screen.
+	 */
+	@Benchmark
+	public int frame() {
+		this.simulation.cleanBullets();
+		this.simulation.manageCollisions();
+		return this.simulation.getBullets().size();
+	}
+}
@@ -0,0 +1,86 @@
+package engine;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entity.ParticleStore;
+import screen.Screen;
+
+/**
+ * Worst case of the particles: every ship of a 10x10 formation blows up
+ * every frame, so the store is always as full as its budget lets it be.
+ * Each frame adds the explosions, moves the particles and draws them.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBenchmark {
+
+	/** Ships in each row and column of the formation. */
+	private static final int FORMATION_SIZE = 10;
+	/** Distance between the centers of ships side by side. */
+	private static final int SEPARATION = 40;
+	/** Particles of a ship blowing up, as in a game. */
+	private static final int EXPLOSION_PARTICLES = 24;
+
+	/** Most particles on screen at once. */
+	@Param({ "256", "1024", "4096" })
+	private int budget;
+
+	/** Particles of the explosions. */
+	private ParticleStore particles;
+	/** Draw manager drawing off screen. */
+	private DrawManager drawManager;
+	/** Screen drawn on. */
+	private Screen screen;
+
+	/**
+	 * Prepares the off screen buffer and fills the store.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.particles = new ParticleStore(this.budget);
+		this.drawManager = Core.getDrawManager();
+		this.screen = new Screen(Benchmarks.WIDTH, Benchmarks.HEIGHT,
+				Benchmarks.FPS);
+		this.drawManager.initDrawing(this.screen);
+		for (int i = 0; i < Benchmarks.FPS; i++)
+			frame();
+	}
+
+	/**
+	 * Plays a frame of the chain of explosions.
+	 *
+	 * @return Particles on screen.
+	 */
+	@Benchmark
+	public int frame() {
+		for (int i = 0; i < FORMATION_SIZE; i++)
+			for (int j = 0; j < FORMATION_SIZE; j++)
+				this.particles.burst(SEPARATION / 2 + i * SEPARATION,
+						SEPARATION + j * SEPARATION, EXPLOSION_PARTICLES,
+						2.5f, 30, Color.WHITE);
+		this.particles.update();
+		this.drawManager.drawParticles(this.screen, this.particles);
+		return this.particles.size();
+	}
+}
@@ -0,0 +1,168 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a frame of moving, slowing down and aging many entities kept in an
+ * archetype, against the same entities kept as an object each. Entities live
+ * up to a second, as particles do, and the ones that die are replaced, so
+ * their number stays the same. The objects are walked in no particular order,
+ * as they end up after a game creates and drops them for a while.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchetypeBenchmark {
+
+	/** Part of its speed an entity keeps each frame. */
+	private static final float DRAG = 0.92f;
+	/** Most frames an entity lives. */
+	private static final int LIFETIME = 60;
+	/** Different speeds and lifetimes new entities are given. */
+	private static final int VARIETY = 1024;
+
+	/** Number of entities. */
+	@Param({ "1000", "100000" })
+	private int count;
+
+	/** Entities as columns. */
+	private Archetype archetype;
+	/** Entities as objects. */
+	private Moving[] objects;
+	/** Horizontal speeds new entities are given. */
+	private float[] speedsX;
+	/** Vertical speeds new entities are given. */
+	private float[] speedsY;
+	/** Lifetimes new entities are given. */
+	private int[] lifetimes;
+	/** Entities made so far, picking the speed of the next. */
+	private int spawned;
+
+	/**
+	 * An entity as an object, with the same components as the archetype's.
+	 */
+	private static final class Moving {
+		/** Position in the x-axis. */
+		private float positionX;
+		/** Position in the y-axis. */
+		private float positionY;
+		/** Horizontal speed. */
+		private float speedX;
+		/** Vertical speed. */
+		private float speedY;
+		/** Frames left. */
+		private int life;
+	}
+
+	/**
+	 * Creates the entities, both ways.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(0);
+		this.speedsX = new float[VARIETY];
+		this.speedsY = new float[VARIETY];
+		this.lifetimes = new int[VARIETY];
+		for (int i = 0; i < VARIETY; i++) {
+			this.speedsX[i] = random.nextFloat() * 4 - 2;
+			this.speedsY[i] = random.nextFloat() * 4 - 2;
+			this.lifetimes[i] = 1 + random.nextInt(LIFETIME);
+		}
+		this.archetype = new Archetype(Archetype.POSITION
+				| Archetype.VELOCITY | Archetype.LIFETIME, this.count);
+		List<Moving> objects = new ArrayList<Moving>();
+		for (int i = 0; i < this.count; i++) {
+			objects.add(new Moving());
+			spawn(objects.get(i));
+		}
+		Collections.shuffle(objects, random);
+		this.objects = objects.toArray(new Moving[0]);
+		fill();
+	}
+
+	/**
+	 * Adds entities to the archetype until there are as many as measured.
+	 */
+	private void fill() {
+		while (this.archetype.size() < this.count) {
+			int entity = this.archetype.add();
+			int kind = this.spawned++ & (VARIETY - 1);
+			this.archetype.positionsX[entity] = 0;
+			this.archetype.positionsY[entity] = 0;
+			this.archetype.speedsX[entity] = this.speedsX[kind];
+			this.archetype.speedsY[entity] = this.speedsY[kind];
+			this.archetype.lives[entity] = this.lifetimes[kind];
+			this.archetype.lifetimes[entity] = this.lifetimes[kind];
+		}
+	}
+
+	/**
+	 * Starts an entity kept as an object over.
+	 *
+	 * @param moving
+	 *            Entity started over.
+	 */
+	private void spawn(final Moving moving) {
+		int kind = this.spawned++ & (VARIETY - 1);
+		moving.positionX = 0;
+		moving.positionY = 0;
+		moving.speedX = this.speedsX[kind];
+		moving.speedY = this.speedsY[kind];
+		moving.life = this.lifetimes[kind];
+	}
+
+	/**
+	 * Plays a frame of the entities kept as columns.
+	 *
+	 * @return Entities.
+	 */
+	@Benchmark
+	public int archetype() {
+		Systems.age(this.archetype);
+		Systems.move(this.archetype);
+		Systems.drag(this.archetype, DRAG);
+		fill();
+		return this.archetype.size();
+	}
+
+	/**
+	 * Plays a frame of the entities kept as objects.
+	 *
+	 * @return Entities.
+	 */
+	@Benchmark
+	public int objects() {
+		for (Moving moving : this.objects)
+			if (--moving.life <= 0)
+				spawn(moving);
+			else {
+				moving.positionX += moving.speedX;
+				moving.positionY += moving.speedY;
+				moving.speedX *= DRAG;
+				moving.speedY *= DRAG;
+			}
+		return this.objects.length;
+	}
+}
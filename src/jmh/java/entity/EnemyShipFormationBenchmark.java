@@ -0,0 +1,139 @@
+package entity;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Benchmarks;
+import engine.Clock;
+
+/**
+ * Measures the per frame work of a formation, and destroying it.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyShipFormationBenchmark {
+
+	/** Formation size. */
+	@Param({ "5x4", "8x7", "16x6", "100x100" })
+	private String formation;
+	/** Enemy bullets kept on screen before they are recycled. */
+	@Param({ "10", "100", "1000" })
+	private int bulletCount;
+
+	/** Formation being measured. */
+	private EnemyShipFormation enemyShipFormation;
+	/** Bullets shot by the formation. */
+	private BulletStore bullets;
+
+	/**
+	 * Creates the formation.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		this.enemyShipFormation = new EnemyShipFormation(
+				Benchmarks.settings(this.formation), new Clock(),
+				new Random());
+		this.bullets = new BulletStore(this.bulletCount);
+		this.enemyShipFormation.update();
+	}
+
+	/**
+	 * Formation freshly created before each operation, to be destroyed.
+	 */
+	@State(Scope.Thread)
+	public static class FreshFormation {
+
+		/** Formation size. */
+		@Param({ "5x4", "8x7", "16x6" })
+		private String formation;
+
+		/** Formation to destroy. */
+		private EnemyShipFormation enemyShipFormation;
+
+		/**
+		 * Creates the formation.
+		 */
+		@Setup(Level.Invocation)
+		public void setUp() {
+			Benchmarks.quiet();
+			this.enemyShipFormation = new EnemyShipFormation(
+					Benchmarks.settings(this.formation), new Clock(),
+				new Random());
+		}
+	}
+
+	/**
+	 * Moves the formation one frame.
+	 *
+	 * @return The formation.
+	 */
+	@Benchmark
+	public EnemyShipFormation update() {
+		this.enemyShipFormation.update();
+		return this.enemyShipFormation;
+	}
+
+	/**
+	 * Shoots if the formation is ready, emptying the store once there are
+	 * enough bullets on screen.
+	 *
+	 * @return Number of bullets on screen.
+	 */
+	@Benchmark
+	public int shoot() {
+		this.enemyShipFormation.shoot(this.bullets, Benchmarks.WIDTH / 2,
+				Benchmarks.HEIGHT);
+		int shot = this.bullets.size();
+		if (shot >= this.bulletCount)
+			this.bullets.clear();
+		return shot;
+	}
+
+	/**
+	 * Visits every ship in the formation.
+	 *
+	 * @return Number of ships visited.
+	 */
+	@Benchmark
+	public int iterator() {
+		int visited = 0;
+		for (int i = 0; i < this.enemyShipFormation.size(); i++)
+			visited += this.enemyShipFormation.getPointValue(i) > 0 ? 1 : 0;
+		return visited;
+	}
+
+	/**
+	 * Destroys every ship of a fresh formation.
+	 *
+	 * @param fresh
+	 *            Formation to destroy.
+	 * @return The destroyed formation.
+	 */
+	@Benchmark
+	public EnemyShipFormation destroy(final FreshFormation fresh) {
+		for (int i = 0; i < fresh.enemyShipFormation.size(); i++)
+			fresh.enemyShipFormation.destroy(i);
+		return fresh.enemyShipFormation;
+	}
+}
@@ -0,0 +1,96 @@
+package entity;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Benchmarks;
+import engine.DrawManager.SpriteType;
+
+/**
+ * Measures firing a shot of each kind of pattern into a bullet store, with
+ * as many bullets as a boss phase may shoot in a frame.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiringPatternBenchmark {
+
+	/** Kind of pattern fired. */
+	@Param({ "SPREAD", "BURST", "AIMED", "SPIRAL", "RING" })
+	private FiringPattern.Kind kind;
+	/** Bullets in each shot. */
+	@Param({ "1", "10", "300" })
+	private int count;
+
+	/** Pattern fired. */
+	private FiringPattern pattern;
+	/** Ship firing. */
+	private EnemyShip shooter;
+	/** Bullets shot. */
+	private BulletStore bullets;
+	/** Shots fired. */
+	private int shots;
+
+	/**
+	 * Declares the pattern and makes room for its bullets.
+	 */
+	@Setup
+	public void setUp() {
+		Benchmarks.quiet();
+		switch (this.kind) {
+			case SPREAD:
+				this.pattern = FiringPattern.spread(this.count, 3, 4,
+						Color.WHITE);
+				break;
+			case BURST:
+				this.pattern = FiringPattern.burst(this.count, 8, 4,
+						Color.WHITE);
+				break;
+			case AIMED:
+				this.pattern = FiringPattern.aimed(this.count, 3, 4,
+						Color.WHITE);
+				break;
+			case SPIRAL:
+				this.pattern = FiringPattern.spiral(this.count, 4, Color.RED);
+				break;
+			default:
+				this.pattern = FiringPattern.ring(this.count, 4, Color.RED);
+				break;
+		}
+		this.shooter = new EnemyShip(200, 100, SpriteType.EnemyBoss, 10,
+				true);
+		this.bullets = new BulletStore(this.count);
+	}
+
+	/**
+	 * Fires a shot, then empties the store.
+	 *
+	 * @return Bullets shot.
+	 */
+	@Benchmark
+	public int fire() {
+		this.pattern.fire(this.bullets, this.shooter,
+				Benchmarks.WIDTH / 2, Benchmarks.HEIGHT, this.shots++);
+		int shot = this.bullets.size();
+		this.bullets.clear();
+		return shot;
+	}
+}
@@ -25,14 +25,24 @@ public class Audio {
             e.printStackTrace();
         } catch (UnsupportedAudioFileException e) {
             e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            // No audio device, the clip stays silent.
+            clip = null;
         }
     }
 
     public void start() {
+        if (clip == null) return;
         clip.setFramePosition(0);
         clip.start();
         if (isLoop) clip.loop(Clip.LOOP_CONTINUOUSLY);
     }
 
-    public void stop() { clip.stop(); }
+    public void stop() { if (clip != null) clip.stop(); }
+
+    /** Releases the clip, the audio can't be played afterwards. */
+    public void close() {
+        if (clip != null) clip.close();
+        clip = null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,315 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+
+/**
+ * Plays many complete games at once, without a window, to see how a set of
+ * levels plays out. Each game has its own seed, input and simulation, so
+ * the results only depend on the seeds.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class BatchRunner {
+
+	/** Longest a level is played before giving up on it, in minutes. */
+	private static final int MAX_LEVEL_MINUTES = 10;
+	/** Milliseconds between frames. */
+	private static final long FRAME_TIME = 1000 / Core.FPS;
+
+	/** Settings of each level, in order. */
+	private List<GameSettings> levels;
+	/** Creates the input of each game from a seed. */
+	private LongFunction<InputSource> inputs;
+	/** Pool each level's frames are split across, null if they aren't. */
+	private ForkJoinPool tickPool;
+	/** Entities below which a frame isn't split. */
+	private int tickThreshold;
+
+	/**
+	 * Result of a complete game.
+	 */
+	public static final class Outcome {
+
+		/** Seed the game was played with. */
+		private final long seed;
+		/** State of the game after its last level. */
+		private final GameState gameState;
+		/** Checks if the last level took too long and was given up on. */
+		private final boolean timedOut;
+		/** Frames played in all levels. */
+		private final long frames;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param seed
+		 *            Seed the game was played with.
+		 * @param gameState
+		 *            State of the game after its last level.
+		 * @param timedOut
+		 *            Checks if the last level was given up on.
+		 * @param frames
+		 *            Frames played in all levels.
+		 */
+		private Outcome(final long seed, final GameState gameState,
+				final boolean timedOut, final long frames) {
+			this.seed = seed;
+			this.gameState = gameState;
+			this.timedOut = timedOut;
+			this.frames = frames;
+		}
+
+		/**
+		 * @return the seed the game was played with
+		 */
+		public long getSeed() {
+			return this.seed;
+		}
+
+		/**
+		 * @return the state of the game after its last level
+		 */
+		public GameState getGameState() {
+			return this.gameState;
+		}
+
+		/**
+		 * @return true if the last level took too long and was given up on
+		 */
+		public boolean isTimedOut() {
+			return this.timedOut;
+		}
+
+		/**
+		 * @return the frames played in all levels
+		 */
+		public long getFrames() {
+			return this.frames;
+		}
+	}
+
+	/**
+	 * Constructor, establishes what is played and how.
+	 *
+	 * @param levels
+	 *            Settings of each level, in order.
+	 * @param inputs
+	 *            Creates the input of each game from a seed.
+	 */
+	public BatchRunner(final List<GameSettings> levels,
+			final LongFunction<InputSource> inputs) {
+		this.levels = levels;
+		this.inputs = inputs;
+	}
+
+	/**
+	 * Splits the frames of every level played from now on across the
+	 * threads of a pool, once they have enough entities. Games play the
+	 * same either way.
+	 *
+	 * @param pool
+	 *            Pool the frames are split across, null to play each on a
+	 *            single thread.
+	 * @param threshold
+	 *            Entities below which a frame isn't split.
+	 */
+	public final void setParallelTick(final ForkJoinPool pool,
+			final int threshold) {
+		this.tickPool = pool;
+		this.tickThreshold = threshold;
+	}
+
+	/**
+	 * Plays a complete game, level after level, until the player runs out of
+	 * lives or clears the last level.
+	 *
+	 * @param seed
+	 *            Seed of the game.
+	 * @return Result of the game.
+	 */
+	public final Outcome play(final long seed) {
+		Random random = new Random(seed);
+		InputSource input = this.inputs.apply(random.nextLong());
+		long frames = 0;
+
+		GameState gameState = new GameState(1, 0, Core.MAX_LIVES, 0, 0);
+		while (true) {
+			// One extra live every few levels.
+			boolean bonusLife = gameState.getLevel()
+					% Core.EXTRA_LIFE_FRECUENCY == 0
+					&& gameState.getLivesRemaining() < Core.MAX_LIVES;
+			TickClock clock = new TickClock();
+			GameSimulation simulation = new GameSimulation(gameState,
+					this.levels.get(gameState.getLevel() - 1), bonusLife,
+					Core.WIDTH, Core.HEIGHT, clock, random, input);
+			frames += playLevel(simulation, clock);
+			if (!simulation.isOver())
+				return new Outcome(seed, simulation.getGameState(), true,
+						frames);
+
+			simulation.addLifeBonus();
+			GameState result = simulation.getGameState();
+			if (result.getLivesRemaining() <= 0
+					|| result.getLevel() >= this.levels.size())
+				return new Outcome(seed, result, false, frames);
+
+			gameState = new GameState(result.getLevel() + 1,
+					result.getScore(), result.getLivesRemaining(),
+					result.getBulletsShot(), result.getShipsDestroyed());
+		}
+	}
+
+	/**
+	 * Plays a single level from the start of a game, with every life.
+	 *
+	 * @param settings
+	 *            Settings of the level.
+	 * @param level
+	 *            Number of the level, starting at 1.
+	 * @param seed
+	 *            Seed of the game.
+	 * @return Result of the level.
+	 */
+	public final Outcome play(final GameSettings settings, final int level,
+			final long seed) {
+		Random random = new Random(seed);
+		InputSource input = this.inputs.apply(random.nextLong());
+		TickClock clock = new TickClock();
+		GameSimulation simulation = new GameSimulation(
+				new GameState(level, 0, Core.MAX_LIVES, 0, 0),
+				settings, false, Core.WIDTH, Core.HEIGHT, clock, random,
+				input);
+		long frames = playLevel(simulation, clock);
+		if (simulation.isOver())
+			simulation.addLifeBonus();
+		return new Outcome(seed, simulation.getGameState(),
+				!simulation.isOver(), frames);
+	}
+
+	/**
+	 * Plays a level until it's over or takes too long.
+	 *
+	 * @param simulation
+	 *            Level to play.
+	 * @param clock
+	 *            Clock of the level.
+	 * @return Frames played.
+	 */
+	private long playLevel(final GameSimulation simulation,
+			final TickClock clock) {
+		if (this.tickPool != null)
+			simulation.setParallelTick(new ParallelTick(this.tickPool,
+					this.tickThreshold));
+		long maxFrames = MAX_LEVEL_MINUTES * 60L * Core.FPS;
+		long frames = 0;
+		while (!simulation.isOver() && frames < maxFrames) {
+			clock.advance(FRAME_TIME);
+			simulation.update();
+			frames++;
+		}
+		return frames;
+	}
+
+	/**
+	 * Plays a number of games in parallel.
+	 *
+	 * @param runs
+	 *            Number of games to play.
+	 * @param seed
+	 *            Seed of the first game, the others follow it.
+	 * @param parallelism
+	 *            Number of games played at once.
+	 * @return Summary of the results.
+	 */
+	public final BatchSummary run(final int runs, final long seed,
+			final int parallelism) {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<ForkJoinTask<Outcome>> games =
+					new ArrayList<ForkJoinTask<Outcome>>(runs);
+			for (int i = 0; i < runs; i++) {
+				final long gameSeed = seed + i;
+				games.add(pool.submit(() -> play(gameSeed)));
+			}
+
+			BatchSummary summary = new BatchSummary(this.levels.size());
+			for (ForkJoinTask<Outcome> game : games)
+				summary.add(game.join());
+			return summary;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the players available to batches by name.
+	 *
+	 * @param name
+	 *            random, sweep, dodger or greedy.
+	 * @return Creates the input of each game from a seed.
+	 */
+	public static LongFunction<InputSource> getPlayer(final String name) {
+		switch (name) {
+			case "random":
+				return RandomInput::new;
+			case "sweep":
+				return SweepInput::new;
+			case "dodger":
+				return seed -> new BotInput(new DodgerBot());
+			case "greedy":
+				return seed -> new BotInput(new GreedyBot());
+			default:
+				throw new IllegalArgumentException("Unknown player " + name);
+		}
+	}
+
+	/**
+	 * Plays a batch of games and prints a summary.
+	 *
+	 * @param args
+	 *            Number of games, first seed, difficulty (1 normal, 2 hard, 3
+	 *            expert), games played at once, player (random, sweep,
+	 *            dodger or greedy), threads each frame is split across (0
+	 *            to not split them) and entities below which a frame isn't
+	 *            split, all optional.
+	 */
+	public static void main(final String[] args) {
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		int difficulty = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+		int parallelism = args.length > 3 ? Integer.parseInt(args[3])
+				: Runtime.getRuntime().availableProcessors();
+		String player = args.length > 4 ? args[4] : "random";
+		int tickThreads = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+		int tickThreshold = args.length > 6 ? Integer.parseInt(args[6])
+				: ParallelTick.DEFAULT_THRESHOLD;
+
+		Core.getLogger().setLevel(Level.WARNING);
+		BatchRunner batchRunner = new BatchRunner(
+				Core.getLevelSettings(difficulty), getPlayer(player));
+		ForkJoinPool tickPool = null;
+		if (tickThreads > 0) {
+			tickPool = new ForkJoinPool(tickThreads);
+			batchRunner.setParallelTick(tickPool, tickThreshold);
+		}
+
+		long start = System.nanoTime();
+		BatchSummary summary = batchRunner.run(runs, seed, parallelism);
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		if (tickPool != null)
+			tickPool.shutdown();
+
+		System.out.println(summary);
+		System.out.println("Played " + runs + " " + player
+				+ " games from seed " + seed
+				+ " at difficulty " + difficulty + " on " + parallelism
+				+ " threads in " + elapsed + " ms.");
+	}
+}
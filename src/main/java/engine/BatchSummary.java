@@ -0,0 +1,213 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Sums up the results of a batch of games.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class BatchSummary {
+
+	/** Number of games. */
+	private int runs;
+	/** Games where every level was cleared. */
+	private int cleared;
+	/** Games where the player ran out of lives. */
+	private int lost;
+	/** Games given up on because a level took too long. */
+	private int timedOut;
+	/** Sum of the final scores. */
+	private long totalScore;
+	/** Lowest final score. */
+	private int minScore;
+	/** Highest final score. */
+	private int maxScore;
+	/** Seed of the game with the lowest score. */
+	private long minScoreSeed;
+	/** Total bullets shot by the player. */
+	private long bulletsShot;
+	/** Total ships destroyed by the player. */
+	private long shipsDestroyed;
+	/** Total frames played. */
+	private long frames;
+	/** Final score of each game, in the order they were added. */
+	private int[] scores;
+	/** Number of games that ended on each level. */
+	private int[] endLevels;
+
+	/**
+	 * Constructor, the summary starts empty.
+	 *
+	 * @param levelCount
+	 *            Number of levels of the games.
+	 */
+	public BatchSummary(final int levelCount) {
+		this.minScore = Integer.MAX_VALUE;
+		this.maxScore = Integer.MIN_VALUE;
+		this.scores = new int[16];
+		this.endLevels = new int[levelCount + 1];
+	}
+
+	/**
+	 * Adds the result of a game.
+	 *
+	 * @param outcome
+	 *            Result of the game.
+	 */
+	public final void add(final BatchRunner.Outcome outcome) {
+		GameState gameState = outcome.getGameState();
+		if (this.runs == this.scores.length)
+			this.scores = Arrays.copyOf(this.scores, this.runs * 2);
+		this.scores[this.runs] = gameState.getScore();
+		this.runs++;
+		if (outcome.isTimedOut())
+			this.timedOut++;
+		else if (gameState.getLivesRemaining() <= 0)
+			this.lost++;
+		else
+			this.cleared++;
+
+		int score = gameState.getScore();
+		this.totalScore += score;
+		this.maxScore = Math.max(this.maxScore, score);
+		if (score < this.minScore) {
+			this.minScore = score;
+			this.minScoreSeed = outcome.getSeed();
+		}
+		this.bulletsShot += gameState.getBulletsShot();
+		this.shipsDestroyed += gameState.getShipsDestroyed();
+		this.frames += outcome.getFrames();
+		this.endLevels[Math.min(gameState.getLevel(),
+				this.endLevels.length - 1)]++;
+	}
+
+	/**
+	 * @return the number of games
+	 */
+	public final int getRuns() {
+		return this.runs;
+	}
+
+	/**
+	 * @return the games where every level was cleared
+	 */
+	public final int getCleared() {
+		return this.cleared;
+	}
+
+	/**
+	 * @return the games where the player ran out of lives
+	 */
+	public final int getLost() {
+		return this.lost;
+	}
+
+	/**
+	 * @return the games given up on because a level took too long
+	 */
+	public final int getTimedOut() {
+		return this.timedOut;
+	}
+
+	/**
+	 * @return the mean final score
+	 */
+	public final double getMeanScore() {
+		return this.runs == 0 ? 0 : (double) this.totalScore / this.runs;
+	}
+
+	/**
+	 * @return the lowest final score
+	 */
+	public final int getMinScore() {
+		return this.runs == 0 ? 0 : this.minScore;
+	}
+
+	/**
+	 * @return the highest final score
+	 */
+	public final int getMaxScore() {
+		return this.runs == 0 ? 0 : this.maxScore;
+	}
+
+	/**
+	 * Score below which a given proportion of the games ended.
+	 *
+	 * @param proportion
+	 *            Proportion of the games, between 0 and 1.
+	 * @return Final score at that proportion.
+	 */
+	public final int getScorePercentile(final double proportion) {
+		if (this.runs == 0)
+			return 0;
+		int[] sorted = Arrays.copyOf(this.scores, this.runs);
+		Arrays.sort(sorted);
+		return sorted[(int) Math.min(this.runs - 1,
+				Math.floor(proportion * this.runs))];
+	}
+
+	/**
+	 * @return the mean game time survived, in seconds
+	 */
+	public final double getMeanSeconds() {
+		return this.runs == 0 ? 0
+				: (double) this.frames / Core.FPS / this.runs;
+	}
+
+	/**
+	 * @return the proportion of the games where every level was cleared
+	 */
+	public final double getClearRate() {
+		return this.runs == 0 ? 0 : (double) this.cleared / this.runs;
+	}
+
+	/**
+	 * @return the proportion of the player's bullets that destroyed a ship
+	 */
+	public final double getAccuracy() {
+		return this.bulletsShot == 0 ? 0
+				: (double) this.shipsDestroyed / this.bulletsShot;
+	}
+
+	/**
+	 * Number of games that ended on a given level.
+	 *
+	 * @param level
+	 *            Level number, starting at 1.
+	 * @return Games that ended on that level.
+	 */
+	public final int getEndedOn(final int level) {
+		return this.endLevels[level];
+	}
+
+	/**
+	 * Describes the results.
+	 *
+	 * @return Several lines with the results.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder summary = new StringBuilder();
+		summary.append(String.format(
+				"%d games: %d cleared, %d lost, %d timed out.%n", this.runs,
+				this.cleared, this.lost, this.timedOut));
+		summary.append(String.format(
+				"Score: mean %.1f, min %d (seed %d), max %d.%n",
+				getMeanScore(), getMinScore(), this.minScoreSeed,
+				getMaxScore()));
+		summary.append(String.format(
+				"Score percentiles: 10th %d, 50th %d, 90th %d.%n",
+				getScorePercentile(0.1), getScorePercentile(0.5),
+				getScorePercentile(0.9)));
+		summary.append(String.format(
+				"Accuracy: %.1f%%, mean game time %.1f s.%n",
+				getAccuracy() * 100, getMeanSeconds()));
+		summary.append("Ended on level:");
+		for (int level = 1; level < this.endLevels.length; level++)
+			summary.append(" ").append(level).append("=")
+					.append(this.endLevels[level]);
+		return summary.toString();
+	}
+}
@@ -0,0 +1,28 @@
+package engine;
+
+/**
+ * Program that plays the game, deciding each frame what the player would
+ * press. Decisions are made from a view of the level and returned as a set
+ * of flags, so deciding doesn't allocate.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public interface Bot {
+
+	/** Flag to move the ship left. */
+	int LEFT = 1;
+	/** Flag to move the ship right. */
+	int RIGHT = 2;
+	/** Flag to shoot. */
+	int SHOOT = 4;
+
+	/**
+	 * Decides what to press this frame.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 * @return Combination of the LEFT, RIGHT and SHOOT flags.
+	 */
+	int decide(TickView view);
+}
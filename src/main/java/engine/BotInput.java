@@ -0,0 +1,60 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Feeds a level the keys a bot decides to press, so a bot can play both
+ * simulated games and games on screen.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class BotInput implements InputSource {
+
+	/** Bot playing. */
+	private Bot bot;
+	/** Flags decided by the bot for the current frame. */
+	private int decision;
+
+	/**
+	 * Constructor, establishes the bot playing.
+	 *
+	 * @param bot
+	 *            Bot playing.
+	 */
+	public BotInput(final Bot bot) {
+		this.bot = bot;
+	}
+
+	/**
+	 * Asks the bot what to press this frame.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 */
+	@Override
+	public final void nextFrame(final TickView view) {
+		this.decision = this.bot.decide(view);
+	}
+
+	/**
+	 * Returns true if the bot pressed the provided key.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	@Override
+	public final boolean isKeyDown(final int keyCode) {
+		switch (keyCode) {
+			case KeyEvent.VK_LEFT:
+				return (this.decision & Bot.LEFT) != 0;
+			case KeyEvent.VK_RIGHT:
+				return (this.decision & Bot.RIGHT) != 0;
+			case KeyEvent.VK_SPACE:
+				return (this.decision & Bot.SHOOT) != 0;
+			default:
+				return false;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package engine;
+
+/**
+ * Keeps the time cooldowns are measured against. The clock can be paused,
+ * and the time spent paused doesn't count towards any cooldown.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class Clock {
+
+	/** Total time spent paused, in milliseconds. */
+	private long pausedTime;
+	/** Moment the clock was paused at, 0 if running. */
+	private long pauseStart;
+	/** Timers measured against the clock, null until first asked for. */
+	private TimingWheel timingWheel;
+
+	/**
+	 * Returns the current time of the clock.
+	 *
+	 * @return Milliseconds elapsed, not counting paused time.
+	 */
+	public long getTime() {
+		if (this.pauseStart != 0)
+			return this.pauseStart - this.pausedTime;
+		return System.currentTimeMillis() - this.pausedTime;
+	}
+
+	/**
+	 * Returns the timing wheel of the timers measured against the clock,
+	 * creating it the first time. The game run by the clock advances it.
+	 *
+	 * @return Timing wheel of the clock.
+	 */
+	public final TimingWheel getTimingWheel() {
+		if (this.timingWheel == null)
+			this.timingWheel = new TimingWheel(this);
+		return this.timingWheel;
+	}
+
+	/**
+	 * Stops the clock.
+	 */
+	public void pause() {
+		if (this.pauseStart == 0)
+			this.pauseStart = System.currentTimeMillis();
+	}
+
+	/**
+	 * Restarts the clock where it was stopped.
+	 */
+	public void resume() {
+		if (this.pauseStart != 0) {
+			this.pausedTime += System.currentTimeMillis() - this.pauseStart;
+			this.pauseStart = 0;
+		}
+	}
+
+	/**
+	 * Checks if the clock is stopped.
+	 *
+	 * @return True if the clock is paused.
+	 */
+	public boolean isPaused() {
+		return this.pauseStart != 0;
+	}
+}
@@ -1,7 +1,11 @@
 package engine;
 
+import java.util.Random;
+
 /**
- * Imposes a cooldown period between two actions.
+ * Imposes a cooldown period between two actions. A cooldown kept in a timing
+ * wheel doesn't read the clock when checked, it's finished once the wheel is
+ * advanced past its end.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -16,6 +20,16 @@ public class Cooldown {
 	private int duration;
 	/** Beginning time. */
 	private long time;
+	/** Checks if the cooldown has been started. */
+	private boolean started;
+	/** Clock the cooldown is measured against. */
+	private Clock clock;
+	/** Source of the variation between durations. */
+	private Random random;
+	/** Wheel the cooldown is kept in, null if it reads the clock. */
+	private TimingWheel timingWheel;
+	/** Timer of the cooldown in the wheel, null if it reads the clock. */
+	private TimingWheel.Timer timer;
 
 	/**
 	 * Constructor, established the time until the action can be performed
@@ -23,12 +37,15 @@ public class Cooldown {
 	 * 
 	 * @param milliseconds
 	 *            Time until cooldown period is finished.
+	 * @param clock
+	 *            Clock the cooldown is measured against.
 	 */
-	protected Cooldown(final int milliseconds) {
+	protected Cooldown(final int milliseconds, final Clock clock) {
 		this.milliseconds = milliseconds;
 		this.variance = 0;
 		this.duration = milliseconds;
 		this.time = 0;
+		this.clock = clock;
 	}
 
 	/**
@@ -39,11 +56,52 @@ public class Cooldown {
 	 *            Time until cooldown period is finished.
 	 * @param variance
 	 *            Variance in the cooldown period.
+	 * @param clock
+	 *            Clock the cooldown is measured against.
+	 * @param random
+	 *            Source of the variation between durations.
 	 */
-	protected Cooldown(final int milliseconds, final int variance) {
+	protected Cooldown(final int milliseconds, final int variance,
+			final Clock clock, final Random random) {
 		this.milliseconds = milliseconds;
 		this.variance = variance;
 		this.time = 0;
+		this.clock = clock;
+		this.random = random;
+	}
+
+	/**
+	 * Constructor, for a cooldown kept in a timing wheel.
+	 * 
+	 * @param milliseconds
+	 *            Time until cooldown period is finished.
+	 * @param timingWheel
+	 *            Wheel the cooldown is kept in.
+	 */
+	protected Cooldown(final int milliseconds,
+			final TimingWheel timingWheel) {
+		this(milliseconds, timingWheel.getClock());
+		this.timingWheel = timingWheel;
+		this.timer = new TimingWheel.Timer();
+	}
+
+	/**
+	 * Constructor, for a cooldown with variance kept in a timing wheel.
+	 * 
+	 * @param milliseconds
+	 *            Time until cooldown period is finished.
+	 * @param variance
+	 *            Variance in the cooldown period.
+	 * @param timingWheel
+	 *            Wheel the cooldown is kept in.
+	 * @param random
+	 *            Source of the variation between durations.
+	 */
+	protected Cooldown(final int milliseconds, final int variance,
+			final TimingWheel timingWheel, final Random random) {
+		this(milliseconds, variance, timingWheel.getClock(), random);
+		this.timingWheel = timingWheel;
+		this.timer = new TimingWheel.Timer();
 	}
 
 	/**
@@ -52,8 +110,10 @@ public class Cooldown {
 	 * @return Cooldown state.
 	 */
 	public final boolean checkFinished() {
-		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+		if (this.timer != null)
+			return !this.started || this.timer.isDue();
+		if (!this.started
+				|| this.time + this.duration < this.clock.getTime())
 			return true;
 		return false;
 	}
@@ -62,9 +122,15 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.started = true;
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
-					+ (int) (Math.random() * (this.milliseconds + this.variance));
+					+ (int) (this.random.nextDouble()
+					* (this.milliseconds + this.variance));
+		// Finished once the clock is past the end, as when reading it.
+		if (this.timer != null)
+			this.timingWheel.schedule(this.timer, this.duration + 1);
+		else
+			this.time = this.clock.getTime();
 	}
 }
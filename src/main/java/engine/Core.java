@@ -1,7 +1,11 @@
 package engine;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
 import java.util.logging.Handler;
@@ -18,105 +22,33 @@ import screen.*;
  */
 public final class Core {
 
-	/** Width of current screen. */
-	private static final int WIDTH = 448;
-	/** Height of current screen. */
-	private static final int HEIGHT = 520;
-	/** Max fps of current screen. */
-	private static final int FPS = 60;
-	/** Max lives. */
-	private static final int MAX_LIVES = 3;
-	/** Levels between extra life. */
-	private static final int EXTRA_LIFE_FRECUENCY = 3;
-	/** Total number of levels. */
-	private static final int NUM_LEVELS = 8;
-
-	/** Difficulty settings for boss. */
-	private static final GameSettings SETTINGS_LEVEL_boss =
-			new GameSettings(1, 1, 2, 500, true);
-	/**default level*/
-	/** Difficulty default settings for level 1. */
-	private static final GameSettings SETTINGS_Default_LEVEL_1 =
-			new GameSettings(5, 4, 60, 2000, false);
-	/** Difficulty default settings for level 2. */
-	private static final GameSettings SETTINGS_Default_LEVEL_2 =
-			new GameSettings(5, 5, 50, 2500, false);
-	/** Difficulty default settings for level 3. */
-	private static final GameSettings SETTINGS_Default_LEVEL_3 =
-			new GameSettings(6, 5, 40, 1500, false);
-	/** Difficulty default settings for level 4. */
-	private static final GameSettings SETTINGS_Default_LEVEL_4 =
-			new GameSettings(6, 6, 30, 1500, false);
-	/** Difficulty default settings for level 5. */
-	private static final GameSettings SETTINGS_Default_LEVEL_5 =
-			new GameSettings(7, 6, 20, 1000, false);
-	/** Difficulty default settings for level 6. */
-	private static final GameSettings SETTINGS_Default_LEVEL_6 =
-			new GameSettings(7, 7, 20, 1500, false);
-	/** Difficulty default settings for level 7. */
-	private static final GameSettings SETTINGS_Default_LEVEL_7 =
-			new GameSettings(8, 7, 20, 1300, false);
-
-
-	/** Hard level */
-	/** Difficulty hard settings for level 1. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_1 =
-			new GameSettings(5, 4, 30, 1500, false);
-	/** Difficulty hard settings for level 2. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_2 =
-			new GameSettings(5, 5, 20, 1500, false);
-	/** Difficulty hard settings for level 3. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_3 =
-			new GameSettings(6, 5, 15, 1000, false);
-	/** Difficulty hard settings for level 4. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_4 =
-			new GameSettings(6, 6, 20, 1500, false);
-	/** Difficulty hard settings for level 5. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_5 =
-			new GameSettings(7, 6, 20, 700, false);
-	/** Difficulty hard settings for level 6. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_6 =
-			new GameSettings(7, 7, 10, 1000, false);
-	/** Difficulty hard settings for level 7. */
-	private static final GameSettings SETTINGS_Hard_LEVEL_7 =
-			new GameSettings(8, 7, 15, 1000, false);
-
-
-
-	/**Expert level*/
-	/** Difficulty expert settings for level 1. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_1 =
-			new GameSettings(5, 4, 10, 1000, false);
-	/** Difficulty expert settings for level 2. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_2 =
-			new GameSettings(5, 5, 10, 1000, false);
-	/** Difficulty expert settings for level 3. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_3 =
-			new GameSettings(6, 5, 10, 700, false);
-	/** Difficulty expert settings for level 4. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_4 =
-			new GameSettings(6, 6, 15, 700, false);
-	/** Difficulty expert settings for level 5. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_5 =
-			new GameSettings(7, 6, 15, 800, false);
-	/** Difficulty expert settings for level 6. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_6 =
-			new GameSettings(7, 7, 10, 700, false);
-	/** Difficulty expert settings for level 7. */
-	private static final GameSettings SETTINGS_Expert_LEVEL_7 =
-			new GameSettings(8, 7, 2, 500, false);
-
-
+	/** Width of current screen. Package visible for the batch runner. */
+	static final int WIDTH = 448;
+	/** Height of current screen. Package visible for the batch runner. */
+	static final int HEIGHT = 520;
+	/** Max fps of current screen. Package visible for the batch runner. */
+	static final int FPS = 60;
+	/** Max lives. Package visible for the batch runner. */
+	static final int MAX_LIVES = 3;
+	/** Levels between extra life. Package visible for the batch runner. */
+	static final int EXTRA_LIFE_FRECUENCY = 3;
+	/** Most ships in a formation of the endless mode. */
+	private static final int ENDLESS_SHIP_CAP =
+			EndlessWaves.MAX_WIDTH * EndlessWaves.MAX_HEIGHT;
 	/** Frame to draw the screen on. */
 	private static Frame frame;
-	/** Screen currently shown. */
-	private static Screen currentScreen;
-	/** Difficulty default settings list. */
-	private static List<GameSettings> gameSettings_Default;
-	/** Difficulty hard settings list. */
-	private static List<GameSettings> gameSettings_Hard;
-	/** Difficulty expert settings list. */
-	private static List<GameSettings> gameSettings_Expert;
+	/** Shows the screens, keeping the menu screens between uses. */
+	private static ScreenManager screenManager;
+	/** Settings of every level, read from the levels file. */
+	private static LevelCache levelCache;
+	/** Difficulty played, 1 for normal, 2 for hard and 3 for expert. */
+	private static int difficulty = 1;
+	/**
+	 * Settings of the endless waves of the game played, by level number,
+	 * built once so the level prepared in the background is the one played.
+	 */
+	private static final Map<Integer, GameSettings> ENDLESS_WAVES =
+			new HashMap<Integer, GameSettings>();
 	/** Application logger. */
 	private static final Logger LOGGER = Logger.getLogger(Core.class
 			.getSimpleName());
@@ -125,6 +57,10 @@ public final class Core {
 	/** Logger handler for printing to console. */
 	private static ConsoleHandler consoleHandler;
 	private static Audio background;
+	/** Clock for cooldowns that run regardless of the game. */
+	private static final Clock CLOCK = new Clock();
+	/** Source of variation for cooldowns not given one. */
+	private static final Random RANDOM = new Random();
 
 
 	/**
@@ -158,38 +94,38 @@ public final class Core {
 		int height = frame.getHeight();
 
 
-		/**Default level setting*/
-		gameSettings_Default = new ArrayList<GameSettings>();
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_1);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_2);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_3);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_4);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_5);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_6);
-		gameSettings_Default.add(SETTINGS_Default_LEVEL_7);
-		gameSettings_Default.add(SETTINGS_LEVEL_boss);
-
-		/**Hard level setting*/
-		gameSettings_Hard = new ArrayList<GameSettings>();
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_1);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_2);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_3);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_4);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_5);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_6);
-		gameSettings_Hard.add(SETTINGS_Hard_LEVEL_7);
-		gameSettings_Hard.add(SETTINGS_LEVEL_boss);
-
-		/**Expert level setting*/
-		gameSettings_Expert = new ArrayList<GameSettings>();
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_1);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_2);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_3);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_4);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_5);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_6);
-		gameSettings_Expert.add(SETTINGS_Expert_LEVEL_7);
-		gameSettings_Expert.add(SETTINGS_LEVEL_boss);
+		getLevelCache().watch();
+		LevelPreparer levelPreparer = new LevelPreparer();
+
+		screenManager = new ScreenManager(frame);
+		screenManager.addListener(new ScreenListener() {
+			@Override
+			public void onEnter(final Screen screen) {
+				LOGGER.info("Starting " + screen.getWidth() + "x"
+						+ screen.getHeight() + " "
+						+ screen.getClass().getSimpleName() + " at " + FPS
+						+ " fps.");
+			}
+
+			@Override
+			public void onExit(final Screen screen, final int returnCode) {
+				LOGGER.info("Closing " + screen.getClass().getSimpleName()
+						+ ".");
+			}
+		});
+		// Menu screens are built once and reset every time they're shown.
+		screenManager.register(new TitleScreen(width, height, FPS));
+		screenManager.register(new GameSummaryScreen(width, height, FPS));
+		screenManager.register(new ScoreScreen(width, height, FPS));
+		screenManager.register(new SettingScreen(width, height, FPS));
+		screenManager.register(new WindowSettingScreen(width, height, FPS));
+		screenManager.register(new DifficultyScreen(width, height, FPS));
+		screenManager.register(new HighScoreScreen(width, height, FPS));
+		try {
+			getFileManager().loadHighScores();
+		} catch (IOException e) {
+			LOGGER.warning("Couldn't load high scores!");
+		}
 
 		GameState gameState;
 		background = new Audio("bgm", true);
@@ -201,37 +137,43 @@ public final class Core {
 			switch (returnCode) {
 				case 1:
 					// Main menu.
-					currentScreen = new TitleScreen(width, height, FPS);
 					background.start();
-					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-							+ " title screen at " + FPS + " fps.");
-					returnCode = frame.setScreen(currentScreen);
-					LOGGER.info("Closing title screen.");
+					returnCode = screenManager.push(
+							screenManager.get(TitleScreen.class));
 					break;
 				case 2:
+				case 6:
+					// The endless mode keeps playing past the last level.
+					final boolean endless = returnCode == 6;
+					ENDLESS_WAVES.clear();
 					//Game Summary & Manual
-					currentScreen=new GameSummaryScreen(width, height,FPS);
-					LOGGER.info("Starting " +WIDTH+ "x" +HEIGHT
-							+ " Game Summary screen at " +FPS+ " fps.");
-					returnCode=frame.setScreen(currentScreen);
+					// The first level is built while the summary is shown.
+					levelPreparer.prepare(getLevelSettings(difficulty).get(0));
+					returnCode = screenManager.push(
+							screenManager.get(GameSummaryScreen.class));
 					// Game & score.
 					do {
 						// One extra live every few levels.
 						boolean bonusLife = gameState.getLevel()
 								% EXTRA_LIFE_FRECUENCY == 0
 								&& gameState.getLivesRemaining() < MAX_LIVES;
-						boolean bossStage = gameState.getLevel() > 7;
-
-						currentScreen = new GameScreen(gameState,
-								gameSettings_Default.get(gameState.getLevel() - 1),
-								bonusLife, false, width, height, FPS);
+						// Edits to the levels file apply from here on.
+						PreparedLevel preparedLevel = levelPreparer.take(
+								getLevel(gameState.getLevel(), endless));
+
+						GameScreen gameScreen = new GameScreen(gameState,
+								preparedLevel, bonusLife, width, height, FPS);
+						// The next level is built while this one ends.
+						final int nextLevel = gameState.getLevel() + 1;
+						gameScreen.setOnLevelCleared(() -> {
+							GameSettings next = getLevel(nextLevel, endless);
+							if (next != null)
+								levelPreparer.prepare(next);
+						});
 						background.stop();
-						LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-								+ " game screen at " + FPS + " fps.");
-						frame.setScreen(currentScreen);
-						LOGGER.info("Closing game screen.");
+						screenManager.push(gameScreen);
 
-						gameState = ((GameScreen) currentScreen).getGameState();
+						gameState = gameScreen.getGameState();
 
 						gameState = new GameState(gameState.getLevel() + 1,
 								gameState.getScore(),
@@ -240,33 +182,27 @@ public final class Core {
 								gameState.getShipsDestroyed());
 
 					} while (gameState.getLivesRemaining() > 0
-							&& gameState.getLevel() <= NUM_LEVELS);
+							&& getLevel(gameState.getLevel(), endless) != null);
 
-					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-							+ " score screen at " + FPS + " fps, with a score of "
+					LOGGER.info("Game over with a score of "
 							+ gameState.getScore() + ", "
 							+ gameState.getLivesRemaining() + " lives remaining, "
 							+ gameState.getBulletsShot() + " bullets shot and "
 							+ gameState.getShipsDestroyed() + " ships destroyed.");
-					currentScreen = new ScoreScreen(width, height, FPS, gameState);
-					returnCode = frame.setScreen(currentScreen);
-					LOGGER.info("Closing score screen.");
+					ScoreScreen scoreScreen =
+							screenManager.get(ScoreScreen.class);
+					scoreScreen.setGameState(gameState);
+					returnCode = screenManager.push(scoreScreen);
 					break;
 				case 3:
 					do {
-						currentScreen = new SettingScreen(width, height, FPS);
-						LOGGER.info("Starting " + WIDTH + "x" + HEIGHT +
-								" setting screen at " + FPS + "fps.");
-						returnCode = frame.setScreen(currentScreen);
-						LOGGER.info("Closing setting screen.");
+						returnCode = screenManager.push(
+								screenManager.get(SettingScreen.class));
 						switch (returnCode) {
 							case 2:
 								// window mode setting
-								currentScreen = new WindowSettingScreen(width, height, FPS);
-								LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-										+ " window setting screen at " + FPS + " fps.");
-								returnCode = frame.setScreen(currentScreen);
-								LOGGER.info("Closing window mode setting screen");
+								returnCode = screenManager.push(screenManager
+										.get(WindowSettingScreen.class));
 								switch (returnCode) {
 									case 2:
 										DrawManager.getInstance().setMiniScreenFrame();
@@ -290,27 +226,24 @@ public final class Core {
 								}
 								width = frame.getWidth();
 								height = frame.getHeight();
+								screenManager.resize(width, height);
 								LOGGER.info("Set " + width + "x" + height
 										+ " screen at " + FPS + " fps.");
 								break;
 							case 3:
 								// difficulty setting
-								currentScreen = new DifficultyScreen(width, height, FPS);
-								LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-										+ " difficulty screen at " + FPS + " fps.");
-								returnCode = frame.setScreen(currentScreen);
-								LOGGER.info("Difficulty screen.");
+								returnCode = screenManager.push(
+										screenManager.get(DifficultyScreen.class));
+								if (returnCode >= 1 && returnCode <= 3)
+									difficulty = returnCode;
 								switch (returnCode) {
 									case 1:
-										gameSettings_Default=gameSettings_Default;
 										LOGGER.info("NORMAL MODE");
 										break;
 									case 2:
-										gameSettings_Default=gameSettings_Hard;
 										LOGGER.info("HARD MODE");
 										break;
 									case 3:
-										gameSettings_Default=gameSettings_Expert;
 										LOGGER.info("EXPERT MODE");
 										break;
 									default:
@@ -329,19 +262,21 @@ public final class Core {
 
 					} while (returnCode != 1);
 					// Game Setting
-					currentScreen = new TitleScreen(width, height, FPS);
-					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT +
-							" Title at " + FPS + "fps.");
-					returnCode = frame.setScreen(currentScreen);
-					LOGGER.info("Closing Title screen.");
+					returnCode = screenManager.push(
+							screenManager.get(TitleScreen.class));
 					break;
 				case 4:
 					// High scores.
-					currentScreen = new HighScoreScreen(width, height, FPS);
-					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
-							+ " high score screen at " + FPS + " fps.");
-					returnCode = frame.setScreen(currentScreen);
-					LOGGER.info("Closing high score screen.");
+					returnCode = screenManager.push(
+							screenManager.get(HighScoreScreen.class));
+					break;
+				case 5:
+					// Attract mode, a bot plays until a key is pressed.
+					background.stop();
+					screenManager.push(new GameScreen(gameState,
+							getLevelSettings(difficulty).get(0), false, false,
+							width, height, FPS, new GreedyBot()));
+					returnCode = 1;
 					break;
 				default:
 					break;
@@ -361,6 +296,68 @@ public final class Core {
 
 	}
 
+	/**
+	 * Lists the settings of every level of a difficulty, as currently read
+	 * from the levels file. Package visible for the batch runner.
+	 *
+	 * @param difficulty
+	 *            Difficulty, 1 for normal, 2 for hard and 3 for expert.
+	 * @return Settings of each level, in order.
+	 */
+	static List<GameSettings> getLevelSettings(final int difficulty) {
+		return getLevelCache().get(difficulty);
+	}
+
+	/**
+	 * Builds the settings of a level of the difficulty played. The endless
+	 * mode has waves past the last level, as big as the frame budget lets
+	 * them be when they are first asked for. Each wave is built once per
+	 * game, so asking for it again gives the same settings.
+	 *
+	 * @param level
+	 *            Level number, from 1.
+	 * @param endless
+	 *            Checks if the game is in endless mode.
+	 * @return Settings of the level, null past the last one.
+	 */
+	private static GameSettings getLevel(final int level,
+			final boolean endless) {
+		List<GameSettings> levels = getLevelSettings(difficulty);
+		if (endless && level > levels.size()) {
+			GameSettings wave = ENDLESS_WAVES.get(level);
+			if (wave == null) {
+				wave = EndlessWaves.get(levels, level,
+						getFrameBudget().cap(ENDLESS_SHIP_CAP));
+				ENDLESS_WAVES.put(level, wave);
+			}
+			return wave;
+		}
+		return level <= levels.size() ? levels.get(level - 1) : null;
+	}
+
+	/**
+	 * Controls access to the level settings, loading them the first time.
+	 *
+	 * @return Level settings of every difficulty.
+	 */
+	public static synchronized LevelCache getLevelCache() {
+		if (levelCache == null) {
+			Path userFile = null;
+			try {
+				userFile = getFileManager().getUserFile(LevelCache.FILE_NAME);
+			} catch (IOException e) {
+				LOGGER.warning("Only the bundled levels will be used: "
+						+ e.getMessage());
+			}
+			try {
+				levelCache = new LevelCache(userFile);
+			} catch (IOException e) {
+				throw new IllegalStateException("Can't load the levels.", e);
+			}
+		}
+		return levelCache;
+	}
+
 	/**
 	 * Controls access to the logger.
 	 *
@@ -388,6 +385,24 @@ public final class Core {
 		return InputManager.getInstance();
 	}
 
+	/**
+	 * Controls access to the input latency monitor.
+	 *
+	 * @return Application latency monitor.
+	 */
+	public static LatencyMonitor getLatencyMonitor() {
+		return LatencyMonitor.getInstance();
+	}
+
+	/**
+	 * Controls access to the frame budget, which caps entities on screen.
+	 *
+	 * @return Application frame budget.
+	 */
+	public static FrameBudget getFrameBudget() {
+		return FrameBudget.getInstance();
+	}
+
 	/**
 	 * Controls access to the file manager.
 	 *
@@ -397,6 +412,15 @@ public final class Core {
 		return FileManager.getInstance();
 	}
 
+	/**
+	 * Controls access to the application clock, which is never paused.
+	 *
+	 * @return Application clock.
+	 */
+	public static Clock getClock() {
+		return CLOCK;
+	}
+
 	/**
 	 * Controls creation of new cooldowns.
 	 *
@@ -405,7 +429,36 @@ public final class Core {
 	 * @return A new cooldown.
 	 */
 	public static Cooldown getCooldown(final int milliseconds) {
-		return new Cooldown(milliseconds);
+		return new Cooldown(milliseconds, CLOCK);
+	}
+
+	/**
+	 * Controls creation of new cooldowns measured against a given clock.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param clock
+	 *            Clock the cooldown is measured against.
+	 * @return A new cooldown.
+	 */
+	public static Cooldown getCooldown(final int milliseconds,
+			final Clock clock) {
+		return new Cooldown(milliseconds, clock);
+	}
+
+	/**
+	 * Controls creation of new cooldowns kept in a timing wheel, which are
+	 * only checked against the wheel's clock when the wheel is advanced.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param timingWheel
+	 *            Wheel the cooldown is kept in.
+	 * @return A new cooldown.
+	 */
+	public static Cooldown getCooldown(final int milliseconds,
+			final TimingWheel timingWheel) {
+		return new Cooldown(milliseconds, timingWheel);
 	}
 
 	/**
@@ -419,6 +472,63 @@ public final class Core {
 	 */
 	public static Cooldown getVariableCooldown(final int milliseconds,
 											   final int variance) {
-		return new Cooldown(milliseconds, variance);
+		return new Cooldown(milliseconds, variance, CLOCK, RANDOM);
+	}
+
+	/**
+	 * Controls creation of new cooldowns with variance, measured against a
+	 * given clock.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param variance
+	 *            Variation in the cooldown duration.
+	 * @param clock
+	 *            Clock the cooldown is measured against.
+	 * @return A new cooldown with variance.
+	 */
+	public static Cooldown getVariableCooldown(final int milliseconds,
+			final int variance, final Clock clock) {
+		return new Cooldown(milliseconds, variance, clock, RANDOM);
+	}
+
+	/**
+	 * Controls creation of new cooldowns with variance, measured against a
+	 * given clock and varying as given by a random source, so a game can be
+	 * played again exactly.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param variance
+	 *            Variation in the cooldown duration.
+	 * @param clock
+	 *            Clock the cooldown is measured against.
+	 * @param random
+	 *            Source of the variation between durations.
+	 * @return A new cooldown with variance.
+	 */
+	public static Cooldown getVariableCooldown(final int milliseconds,
+			final int variance, final Clock clock, final Random random) {
+		return new Cooldown(milliseconds, variance, clock, random);
+	}
+
+	/**
+	 * Controls creation of new cooldowns with variance kept in a timing
+	 * wheel, varying as given by a random source.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param variance
+	 *            Variation in the cooldown duration.
+	 * @param timingWheel
+	 *            Wheel the cooldown is kept in.
+	 * @param random
+	 *            Source of the variation between durations.
+	 * @return A new cooldown with variance.
+	 */
+	public static Cooldown getVariableCooldown(final int milliseconds,
+			final int variance, final TimingWheel timingWheel,
+			final Random random) {
+		return new Cooldown(milliseconds, variance, timingWheel, random);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,291 @@
+package engine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Searches for level settings that give each level of a difficulty the clear
+ * rate it should have. Every level is played by a bot with a grid of
+ * variations of its current settings, and the variation closest to the
+ * target clear rate is suggested.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class DifficultyTuner {
+
+	/** Factors applied to the frames between formation moves. */
+	private static final double[] SPEED_FACTORS =
+			{ 0.5, 0.75, 1, 1.5, 2 };
+	/** Factors applied to the time between enemy shots. */
+	private static final double[] SHOOTING_FACTORS =
+			{ 0.5, 0.75, 1, 1.5, 2 };
+	/** Changes to the formation width and height. */
+	private static final int[] SIZE_CHANGES = { -1, 0, 1 };
+	/** Shortest time between enemy shots tried, in milliseconds. */
+	private static final int MIN_SHOOTING_FRECUENCY = 200;
+	/** Smallest formation side tried. */
+	private static final int MIN_FORMATION_SIZE = 2;
+	/** Largest formation side tried. */
+	private static final int MAX_FORMATION_SIZE = 10;
+	/** Clear rates of the first and last levels, by difficulty. */
+	private static final double[][] TARGET_CLEAR_RATES =
+			{ { 0.9, 0.5 }, { 0.7, 0.3 }, { 0.5, 0.1 } };
+
+	/** Plays the levels. */
+	private BatchRunner batchRunner;
+	/** Games played with each candidate. */
+	private int games;
+
+	/**
+	 * Settings tried for a level, and how they played.
+	 */
+	private static final class Candidate {
+
+		/** Settings tried. */
+		private final GameSettings settings;
+		/** Results of the games played with them. */
+		private final List<ForkJoinTask<BatchRunner.Outcome>> outcomes;
+		/** Summary of the results, once they are all in. */
+		private BatchSummary summary;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param settings
+		 *            Settings tried.
+		 * @param games
+		 *            Games played with them.
+		 */
+		private Candidate(final GameSettings settings, final int games) {
+			this.settings = settings;
+			this.outcomes =
+					new ArrayList<ForkJoinTask<BatchRunner.Outcome>>(games);
+		}
+	}
+
+	/**
+	 * Constructor, establishes how the levels are played.
+	 *
+	 * @param levels
+	 *            Settings of each level, in order.
+	 * @param inputs
+	 *            Creates the bot of each game from a seed.
+	 * @param games
+	 *            Games played with each candidate.
+	 */
+	public DifficultyTuner(final List<GameSettings> levels,
+			final LongFunction<InputSource> inputs, final int games) {
+		this.batchRunner = new BatchRunner(levels, inputs);
+		this.games = games;
+	}
+
+	/**
+	 * Returns the variations of some settings tried by the tuner, starting
+	 * with the settings themselves.
+	 *
+	 * @param settings
+	 *            Settings to vary.
+	 * @return Variations of the settings.
+	 */
+	public static List<GameSettings> variations(final GameSettings settings) {
+		List<GameSettings> variations = new ArrayList<GameSettings>();
+		variations.add(settings);
+		// Rows given by the level are kept while the formation keeps its size.
+		SpriteType[] rowTypes = null;
+		int[] rowHitPoints = null;
+		if (settings.getRowType(0) != null) {
+			rowTypes = new SpriteType[settings.getFormationHeight()];
+			rowHitPoints = new int[settings.getFormationHeight()];
+			for (int row = 0; row < rowTypes.length; row++) {
+				rowTypes[row] = settings.getRowType(row);
+				rowHitPoints[row] = settings.getRowHitPoints(row);
+			}
+		}
+		for (int sizeChange : SIZE_CHANGES)
+			for (double speedFactor : SPEED_FACTORS)
+				for (double shootingFactor : SHOOTING_FACTORS) {
+					if (sizeChange == 0 && speedFactor == 1
+							&& shootingFactor == 1)
+						continue;
+					int width = settings.getFormationWidth() + sizeChange;
+					int height = settings.getFormationHeight() + sizeChange;
+					if (width < MIN_FORMATION_SIZE || height < MIN_FORMATION_SIZE
+							|| width > MAX_FORMATION_SIZE
+							|| height > MAX_FORMATION_SIZE)
+						continue;
+					variations.add(new GameSettings(width, height,
+							Math.max(1, (int) Math.round(
+									settings.getBaseSpeed() * speedFactor)),
+							Math.max(MIN_SHOOTING_FRECUENCY, (int) Math.round(
+									settings.getShootingFrecuency()
+											* shootingFactor)),
+							false, sizeChange == 0 ? rowTypes : null,
+							sizeChange == 0 ? rowHitPoints : null));
+				}
+		return variations;
+	}
+
+	/**
+	 * Plays every variation of a level's settings and picks the one closest to
+	 * the target clear rate. All variations play the same seeds, so they are
+	 * compared on the same games.
+	 *
+	 * @param pool
+	 *            Pool the games are played in.
+	 * @param settings
+	 *            Current settings of the level.
+	 * @param level
+	 *            Number of the level, starting at 1.
+	 * @param seed
+	 *            Seed of the first game.
+	 * @param target
+	 *            Clear rate wanted, between 0 and 1.
+	 * @return The current settings first and the suggested ones second.
+	 */
+	private List<Candidate> tune(final ForkJoinPool pool,
+			final GameSettings settings, final int level, final long seed,
+			final double target) {
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		for (GameSettings variation : variations(settings)) {
+			Candidate candidate = new Candidate(variation, this.games);
+			for (int i = 0; i < this.games; i++) {
+				final long gameSeed = seed + i;
+				candidate.outcomes.add(pool.submit(() -> this.batchRunner
+						.play(variation, level, gameSeed)));
+			}
+			candidates.add(candidate);
+		}
+
+		Candidate best = null;
+		for (Candidate candidate : candidates) {
+			candidate.summary = new BatchSummary(level);
+			for (ForkJoinTask<BatchRunner.Outcome> outcome : candidate.outcomes)
+				candidate.summary.add(outcome.join());
+			candidate.outcomes.clear();
+			// Ties keep the earlier candidate, the current settings first.
+			if (best == null || Math.abs(candidate.summary.getClearRate()
+					- target) < Math.abs(best.summary.getClearRate() - target))
+				best = candidate;
+		}
+
+		List<Candidate> result = new ArrayList<Candidate>();
+		result.add(candidates.get(0));
+		result.add(best);
+		return result;
+	}
+
+	/**
+	 * Describes how some settings played.
+	 *
+	 * @param settings
+	 *            Settings of the level.
+	 * @param summary
+	 *            Results of the games played with them.
+	 * @return A line with the settings and results.
+	 */
+	private static String describe(final GameSettings settings,
+			final BatchSummary summary) {
+		return String.format("%dx%d speed %d shooting %d: clear %.0f%%, "
+				+ "%.1f s, score 10th %d 50th %d 90th %d",
+				settings.getFormationWidth(), settings.getFormationHeight(),
+				settings.getBaseSpeed(), settings.getShootingFrecuency(),
+				summary.getClearRate() * 100, summary.getMeanSeconds(),
+				summary.getScorePercentile(0.1),
+				summary.getScorePercentile(0.5),
+				summary.getScorePercentile(0.9));
+	}
+
+	/**
+	 * Tunes the levels of a difficulty, prints how each level plays before and
+	 * after, and writes the suggested levels as a section of the levels file.
+	 *
+	 * @param args
+	 *            Difficulty (1 normal, 2 hard, 3 expert), games per
+	 *            candidate, threads, the file the table is written to and the
+	 *            player (random, sweep, dodger or greedy), all optional.
+	 * @throws IOException
+	 *             In case the table can't be written.
+	 */
+	public static void main(final String[] args) throws IOException {
+		int difficulty = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+		String name = LevelCache.getDifficultyName(difficulty);
+		Path output = Paths.get(args.length > 3 ? args[3]
+				: "tuned-" + name + ".txt");
+		String player = args.length > 4 ? args[4] : "greedy";
+
+		Core.getLogger().setLevel(Level.WARNING);
+		List<GameSettings> levels = Core.getLevelSettings(difficulty);
+		DifficultyTuner tuner = new DifficultyTuner(levels,
+				BatchRunner.getPlayer(player), games);
+		double[] targets = TARGET_CLEAR_RATES[difficulty - 1];
+		int tunedLevels = 0;
+		for (GameSettings settings : levels)
+			if (!settings.getIsBoss())
+				tunedLevels++;
+
+		StringBuilder table = new StringBuilder();
+		table.append('[').append(name).append(']')
+				.append(System.lineSeparator());
+		int evaluated = 0;
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			int tuned = 0;
+			for (int level = 1; level <= levels.size(); level++) {
+				// Boss levels keep their settings.
+				if (levels.get(level - 1).getIsBoss()) {
+					table.append(LevelCache.format(levels.get(level - 1)))
+							.append(System.lineSeparator());
+					continue;
+				}
+				double target = targets[0] + (targets[1] - targets[0])
+						* tuned++ / Math.max(1, tunedLevels - 1);
+				List<Candidate> result = tuner.tune(pool,
+						levels.get(level - 1), level, 0, target);
+				evaluated += variations(levels.get(level - 1)).size();
+
+				Candidate current = result.get(0);
+				Candidate suggested = result.get(1);
+				System.out.println(String.format(
+						"Level %d, target clear %.0f%%:", level, target * 100));
+				System.out.println("  current   "
+						+ describe(current.settings, current.summary));
+				System.out.println("  suggested "
+						+ describe(suggested.settings, suggested.summary));
+
+				table.append(LevelCache.format(suggested.settings))
+						.append(System.lineSeparator());
+			}
+		} finally {
+			pool.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(
+				output, StandardCharsets.UTF_8))) {
+			writer.print(table);
+		}
+		System.out.println(String.format("Evaluated %d candidates with %d "
+				+ "games each in %.1f s (%.0f per minute) on %d threads.",
+				evaluated, games, seconds, evaluated * 60 / seconds,
+				parallelism));
+		System.out.println("Suggested settings written to "
+				+ output.toAbsolutePath() + ".");
+	}
+}
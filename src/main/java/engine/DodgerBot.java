@@ -0,0 +1,102 @@
+package engine;
+
+/**
+ * Bot that keeps shooting and only moves to get out of the way of enemy
+ * bullets, drifting back to the middle of the screen when it's safe.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class DodgerBot implements Bot {
+
+	/** Distance above the ship bullets are watched from. */
+	private static final int LOOKAHEAD = 160;
+	/** Distance below the top of the ship a bullet can still hit it. */
+	private static final int SHIP_HEIGHT = 16;
+	/** Extra room left on each side of the ship. */
+	private static final int MARGIN = 4;
+
+	/**
+	 * Decides what to press this frame.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 * @return Combination of the LEFT, RIGHT and SHOOT flags.
+	 */
+	@Override
+	public int decide(final TickView view) {
+		if (view.isShipDestroyed())
+			return 0;
+		int middle = (view.getPlayAreaWidth() - view.getShipWidth()) / 2;
+		return SHOOT | move(view, Integer.signum(middle
+				- view.getShipPositionX()));
+	}
+
+	/**
+	 * Picks the safest way to move, preferring the given one when it's as
+	 * safe as any, then staying still.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 * @param preferred
+	 *            Way the bot wants to move, -1 left, 0 still and 1 right.
+	 * @return LEFT, RIGHT or 0 to stay still.
+	 */
+	protected final int move(final TickView view, final int preferred) {
+		int best = preferred;
+		int bestDanger = danger(view, preferred);
+		for (int direction = -1; direction <= 1 && bestDanger > 0;
+				direction++) {
+			int danger = danger(view, direction);
+			if (danger < bestDanger
+					|| danger == bestDanger && direction == 0) {
+				best = direction;
+				bestDanger = danger;
+			}
+		}
+		if (best < 0)
+			return LEFT;
+		if (best > 0)
+			return RIGHT;
+		return 0;
+	}
+
+	/**
+	 * Estimates how dangerous it is to keep moving one way, by moving the
+	 * ship along with the enemy bullets until they reach it.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 * @param direction
+	 *            Way the ship moves, -1 left, 0 still and 1 right.
+	 * @return 0 if no bullet hits the ship, more the closer they are.
+	 */
+	protected static int danger(final TickView view, final int direction) {
+		int shipX = view.getShipPositionX();
+		int shipY = view.getShipPositionY();
+		int shipWidth = view.getShipWidth();
+		int speed = view.getShipSpeed();
+		int maxX = view.getPlayAreaWidth() - shipWidth - 1;
+
+		int danger = 0;
+		for (int i = 0; i < view.getBulletCount(); i++) {
+			float bulletSpeed = view.getBulletSpeed(i);
+			// Only the enemies' bullets falling towards the ship matter.
+			if (!view.isEnemyBullet(i) || bulletSpeed <= 0)
+				continue;
+			int distance = shipY - view.getBulletPositionY(i);
+			if (distance < -SHIP_HEIGHT || distance > LOOKAHEAD)
+				continue;
+
+			int frames = (int) (Math.max(0, distance) / bulletSpeed);
+			int x = Math.max(1, Math.min(maxX,
+					shipX + direction * speed * frames));
+			int bulletX = (int) (view.getBulletPositionX(i)
+					+ view.getBulletSpeedX(i) * frames);
+			if (bulletX + view.getBulletWidth(i) + MARGIN > x
+					&& bulletX < x + shipWidth + MARGIN)
+				danger += LOOKAHEAD + SHIP_HEIGHT - distance;
+		}
+		return danger;
+	}
+}
@@ -1,13 +1,20 @@
 package engine;
 
+import entity.BulletStore;
 import entity.Entity;
+import entity.ParticleStore;
+import entity.PowerUp;
+import entity.Shield;
 import entity.Ship;
 import screen.Screen;
 
 import java.awt.*;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +46,8 @@ public final class DrawManager {
 	private static GraphicsEnvironment graphicsEnvironment;
 	/** Buffer image. */
 	private static BufferedImage backBuffer;
+	/** Pixels of the buffer image, as RGB by row. */
+	private static int[] backBufferPixels;
 	/** Normal sized font. */
 	private static Font fontRegular;
 	/** Normal sized font properties. */
@@ -47,16 +56,42 @@ public final class DrawManager {
 	private static Font fontBig;
 	/** Big sized font properties. */
 	private static FontMetrics fontBigMetrics;
+	/** Rasterized glyphs of the normal sized font. */
+	private static GlyphAtlas regularAtlas;
+	/** Rasterized glyphs of the big sized font. */
+	private static GlyphAtlas bigAtlas;
+	/** Fonts loaded so far, by size and scale. */
+	private static FontCache fontCache;
+	/** Point size of the normal sized font, at normal window size. */
+	private static final float REGULAR_FONT_SIZE = 14f;
+	/** Point size of the big sized font, at normal window size. */
+	private static final float BIG_FONT_SIZE = 24f;
 	/**Place adjustment*/
 	private static final int adjust=30;
-	/** Frame size */
-	private static Dimension frame_size;
+	/** Size of the window the graphics context was taken for. */
+	private static Dimension frame_size = new Dimension();
+	/** Left side of the image in the window. */
+	private static int imageX;
+	/** Top side of the image in the window. */
+	private static int imageY;
+	/** Checks if the window changed since its graphics context was taken. */
+	private static volatile boolean frameChanged = true;
+	/** Ship drawn as the remaining lives counter. */
+	private static Ship livesShip;
 
 	// Add
 	private Screen screen;
 
 	/** Sprite types mapped to their images. */
 	private static Map<SpriteType, boolean[][]> spriteMap;
+	/** Player bullet image, as rectangles of sprite pixels. */
+	private static int[] bulletRectangles;
+	/** Enemy bullet image, as rectangles of sprite pixels. */
+	private static int[] enemyBulletRectangles;
+	/** Image of each shield drawn, by its place in the row. */
+	private static BufferedImage[] shieldImages = new BufferedImage[0];
+	/** Pixels of each shield when its image was last drawn. */
+	private static long[][] shieldPixels = new long[0][];
 
 	/** Sprite types. */
 	public static enum SpriteType {
@@ -92,11 +127,14 @@ public final class DrawManager {
 	 */
 	private DrawManager() {
 		fileManager = Core.getFileManager();
+		fontCache = new FontCache(fileManager);
 		logger = Core.getLogger();
 		logger.info("Started loading resources.");
 
 		graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
-		graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
+		// There is no screen to go full screen on when running headless.
+		if (!GraphicsEnvironment.isHeadless())
+			graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
 
 		try {
 			spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
@@ -117,10 +155,12 @@ public final class DrawManager {
 
 			fileManager.loadSprite(spriteMap);
 			logger.info("Finished loading the sprites.");
+			bulletRectangles = toRectangles(spriteMap.get(SpriteType.Bullet));
+			enemyBulletRectangles = toRectangles(
+					spriteMap.get(SpriteType.EnemyBullet));
 
 			// Font loading.
-			fontRegular = fileManager.loadFont(14f);
-			fontBig = fileManager.loadFont(24f);
+			useFonts(1f);
 			logger.info("Finished loading the fonts.");
 
 		} catch (IOException e) {
@@ -148,6 +188,15 @@ public final class DrawManager {
 	 */
 	public void setFrame(final Frame currentFrame) {
 		frame = currentFrame;
+		frameChanged = true;
+	}
+
+	/**
+	 * Marks the window as changed, so its graphics context is taken again
+	 * before the next image is shown.
+	 */
+	public void frameChanged() {
+		frameChanged = true;
 	}
 	/**
 	 * Sets the frame to draw the image on.
@@ -164,11 +213,8 @@ public final class DrawManager {
 	public void setFont(final Frame currentFrame) {
 		// Font loading.
 		frame = currentFrame;
-		float regularFontSize = Math.round((frame.getWidth()/440f) * 14f);
-		float bigFontSize = Math.round((frame.getWidth()/440f) * 24f);
 		try {
-			fontRegular = fileManager.loadFont(regularFontSize);
-			fontBig = fileManager.loadFont(bigFontSize);
+			useFonts(frame.getWidth() / 440f);
 		} catch (IOException e) {
 			logger.warning("Loading failed.");
 		} catch (FontFormatException e) {
@@ -176,6 +222,27 @@ public final class DrawManager {
 		}
 	}
 
+	/**
+	 * Switches to the fonts of a given scale, loading them if they haven't
+	 * been used before.
+	 *
+	 * @param scale
+	 *            Proportion between the window and its normal size.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 * @throws FontFormatException
+	 *             In case of incorrect font format.
+	 */
+	private void useFonts(final float scale) throws IOException,
+			FontFormatException {
+		regularAtlas = fontCache.get(REGULAR_FONT_SIZE, scale);
+		bigAtlas = fontCache.get(BIG_FONT_SIZE, scale);
+		fontRegular = regularAtlas.getFont();
+		fontBig = bigAtlas.getFont();
+		fontRegularMetrics = regularAtlas.getMetrics();
+		fontBigMetrics = bigAtlas.getMetrics();
+	}
+
 	/**
 	 * Set the frame to the Full screen.
 	 */
@@ -195,21 +262,34 @@ public final class DrawManager {
 	 *            Screen to draw in.
 	 */
 	public void initDrawing(final Screen screen) {
-		frame_size = getFrame().size();
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
+		Core.getLatencyMonitor().beginRender();
+		clearBuffer(screen);
+	}
 
-		this.screen = screen;
+	/**
+	 * Makes the buffer fit the screen and fills it with the background.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 */
+	private void clearBuffer(final Screen screen) {
+		// The buffer is only created again when the screen changes size.
+		if (backBuffer == null || backBuffer.getWidth() != screen.getWidth()
+				|| backBuffer.getHeight() != screen.getHeight()) {
+			if (backBufferGraphics != null)
+				backBufferGraphics.dispose();
+			backBuffer = new BufferedImage(screen.getWidth(),
+					screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+			backBufferGraphics = backBuffer.getGraphics();
+			backBufferPixels = ((DataBufferInt) backBuffer.getRaster()
+					.getDataBuffer()).getData();
+		}
 
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		this.screen = screen;
 
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics.fillRect(0, 0, screen.getWidth(), screen.getHeight());
 
-		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
-
 //		drawBorders(screen);
 //		drawGrid(screen);
 	}
@@ -221,9 +301,89 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void completeDrawing(final Screen screen) {
-		frame_size = getFrame().size();
-		graphics.drawImage(backBuffer, (int) Math.round(frame_size.width/2f - frame.getWidth()/2f)
-				, frame.getInsets().top, frame);
+		if (showBuffer())
+			Core.getLatencyMonitor().endFrame();
+	}
+
+	/**
+	 * Copies the buffer to the window.
+	 *
+	 * @return False if there's no window to show it on.
+	 */
+	private boolean showBuffer() {
+		// Drawing off screen, nothing to show.
+		if (frame == null)
+			return false;
+		// The frame's graphics context is only taken again after a resize.
+		if (frameChanged) {
+			frameChanged = false;
+			if (graphics != null)
+				graphics.dispose();
+			graphics = frame.getGraphics();
+			frame.getSize(frame_size);
+			imageX = (int) Math.round(frame_size.width / 2f
+					- frame.getWidth() / 2f);
+			imageY = frame.getInsets().top;
+		}
+		graphics.drawImage(backBuffer, imageX, imageY, frame);
+		// Flushes the pipeline so the image is shown now, not when it's full.
+		Toolkit.getDefaultToolkit().sync();
+		return true;
+	}
+
+	/**
+	 * Draws a frame of a level from a snapshot of it, from the background
+	 * to the image on screen.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param snapshot
+	 *            Snapshot of the frame.
+	 */
+	public void drawFrame(final Screen screen, final FrameSnapshot snapshot) {
+		long renderStart = System.nanoTime();
+		clearBuffer(screen);
+		drawEntities(snapshot);
+		drawShields(screen, snapshot.getShields());
+
+		drawParticles(screen, snapshot.getParticles());
+		drawBullets(screen, snapshot.getBullets());
+		drawPowerUps(screen, snapshot);
+
+		// Interface.
+		drawBulletCount(screen, snapshot.getBulletsShot());
+		drawBulletCountString(screen);
+		drawScoreString(screen);
+
+		drawScore(screen, snapshot.getScore());
+		drawLives(screen, snapshot.getLives());
+		drawHorizontalLine(screen, Math.round(
+				(GameSimulation.SEPARATION_LINE_HEIGHT - 1)
+				* (screen.getHeight() / 522f)));
+		// Countdown to game start.
+		if (snapshot.getCountdown() != FrameSnapshot.NO_COUNTDOWN) {
+			drawCountDown(screen, snapshot.getLevel(),
+					snapshot.getCountdown(), snapshot.getBonusLife());
+			drawHorizontalLine(screen, screen.getHeight() / 2
+					- screen.getHeight() / 12);
+			drawHorizontalLine(screen, screen.getHeight() / 2
+					+ screen.getHeight() / 12);
+		}
+
+		if (showBuffer())
+			Core.getLatencyMonitor().endFrame(snapshot, renderStart);
+	}
+
+	/**
+	 * Draws the ships of a snapshot, each as its sprite.
+	 *
+	 * @param snapshot
+	 *            Snapshot of the frame.
+	 */
+	public void drawEntities(final FrameSnapshot snapshot) {
+		for (int i = 0; i < snapshot.getEntityCount(); i++)
+			drawSprite(snapshot.getSpriteType(i), snapshot.getColor(i),
+					snapshot.getPositionX(i), snapshot.getPositionY(i));
 	}
 
 	/**
@@ -238,34 +398,69 @@ public final class DrawManager {
 	 */
 	public void drawEntity(final Entity entity, final int positionX,
 						   final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
+		drawSprite(entity.getSpriteType(), getColor(entity), positionX,
+				positionY);
+	}
 
-		backBufferGraphics.setColor(entity.getColor());
-		switch (entity.getHp()) {
+	/**
+	 * Finds the color an entity is drawn in, by the hits it can take.
+	 *
+	 * @param entity
+	 *            Entity drawn.
+	 * @return Color of its sprite.
+	 */
+	static Color getColor(final Entity entity) {
+		return getColor(entity.getHp(), entity.getColor());
+	}
+
+	/**
+	 * Finds the color an entity is drawn in, by the hits it can take.
+	 *
+	 * @param hp
+	 *            Hits the entity can take.
+	 * @param color
+	 *            Color of the entity, for hits with no color of their own.
+	 * @return Color of its sprite.
+	 */
+	static Color getColor(final int hp, final Color color) {
+		switch (hp) {
 			case 1:
-				backBufferGraphics.setColor(Color.WHITE);
-				break;
+				return Color.WHITE;
 			case 2:
-				backBufferGraphics.setColor(Color.orange);
-				break;
+				return Color.orange;
 			case 3:
-				backBufferGraphics.setColor(Color.yellow);
-				break;
+				return Color.yellow;
 			case 4:
-				backBufferGraphics.setColor(Color.blue);
-				break;
+				return Color.blue;
 			case 5:
 			case 6:
 			case 7:
 			case 8:
 			case 9:
 			case 10:
-				backBufferGraphics.setColor(Color.red);
-				break;
-
+				return Color.red;
+			default:
+				return color;
 		}
+	}
 
+	/**
+	 * Draws a sprite in a color.
+	 *
+	 * @param spriteType
+	 *            Sprite drawn.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	private void drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		boolean[][] image = spriteMap.get(spriteType);
 
+		backBufferGraphics.setColor(color);
 		for (int i = 0; i < image.length; i++)
 			for (int j = 0; j < image[i].length; j++)
 				if (image[i][j])
@@ -275,12 +470,266 @@ public final class DrawManager {
 	}
 
 
+	/**
+	 * Draws every bullet of a level. Bullets are drawn as a few rectangles
+	 * each instead of pixel by pixel, so thousands of them can be drawn each
+	 * frame.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param bullets
+	 *            Bullets to draw.
+	 */
+	public void drawBullets(final Screen screen, final BulletStore bullets) {
+		int pixel = screen.getPosition(2);
+		Color color = null;
+		for (int i = 0; i < bullets.size(); i++) {
+			// Bullets shot together share a color, it's set once for them.
+			if (bullets.getColor(i) != color) {
+				color = bullets.getColor(i);
+				backBufferGraphics.setColor(color);
+			}
+			int positionX = screen.getPosition(bullets.getPositionX(i));
+			int positionY = screen.getPosition(bullets.getPositionY(i));
+			// Power-ups fill the whole box of a bullet.
+			if (bullets.getPowerUp(i) != null) {
+				backBufferGraphics.fillRect(positionX, positionY,
+						screen.getPosition(BulletStore.WIDTH),
+						screen.getPosition(BulletStore.HEIGHT));
+				continue;
+			}
+			int[] rectangles = bullets.isEnemy(i) ? enemyBulletRectangles
+					: bulletRectangles;
+			for (int j = 0; j < rectangles.length; j += 4)
+				backBufferGraphics.fillRect(
+						positionX + rectangles[j] * pixel,
+						positionY + rectangles[j + 1] * pixel,
+						rectangles[j + 2] * pixel, rectangles[j + 3] * pixel);
+		}
+	}
+
+	/**
+	 * Draws a bar with the time left of each power-up picked up, under the
+	 * interface line, and a frame around the ship while its shield lasts.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param snapshot
+	 *            Snapshot with the time left of the power-ups and where the
+	 *            player's ship is.
+	 */
+	private void drawPowerUps(final Screen screen,
+			final FrameSnapshot snapshot) {
+		int slot = screen.getWidth() / PowerUp.count();
+		int positionY = screen.getPosition(GameSimulation.SEPARATION_LINE_HEIGHT
+				+ 2);
+		for (int i = 0; i < PowerUp.count(); i++) {
+			PowerUp powerUp = PowerUp.get(i);
+			int remaining = snapshot.getRemaining(powerUp);
+			if (remaining == 0)
+				continue;
+			backBufferGraphics.setColor(powerUp.getColor());
+			backBufferGraphics.fillRect(i * slot, positionY,
+					(int) ((long) slot * remaining / powerUp.getDuration()),
+					screen.getPosition(2));
+		}
+		if (snapshot.getRemaining(PowerUp.SHIELD) > 0) {
+			int margin = screen.getPosition(4);
+			backBufferGraphics.setColor(PowerUp.SHIELD.getColor());
+			backBufferGraphics.drawRect(
+					screen.getPosition(snapshot.getShipX()) - margin,
+					screen.getPosition(snapshot.getShipY()) - margin,
+					screen.getPosition(snapshot.getShipWidth()) + 2 * margin,
+					screen.getPosition(snapshot.getShipHeight()) + 2 * margin);
+		}
+	}
+
+	/**
+	 * Draws every particle of a level, writing its pixels straight into the
+	 * buffer image instead of going through the graphics context. Particles
+	 * are a sprite pixel big, and cut where they leave the screen.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param particles
+	 *            Particles to draw.
+	 */
+	public void drawParticles(final Screen screen,
+			final ParticleStore particles) {
+		int[] pixels = backBufferPixels;
+		int width = backBuffer.getWidth();
+		int height = backBuffer.getHeight();
+		int pixel = screen.getPosition(2);
+		for (int i = 0; i < particles.size(); i++) {
+			int positionX = screen.getPosition(particles.getPositionX(i));
+			int positionY = screen.getPosition(particles.getPositionY(i));
+			int left = Math.max(0, positionX);
+			int top = Math.max(0, positionY);
+			int right = Math.min(width, positionX + pixel);
+			int bottom = Math.min(height, positionY + pixel);
+			int color = particles.getColor(i);
+			for (int y = top; y < bottom; y++)
+				for (int x = y * width + left, end = y * width + right;
+						x < end; x++)
+					pixels[x] = color;
+		}
+	}
+
+	/**
+	 * Draws the shields. Each one keeps an image of its own, where only the
+	 * rows that differ from when it was last drawn are drawn again, and the
+	 * image is then copied to the screen.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param shields
+	 *            Shields to draw, side by side.
+	 */
+	private void drawShields(final Screen screen, final Shield[] shields) {
+		if (shieldImages.length < shields.length) {
+			shieldImages = Arrays.copyOf(shieldImages, shields.length);
+			shieldPixels = Arrays.copyOf(shieldPixels, shields.length);
+		}
+		int pixel = screen.getPosition(2);
+		for (int i = 0; i < shields.length; i++) {
+			Shield shield = shields[i];
+			BufferedImage image = shieldImages[i];
+			long[] drawn = shieldPixels[i];
+			boolean redrawn = false;
+			if (image == null
+					|| image.getWidth() != shield.getColumns() * pixel
+					|| image.getHeight() != shield.getRows() * pixel) {
+				image = new BufferedImage(shield.getColumns() * pixel,
+						shield.getRows() * pixel, BufferedImage.TYPE_INT_ARGB);
+				shieldImages[i] = image;
+				redrawn = true;
+			}
+			if (drawn == null
+					|| drawn.length != shield.getRows() * shield.getWords()) {
+				drawn = new long[shield.getRows() * shield.getWords()];
+				shieldPixels[i] = drawn;
+				redrawn = true;
+			}
+			int[] pixels = ((DataBufferInt) image.getRaster()
+					.getDataBuffer()).getData();
+			int color = shield.getColor().getRGB();
+			for (int row = 0; row < shield.getRows(); row++)
+				if (takeChangedRow(shield, row, drawn) || redrawn)
+					drawShieldRow(shield, row, pixels, image.getWidth(),
+							pixel, color);
+			backBufferGraphics.drawImage(image,
+					screen.getPosition(shield.getPositionX()),
+					screen.getPosition(shield.getPositionY()), null);
+		}
+	}
+
+	/**
+	 * Checks if a row of a shield differs from when it was last drawn, and
+	 * keeps it as drawn.
+	 *
+	 * @param shield
+	 *            Shield drawn.
+	 * @param row
+	 *            Row checked.
+	 * @param drawn
+	 *            Pixels of the shield when it was last drawn.
+	 * @return True if the row has to be drawn again.
+	 */
+	private static boolean takeChangedRow(final Shield shield, final int row,
+			final long[] drawn) {
+		boolean changed = false;
+		for (int word = 0; word < shield.getWords(); word++) {
+			long bits = shield.getPixels(row, word);
+			int index = row * shield.getWords() + word;
+			changed |= drawn[index] != bits;
+			drawn[index] = bits;
+		}
+		return changed;
+	}
+
+	/**
+	 * Draws a row of a shield into its image, a run of pixels at a time.
+	 *
+	 * @param shield
+	 *            Shield drawn.
+	 * @param row
+	 *            Row drawn.
+	 * @param pixels
+	 *            Pixels of the image, by row.
+	 * @param width
+	 *            Width of the image.
+	 * @param pixel
+	 *            Size of a shield pixel on screen.
+	 * @param color
+	 *            Color of the shield, as ARGB.
+	 */
+	private static void drawShieldRow(final Shield shield, final int row,
+			final int[] pixels, final int width, final int pixel,
+			final int color) {
+		int top = row * pixel * width;
+		Arrays.fill(pixels, top, top + pixel * width, 0);
+		for (int word = 0; word < shield.getWords(); word++) {
+			long bits = shield.getPixels(row, word);
+			while (bits != 0) {
+				int from = Long.numberOfTrailingZeros(bits);
+				int to = Long.numberOfTrailingZeros(~(bits >>> from)) + from;
+				// Clears the run, including when it reaches the last bit.
+				bits &= to == Long.SIZE ? 0 : -1L << to;
+				int left = (word * Long.SIZE + from) * pixel;
+				int right = (word * Long.SIZE + to) * pixel;
+				for (int y = 0; y < pixel; y++)
+					Arrays.fill(pixels, top + y * width + left,
+							top + y * width + right, color);
+			}
+		}
+	}
+
+	/**
+	 * Splits a sprite into the fewest rectangles found by joining the pixels
+	 * of each column, then columns alike side by side.
+	 *
+	 * @param image
+	 *            Sprite, by column and row.
+	 * @return Left, top, width and height of each rectangle, one after the
+	 *         other.
+	 */
+	private static int[] toRectangles(final boolean[][] image) {
+		List<int[]> rectangles = new ArrayList<int[]>();
+		List<int[]> previousColumn = new ArrayList<int[]>();
+		for (int i = 0; i < image.length; i++) {
+			List<int[]> column = new ArrayList<int[]>();
+			for (int j = 0; j < image[i].length; j++) {
+				if (!image[i][j] || (j > 0 && image[i][j - 1]))
+					continue;
+				int height = 1;
+				while (j + height < image[i].length && image[i][j + height])
+					height++;
+				int[] rectangle = null;
+				for (int[] previous : previousColumn)
+					if (previous[1] == j && previous[3] == height)
+						rectangle = previous;
+				if (rectangle != null) {
+					rectangle[2]++;
+				} else {
+					rectangle = new int[] { i, j, 1, height };
+					rectangles.add(rectangle);
+				}
+				column.add(rectangle);
+			}
+			previousColumn = column;
+		}
+		int[] flat = new int[rectangles.size() * 4];
+		for (int i = 0; i < rectangles.size(); i++)
+			System.arraycopy(rectangles.get(i), 0, flat, i * 4, 4);
+		return flat;
+	}
+
 	/**draw "BULLET: " left from bullet count*/
 	public void drawBulletCountString (final Screen screen) {
-		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
 		String bulletCountString = "Bullet: ";
-		backBufferGraphics.drawString(bulletCountString,screen.getWidth() - 270, 25);}
+		regularAtlas.drawString(backBufferGraphics, bulletCountString,
+				screen.getWidth() - 270, 25);}
 
 	/**
 	 * Draws current bullet count on screen.
@@ -291,18 +740,16 @@ public final class DrawManager {
 	 */
 
 	public void drawBulletCount(final Screen screen, final int bulletsShot) {
-		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		String scoreString = String.format("%04d", bulletsShot);
-		backBufferGraphics.drawString(scoreString,
+		regularAtlas.drawNumber(backBufferGraphics, bulletsShot, 4,
 				screen.getWidth() - 195, 25);
 	}
 	/**draw "SCORE: " left from score*/
 	public void drawScoreString (final Screen screen) {
-		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
 		String bulletCountString = "Score: ";
-		backBufferGraphics.drawString(bulletCountString,screen.getWidth() - 125, 25);}
+		regularAtlas.drawString(backBufferGraphics, bulletCountString,
+				screen.getWidth() - 125, 25);}
 
 
 
@@ -348,10 +795,8 @@ public final class DrawManager {
 	 */
 
 	public void drawScore(final Screen screen, final int score) {
-		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		String scoreString = String.format("%04d", score);
-		backBufferGraphics.drawString(scoreString,
+		regularAtlas.drawNumber(backBufferGraphics, score, 4,
 				screen.getWidth() - screen.getPosition(60), screen.getPosition(25));
 	}
 
@@ -364,12 +809,13 @@ public final class DrawManager {
 	 *            Current lives.
 	 */
 	public void drawLives(final Screen screen, final int lives) {
-		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(lives), screen.getPosition(20), screen.getPosition(25));
-		Ship dummyShip = new Ship(0, 0);
+		regularAtlas.drawNumber(backBufferGraphics, lives, 1,
+				screen.getPosition(20), screen.getPosition(25));
+		if (livesShip == null)
+			livesShip = new Ship(0, 0);
 		for (int i = 1; i <= lives; i++)
-			drawEntity(dummyShip, screen.getPosition(10)  + 35 * i, screen.getPosition(5)+5);
+			drawEntity(livesShip, screen.getPosition(10)  + 35 * i, screen.getPosition(5)+5);
 	}
 
 	/**
@@ -418,6 +864,7 @@ public final class DrawManager {
 	 */
 	public void drawMenu(final Screen screen, final int option) {
 		String playString = "Play";
+		String endlessString = "Endless";
 		String settingString = "Setting";
 		String highScoresString = "High scores";
 		String exitString = "exit";
@@ -428,24 +875,30 @@ public final class DrawManager {
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, playString,
 				screen.getHeight() / 3 * 2);
+		if (option == 6)
+			backBufferGraphics.setColor(Color.GREEN);
+		else
+			backBufferGraphics.setColor(Color.WHITE);
+		drawCenteredRegularString(screen, endlessString,
+				screen.getHeight() / 3 * 2 + fontRegularMetrics.getHeight() * 2);
 		if (option == 3)
 			backBufferGraphics.setColor(Color.GREEN);
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, settingString,
-				screen.getHeight() / 3 * 2 + fontRegularMetrics.getHeight() * 2);
+				screen.getHeight() / 3 * 2 + fontRegularMetrics.getHeight() * 4);
 		if (option == 4)
 			backBufferGraphics.setColor(Color.GREEN);
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, highScoresString,
-				screen.getHeight() / 3 * 2 + fontRegularMetrics.getHeight() * 4);
+				screen.getHeight() / 3 * 2 + fontRegularMetrics.getHeight() * 6);
 		if (option == 0)
 			backBufferGraphics.setColor(Color.GREEN);
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, exitString, screen.getHeight() / 3
-				* 2 + fontRegularMetrics.getHeight() * 6);
+				* 2 + fontRegularMetrics.getHeight() * 8);
 	}
 
 	/**
@@ -701,10 +1154,10 @@ public final class DrawManager {
 		// 3 letters name.
 		int positionX = screen.getWidth()
 				/ 2
-				- (fontRegularMetrics.getWidths()[name[0]]
-				+ fontRegularMetrics.getWidths()[name[1]]
-				+ fontRegularMetrics.getWidths()[name[2]]
-				+ fontRegularMetrics.getWidths()[' ']) / 2;
+				- (regularAtlas.charWidth(name[0])
+				+ regularAtlas.charWidth(name[1])
+				+ regularAtlas.charWidth(name[2])
+				+ regularAtlas.charWidth(' ')) / 2;
 
 		for (int i = 0; i < 3; i++) {
 			if (i == nameCharSelected)
@@ -712,14 +1165,13 @@ public final class DrawManager {
 			else
 				backBufferGraphics.setColor(Color.WHITE);
 
-			positionX += fontRegularMetrics.getWidths()[name[i]] / 2;
+			positionX += regularAtlas.charWidth(name[i]) / 2;
 			positionX = i == 0 ? positionX
 					: positionX
-					+ (fontRegularMetrics.getWidths()[name[i - 1]]
-					+ fontRegularMetrics.getWidths()[' ']) / 2;
+					+ (regularAtlas.charWidth(name[i - 1])
+					+ regularAtlas.charWidth(' ')) / 2;
 
-			backBufferGraphics.drawString(Character.toString(name[i]),
-					positionX,
+			regularAtlas.drawChar(backBufferGraphics, name[i], positionX,
 					screen.getHeight() / 4 + fontRegularMetrics.getHeight()
 							* 14);
 		}
@@ -870,9 +1322,8 @@ public final class DrawManager {
 	 */
 	public void drawCenteredRegularString(final Screen screen,
 										  final String string, final int height) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		regularAtlas.drawString(backBufferGraphics, string, screen.getWidth()
+				/ 2 - regularAtlas.stringWidth(string) / 2, height);
 	}
 
 
@@ -892,9 +1343,8 @@ public final class DrawManager {
 	 */
 	public void drawCenteredRegularString(final Screen screen,
 										  final String string, final int split, final int width, final int height) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() / split * width
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		regularAtlas.drawString(backBufferGraphics, string, screen.getWidth()
+				/ split * width - regularAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
@@ -909,9 +1359,8 @@ public final class DrawManager {
 	 */
 	public void drawCenteredBigString(final Screen screen, final String string,
 									  final int height) {
-		backBufferGraphics.setFont(fontBig);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontBigMetrics.stringWidth(string) / 2, height);
+		bigAtlas.drawString(backBufferGraphics, string, screen.getWidth() / 2
+				- bigAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
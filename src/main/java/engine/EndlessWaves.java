@@ -0,0 +1,123 @@
+package engine;
+
+import java.util.List;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Builds the levels of the endless mode. The levels of the difficulty are
+ * played first, then waves that keep growing from its last regular level:
+ * wider and taller formations, up to what fits the screen, tougher ships,
+ * faster moves and more shots. Every few waves the difficulty's boss comes
+ * back, and every few others the wave comes as two formations, one on each
+ * half of the screen.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class EndlessWaves {
+
+	/** Most ships across a formation that fits the screen. */
+	public static final int MAX_WIDTH = 10;
+	/** Most ships down a formation that fits above the shields. */
+	public static final int MAX_HEIGHT = 7;
+	/** Waves between boss fights. */
+	private static final int BOSS_INTERVAL = 8;
+	/** Waves between the ones split into two formations. */
+	private static final int SPLIT_INTERVAL = 3;
+	/** Most ships across each formation of a split wave. */
+	private static final int MAX_SPLIT_WIDTH = 4;
+	/** Waves between each extra formation column. */
+	private static final int WIDTH_WAVES = 2;
+	/** Waves between each extra formation row. */
+	private static final int HEIGHT_WAVES = 3;
+	/** Waves between each extra hit point of the ships. */
+	private static final int HIT_POINT_WAVES = 3;
+	/** Most hit points of a ship. */
+	private static final int MAX_HIT_POINTS = 9;
+	/** Frames between moves taken away each wave. */
+	private static final int SPEED_STEP = 2;
+	/** Part of the time between shots kept each wave. */
+	private static final double SHOOTING_FACTOR = 0.9;
+	/** Least milliseconds between enemy shots. */
+	private static final int MINIMUM_SHOOTING = 200;
+	/** Proportion of C-type ships in the default mix. */
+	private static final double PROPORTION_C = 0.2;
+	/** Proportion of B-type ships in the default mix. */
+	private static final double PROPORTION_B = 0.4;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private EndlessWaves() {
+
+	}
+
+	/**
+	 * Builds the settings of a level of the endless mode.
+	 *
+	 * @param levels
+	 *            Levels of the difficulty, played before the waves.
+	 * @param level
+	 *            Level number, from 1.
+	 * @param shipCap
+	 *            Most ships a wave may have, between all its formations.
+	 * @return Settings of the level.
+	 */
+	public static GameSettings get(final List<GameSettings> levels,
+			final int level, final int shipCap) {
+		if (level <= levels.size())
+			return levels.get(level - 1);
+
+		GameSettings base = null;
+		GameSettings boss = null;
+		for (GameSettings settings : levels)
+			if (settings.getIsBoss())
+				boss = settings;
+			else
+				base = settings;
+		int wave = level - levels.size();
+		if (base == null || (boss != null && wave % BOSS_INTERVAL == 0))
+			return boss;
+
+		int formations = wave % SPLIT_INTERVAL == 0 ? 2 : 1;
+		int width = Math.min(formations == 1 ? MAX_WIDTH : MAX_SPLIT_WIDTH,
+				Math.max(base.getFormationWidth(),
+						base.getFormationWidth() + wave / WIDTH_WAVES));
+		int height = Math.min(MAX_HEIGHT, Math.max(base.getFormationHeight(),
+				base.getFormationHeight() + wave / HEIGHT_WAVES));
+		// Rows go first, so the formation stays as wide as it can.
+		while (width * height * formations > shipCap && width * height > 1)
+			if (height > 1)
+				height--;
+			else
+				width--;
+
+		SpriteType[] rowTypes = new SpriteType[height];
+		int[] rowHitPoints = new int[height];
+		int extraHitPoints = wave / HIT_POINT_WAVES;
+		for (int i = 0; i < height; i++) {
+			// The formation's default mix, from C at the top to A.
+			int hitPoints;
+			if (i / (float) height < PROPORTION_C) {
+				rowTypes[i] = SpriteType.EnemyShipC1;
+				hitPoints = 4;
+			} else if (i / (float) height < PROPORTION_B + PROPORTION_C) {
+				rowTypes[i] = SpriteType.EnemyShipB1;
+				hitPoints = 3;
+			} else {
+				rowTypes[i] = SpriteType.EnemyShipA1;
+				hitPoints = 2;
+			}
+			rowHitPoints[i] = Math.min(MAX_HIT_POINTS,
+					hitPoints + extraHitPoints);
+		}
+
+		int baseSpeed = Math.max(0, base.getBaseSpeed() - wave * SPEED_STEP);
+		int shooting = Math.max(MINIMUM_SHOOTING,
+				(int) (base.getShootingFrecuency()
+						* Math.pow(SHOOTING_FACTOR, wave)));
+		return new GameSettings(width, height, baseSpeed, shooting, false,
+				rowTypes, rowHitPoints, formations);
+	}
+}
@@ -19,6 +19,8 @@ import java.awt.*;
 import java.io.*;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -41,6 +43,10 @@ public final class FileManager {
 	private static Logger logger;
 	/** Max number of high scores. */
 	private static final int MAX_SCORES = 7;
+	/** Font as read from disk, sizes are derived from it. */
+	private static Font baseFont;
+	/** High scores as last read or saved, null until first read. */
+	private List<Score> highScores;
 
 	/**
 	 * private constructor.
@@ -101,7 +107,8 @@ public final class FileManager {
 	}
 
 	/**
-	 * Loads a font of a given size.
+	 * Loads a font of a given size. The font file is only read the first
+	 * time, other sizes are derived from it.
 	 * @param size
 	 *            Point size of the font.
 	 * @return New font.
@@ -112,21 +119,30 @@ public final class FileManager {
 	 */
 	public Font loadFont(final float size) throws IOException,
 			FontFormatException {
-		InputStream inputStream = null;
-		Font font;
-
-		try {
-			// Font loading.
-			inputStream = FileManager.class.getClassLoader()
-					.getResourceAsStream("font.ttf");
-			font = Font.createFont(Font.TRUETYPE_FONT, inputStream).deriveFont(
-					size);
-		} finally {
-			if (inputStream != null)
-				inputStream.close();
+		if (baseFont == null) {
+			InputStream inputStream = null;
+
+			try {
+				// Font loading.
+				inputStream = FileManager.class.getClassLoader()
+						.getResourceAsStream("font.ttf");
+				if (inputStream == null) {
+					// Without the font file text is still drawn, plainly.
+					baseFont = new Font(Font.MONOSPACED, Font.PLAIN, 1);
+					logger.warning("Font file not found, using "
+							+ baseFont.getName() + ".");
+				} else {
+					baseFont = Font.createFont(Font.TRUETYPE_FONT,
+							inputStream);
+					logger.info("Font file loaded.");
+				}
+			} finally {
+				if (inputStream != null)
+					inputStream.close();
+			}
 		}
 
-		return font;
+		return baseFont.deriveFont(size);
 	}
 
 	/**
@@ -166,12 +182,26 @@ public final class FileManager {
 
 	/**
 	 * Loads high scores from file, and returns a sorted list of pairs score -
-	 * value.
-	 * @return Sorted list of scores - players.
+	 * value. The file is only read the first time, later calls return the
+	 * scores as last read or saved.
+	 * @return Sorted, unmodifiable list of scores - players.
 	 * @throws IOException
 	 *             In case of loading problems.
 	 */
 	public List<Score> loadHighScores() throws IOException {
+		if (this.highScores == null)
+			this.highScores = Collections.unmodifiableList(readHighScores());
+		return this.highScores;
+	}
+
+	/**
+	 * Reads high scores from file, and returns a sorted list of pairs score -
+	 * value. Package visible for the benchmarks.
+	 * @return Sorted list of scores - players.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	List<Score> readHighScores() throws IOException {
 
 		List<Score> highScores = new ArrayList<Score>();
 		InputStream inputStream = null;
@@ -217,6 +247,23 @@ public final class FileManager {
 		return highScores;
 	}
 
+	/**
+	 * Returns the path of a user file, kept next to the game's jar like the
+	 * user high scores.
+	 * @param fileName
+	 *            Name of the file.
+	 * @return Path of the file, which may not exist.
+	 * @throws IOException
+	 *             In case the jar's location can't be decoded.
+	 */
+	public Path getUserFile(final String fileName) throws IOException {
+		String jarPath = FileManager.class.getProtectionDomain()
+				.getCodeSource().getLocation().getPath();
+		jarPath = URLDecoder.decode(jarPath, "UTF-8");
+
+		return Paths.get(new File(jarPath).getParent(), fileName);
+	}
+
 	/**
 	 * Saves user high scores to disk.
 	 * @param highScores
@@ -265,6 +312,9 @@ public final class FileManager {
 			if (bufferedWriter != null)
 				bufferedWriter.close();
 		}
+		this.highScores = Collections.unmodifiableList(new ArrayList<Score>(
+				highScores.subList(0, Math.min(MAX_SCORES,
+						highScores.size()))));
 	}
 }
 
@@ -0,0 +1,59 @@
+package engine;
+
+import java.awt.FontFormatException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps every scaled font used so far, along with its metrics and glyphs, so
+ * switching window modes doesn't load or rasterize a font twice.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class FontCache {
+
+	/** FileManager instance. */
+	private FileManager fileManager;
+	/** Glyph atlases by base size and scale. */
+	private Map<Long, GlyphAtlas> atlases;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param fileManager
+	 *            File manager to load the font with.
+	 */
+	public FontCache(final FileManager fileManager) {
+		this.fileManager = fileManager;
+		this.atlases = new HashMap<Long, GlyphAtlas>();
+	}
+
+	/**
+	 * Returns the font of the given size and scale, loading it the first
+	 * time it's requested.
+	 *
+	 * @param size
+	 *            Point size of the font at normal window size.
+	 * @param scale
+	 *            Proportion between the window and its normal size.
+	 * @return Atlas holding the scaled font, its metrics and glyphs.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 * @throws FontFormatException
+	 *             In case of incorrect font format.
+	 */
+	public GlyphAtlas get(final float size, final float scale)
+			throws IOException, FontFormatException {
+		Long key = ((long) Float.floatToIntBits(size) << 32)
+				| (Float.floatToIntBits(scale) & 0xFFFFFFFFL);
+		GlyphAtlas atlas = this.atlases.get(key);
+		if (atlas == null) {
+			atlas = new GlyphAtlas(
+					this.fileManager.loadFont(Math.round(size * scale)));
+			this.atlases.put(key, atlas);
+		}
+		return atlas;
+	}
+}
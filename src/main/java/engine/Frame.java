@@ -1,6 +1,10 @@
 package engine;
 
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 
 import javax.swing.JFrame;
 
@@ -28,7 +32,7 @@ public class Frame extends JFrame {
 	/**
 	 * Screen currently shown.
 	 */
-	private Screen currentScreen;
+	private volatile Screen currentScreen;
 	/**
 	 * Initializes the new frame.
 	 *
@@ -50,6 +54,62 @@ public class Frame extends JFrame {
 		setTitle("Invaders");
 
 		addKeyListener(Core.getInputManager());
+		// Wakes idle screens up once the input manager has the new state.
+		addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(final KeyEvent key) {
+				wakeScreen();
+			}
+
+			@Override
+			public void keyReleased(final KeyEvent key) {
+				wakeScreen();
+			}
+		});
+		addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(final ComponentEvent event) {
+				DrawManager.getInstance().frameChanged();
+				redrawScreen();
+			}
+
+			@Override
+			public void componentShown(final ComponentEvent event) {
+				DrawManager.getInstance().frameChanged();
+				redrawScreen();
+			}
+		});
+	}
+
+	/**
+	 * Paints the frame, and asks the current screen to draw itself over it,
+	 * as the window has been exposed.
+	 *
+	 * @param graphics
+	 *            Graphics context to paint on.
+	 */
+	@Override
+	public void paint(final Graphics graphics) {
+		super.paint(graphics);
+		redrawScreen();
+	}
+
+	/**
+	 * Wakes the current screen up, if there is one.
+	 */
+	private void wakeScreen() {
+		Screen screen = this.currentScreen;
+		if (screen != null)
+			screen.wake();
+	}
+
+	/**
+	 * Asks the current screen to draw itself again, if there is one.
+	 */
+	private void redrawScreen() {
+		Screen screen = this.currentScreen;
+		if (screen != null)
+			screen.requestRedraw();
 	}
 
 	/**
@@ -0,0 +1,144 @@
+package engine;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches how long the game takes to play and draw each frame, and scales
+ * down how many enemies and bullets the game may put on screen when the
+ * machine can't keep up, back up again once it can. Games ask for their caps
+ * through {@link #cap(int)}.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class FrameBudget {
+
+	/** Part of a frame the game may work for, the rest is left to spare. */
+	private static final double BUDGET = 0.5;
+	/** Frames averaged, as a power of two. */
+	private static final int AVERAGE_SHIFT = 4;
+	/** Frames over budget before the caps are lowered. */
+	private static final int OVERLOAD_FRAMES = 30;
+	/** Frames well under budget before the caps are raised. */
+	private static final int RECOVERY_FRAMES = 600;
+	/** Part of the caps kept when they are lowered. */
+	private static final double LOWER_FACTOR = 0.75;
+	/** Part of the full caps added when they are raised. */
+	private static final double RAISE_STEP = 0.05;
+	/** Least part of the full caps allowed. */
+	private static final double MINIMUM_SCALE = 0.25;
+
+	/** Singleton instance of the class. */
+	private static FrameBudget instance;
+	/** Application logger. */
+	private static Logger logger;
+
+	/** Nanoseconds a frame may take. */
+	private long budget;
+	/** Average nanoseconds the recent frames took. */
+	private long average;
+	/** Monotonic time the current frame started at. */
+	private long frameStart;
+	/** Frames over budget in a row. */
+	private int overloaded;
+	/** Frames well under budget in a row. */
+	private int relaxed;
+	/** Part of the full caps allowed. */
+	private double scale;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param fps
+	 *            Frames per second the game is played at.
+	 */
+	FrameBudget(final int fps) {
+		logger = Core.getLogger();
+		this.budget = (long) (BUDGET * 1000000000L / fps);
+		this.scale = 1;
+	}
+
+	/**
+	 * Returns shared instance of FrameBudget.
+	 *
+	 * @return Shared instance of FrameBudget.
+	 */
+	protected static FrameBudget getInstance() {
+		if (instance == null)
+			instance = new FrameBudget(Core.FPS);
+		return instance;
+	}
+
+	/**
+	 * Marks the start of the work of a frame.
+	 */
+	public void beginFrame() {
+		this.frameStart = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the work of a frame, lowering or raising the caps if
+	 * the recent frames call for it.
+	 */
+	public void endFrame() {
+		record(System.nanoTime() - this.frameStart);
+	}
+
+	/**
+	 * Records how long a frame took.
+	 *
+	 * @param nanoseconds
+	 *            Time the frame's work took.
+	 */
+	private void record(final long nanoseconds) {
+		this.average += (nanoseconds - this.average) >> AVERAGE_SHIFT;
+
+		if (this.average > this.budget) {
+			this.relaxed = 0;
+			if (++this.overloaded >= OVERLOAD_FRAMES
+					&& this.scale > MINIMUM_SCALE) {
+				this.overloaded = 0;
+				this.scale = Math.max(MINIMUM_SCALE,
+						this.scale * LOWER_FACTOR);
+				if (logger.isLoggable(Level.WARNING))
+					logger.warning("Frames take " + this.average / 1000
+							+ " us, over the budget of " + this.budget / 1000
+							+ " us: entities capped to "
+							+ Math.round(this.scale * 100) + "%.");
+			}
+		} else if (this.average < this.budget / 2) {
+			this.overloaded = 0;
+			if (++this.relaxed >= RECOVERY_FRAMES && this.scale < 1) {
+				this.relaxed = 0;
+				this.scale = Math.min(1, this.scale + RAISE_STEP);
+				if (logger.isLoggable(Level.INFO))
+					logger.info("Frames back under budget: entities capped "
+							+ "to " + Math.round(this.scale * 100) + "%.");
+			}
+		} else {
+			this.overloaded = 0;
+			this.relaxed = 0;
+		}
+	}
+
+	/**
+	 * Scales a number of entities to what the machine can keep up with.
+	 *
+	 * @param full
+	 *            Most entities allowed on a machine that keeps up.
+	 * @return Most entities allowed now, at least one.
+	 */
+	public int cap(final int full) {
+		return Math.max(1, (int) (full * this.scale));
+	}
+
+	/**
+	 * Getter for the part of the full caps allowed.
+	 *
+	 * @return Scale of the caps, 1 while the machine keeps up.
+	 */
+	public double getScale() {
+		return this.scale;
+	}
+}
@@ -0,0 +1,445 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletStore;
+import entity.Entity;
+import entity.ParticleStore;
+import entity.PowerUp;
+import entity.Shield;
+import entity.Ship;
+
+/**
+ * Everything a frame of a level shows, copied out of the game so it can be
+ * drawn on another thread while the game plays the next frame: where each
+ * ship is and the sprite it's drawn as, the bullets, particles and shields,
+ * and the values of the interface. A snapshot is made once and filled again
+ * every frame, growing only when a frame shows more than any before it.
+ *
+ * A snapshot handed to a {@link Renderer} isn't changed until the renderer
+ * gives it back, so drawing sees it as it was when it was handed.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class FrameSnapshot {
+
+	/** Countdown of a level already started, not drawn. */
+	public static final int NO_COUNTDOWN = -1;
+	/** Shields of a snapshot none were copied to. */
+	private static final Shield[] NO_SHIELDS = new Shield[0];
+
+	/** Sprite of each entity. */
+	private SpriteType[] spriteTypes;
+	/** Color of each entity. */
+	private Color[] colors;
+	/** Position of each entity in the X axis. */
+	private int[] positionsX;
+	/** Position of each entity in the Y axis. */
+	private int[] positionsY;
+	/** Number of entities. */
+	private int entityCount;
+	/** Bullets and power-ups falling. */
+	private final BulletStore bullets;
+	/** Particles of the explosions. */
+	private final ParticleStore particles;
+	/** Shields. */
+	private Shield[] shields;
+
+	/** Time left of each power-up, by order, 0 if it isn't active. */
+	private final int[] powerUpsRemaining;
+	/** Position and size of the player's ship, for its shield. */
+	private int shipX;
+	/** Position of the player's ship in the Y axis. */
+	private int shipY;
+	/** Width of the player's ship. */
+	private int shipWidth;
+	/** Height of the player's ship. */
+	private int shipHeight;
+	/** Current score. */
+	private int score;
+	/** Lives left. */
+	private int lives;
+	/** Bullets shot by the player. */
+	private int bulletsShot;
+	/** Number of the level. */
+	private int level;
+	/** Seconds until the level starts, or NO_COUNTDOWN. */
+	private int countdown;
+	/** Checks if a bonus life is awarded this level. */
+	private boolean bonusLife;
+
+	/** Timestamp of the key event shown by the frame, 0 if none. */
+	long eventTime;
+	/** Wall clock time the frame started at. */
+	long frameStartMillis;
+	/** Monotonic time the frame started at. */
+	long frameStartNanos;
+	/** Number of the frame, counting the ones handed to its renderer. */
+	long sequence;
+
+	/**
+	 * Constructor, the snapshot starts empty.
+	 *
+	 * @param bulletCapacity
+	 *            Bullets kept before the snapshot has to grow.
+	 * @param particleBudget
+	 *            Most particles of the level.
+	 */
+	public FrameSnapshot(final int bulletCapacity, final int particleBudget) {
+		this.spriteTypes = new SpriteType[16];
+		this.colors = new Color[16];
+		this.positionsX = new int[16];
+		this.positionsY = new int[16];
+		this.bullets = new BulletStore(bulletCapacity);
+		this.particles = new ParticleStore(particleBudget);
+		this.powerUpsRemaining = new int[PowerUp.count()];
+		this.shields = NO_SHIELDS;
+		this.countdown = NO_COUNTDOWN;
+	}
+
+	/**
+	 * Removes every entity, to fill the snapshot again.
+	 */
+	public void clear() {
+		this.entityCount = 0;
+	}
+
+	/**
+	 * Adds an entity where it is now.
+	 *
+	 * @param entity
+	 *            Entity shown.
+	 * @param spriteType
+	 *            Sprite the entity is drawn as.
+	 */
+	public void addEntity(final Entity entity, final SpriteType spriteType) {
+		add(spriteType, DrawManager.getColor(entity), entity.getPositionX(),
+				entity.getPositionY());
+	}
+
+	/**
+	 * Adds an entity kept as columns of numbers, such as a ship of a
+	 * formation.
+	 *
+	 * @param spriteType
+	 *            Sprite the entity is drawn as.
+	 * @param hp
+	 *            Hits the entity has left, picking its color.
+	 * @param color
+	 *            Color of the entity, for hits with no color of their own.
+	 * @param positionX
+	 *            Position of the left side of the entity.
+	 * @param positionY
+	 *            Position of the upper side of the entity.
+	 */
+	public void addEntity(final SpriteType spriteType, final int hp,
+			final Color color, final int positionX, final int positionY) {
+		add(spriteType, DrawManager.getColor(hp, color), positionX,
+				positionY);
+	}
+
+	/**
+	 * Adds a sprite to draw.
+	 *
+	 * @param spriteType
+	 *            Sprite drawn.
+	 * @param color
+	 *            Color it's drawn in.
+	 * @param positionX
+	 *            Position of its left side.
+	 * @param positionY
+	 *            Position of its upper side.
+	 */
+	private void add(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		if (this.entityCount == this.spriteTypes.length) {
+			int capacity = this.entityCount * 2;
+			this.spriteTypes = Arrays.copyOf(this.spriteTypes, capacity);
+			this.colors = Arrays.copyOf(this.colors, capacity);
+			this.positionsX = Arrays.copyOf(this.positionsX, capacity);
+			this.positionsY = Arrays.copyOf(this.positionsY, capacity);
+		}
+		this.spriteTypes[this.entityCount] = spriteType;
+		this.colors[this.entityCount] = color;
+		this.positionsX[this.entityCount] = positionX;
+		this.positionsY[this.entityCount] = positionY;
+		this.entityCount++;
+	}
+
+	/**
+	 * Copies the bullets and power-ups falling.
+	 *
+	 * @param source
+	 *            Bullets of the level.
+	 */
+	public void copyBullets(final BulletStore source) {
+		this.bullets.copyFrom(source);
+	}
+
+	/**
+	 * Copies the particles of the explosions.
+	 *
+	 * @param source
+	 *            Particles of the level, null if it has none.
+	 */
+	public void copyParticles(final ParticleStore source) {
+		if (source == null)
+			this.particles.clear();
+		else
+			this.particles.copyFrom(source);
+	}
+
+	/**
+	 * Copies what's left of the shields.
+	 *
+	 * @param source
+	 *            Shields of the level.
+	 */
+	public void copyShields(final Shield[] source) {
+		// Levels keep their shields, so they are only made once.
+		if (this.shields.length != source.length) {
+			this.shields = new Shield[source.length];
+			for (int i = 0; i < source.length; i++)
+				this.shields[i] = new Shield(0, 0);
+		}
+		for (int i = 0; i < source.length; i++)
+			this.shields[i].copyFrom(source[i]);
+	}
+
+	/**
+	 * Copies the time left of each power-up, and where the ship they
+	 * protect is.
+	 *
+	 * @param effects
+	 *            Power-ups picked up.
+	 * @param ship
+	 *            Player's ship.
+	 */
+	public void copyPowerUps(final PowerUpEffects effects, final Ship ship) {
+		for (int i = 0; i < this.powerUpsRemaining.length; i++)
+			this.powerUpsRemaining[i] = effects.getRemaining(PowerUp.get(i));
+		this.shipX = ship.getPositionX();
+		this.shipY = ship.getPositionY();
+		this.shipWidth = ship.getWidth();
+		this.shipHeight = ship.getHeight();
+	}
+
+	/**
+	 * Sets the values of the interface.
+	 *
+	 * @param score
+	 *            Current score.
+	 * @param lives
+	 *            Lives left.
+	 * @param bulletsShot
+	 *            Bullets shot by the player.
+	 */
+	public void setInterface(final int score, final int lives,
+			final int bulletsShot) {
+		this.score = score;
+		this.lives = lives;
+		this.bulletsShot = bulletsShot;
+	}
+
+	/**
+	 * Sets the countdown to the start of the level.
+	 *
+	 * @param level
+	 *            Number of the level.
+	 * @param countdown
+	 *            Seconds until the level starts, or NO_COUNTDOWN once it
+	 *            has.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 */
+	public void setCountdown(final int level, final int countdown,
+			final boolean bonusLife) {
+		this.level = level;
+		this.countdown = countdown;
+		this.bonusLife = bonusLife;
+	}
+
+	/**
+	 * Getter for the number of entities.
+	 *
+	 * @return Entities shown.
+	 */
+	public int getEntityCount() {
+		return this.entityCount;
+	}
+
+	/**
+	 * Getter for the sprite of an entity.
+	 *
+	 * @param index
+	 *            Entity number, below the count.
+	 * @return Sprite it's drawn as.
+	 */
+	public SpriteType getSpriteType(final int index) {
+		return this.spriteTypes[index];
+	}
+
+	/**
+	 * Getter for the color of an entity.
+	 *
+	 * @param index
+	 *            Entity number, below the count.
+	 * @return Color it's drawn in.
+	 */
+	public Color getColor(final int index) {
+		return this.colors[index];
+	}
+
+	/**
+	 * Getter for the X axis position of an entity.
+	 *
+	 * @param index
+	 *            Entity number, below the count.
+	 * @return Position of its left side.
+	 */
+	public int getPositionX(final int index) {
+		return this.positionsX[index];
+	}
+
+	/**
+	 * Getter for the Y axis position of an entity.
+	 *
+	 * @param index
+	 *            Entity number, below the count.
+	 * @return Position of its upper side.
+	 */
+	public int getPositionY(final int index) {
+		return this.positionsY[index];
+	}
+
+	/**
+	 * Getter for the bullets and power-ups falling.
+	 *
+	 * @return Copy of the bullets.
+	 */
+	public BulletStore getBullets() {
+		return this.bullets;
+	}
+
+	/**
+	 * Getter for the particles of the explosions.
+	 *
+	 * @return Copy of the particles.
+	 */
+	public ParticleStore getParticles() {
+		return this.particles;
+	}
+
+	/**
+	 * Getter for the shields.
+	 *
+	 * @return Copy of the shields.
+	 */
+	public Shield[] getShields() {
+		return this.shields;
+	}
+
+	/**
+	 * Getter for the time left of a power-up.
+	 *
+	 * @param powerUp
+	 *            Power-up checked.
+	 * @return Milliseconds left, 0 if it isn't active.
+	 */
+	public int getRemaining(final PowerUp powerUp) {
+		return this.powerUpsRemaining[powerUp.ordinal()];
+	}
+
+	/**
+	 * Getter for the X axis position of the player's ship.
+	 *
+	 * @return Position of its left side.
+	 */
+	public int getShipX() {
+		return this.shipX;
+	}
+
+	/**
+	 * Getter for the Y axis position of the player's ship.
+	 *
+	 * @return Position of its upper side.
+	 */
+	public int getShipY() {
+		return this.shipY;
+	}
+
+	/**
+	 * Getter for the width of the player's ship.
+	 *
+	 * @return Width of the ship.
+	 */
+	public int getShipWidth() {
+		return this.shipWidth;
+	}
+
+	/**
+	 * Getter for the height of the player's ship.
+	 *
+	 * @return Height of the ship.
+	 */
+	public int getShipHeight() {
+		return this.shipHeight;
+	}
+
+	/**
+	 * Getter for the score.
+	 *
+	 * @return Current score.
+	 */
+	public int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Getter for the lives left.
+	 *
+	 * @return Lives left.
+	 */
+	public int getLives() {
+		return this.lives;
+	}
+
+	/**
+	 * Getter for the bullets shot by the player.
+	 *
+	 * @return Bullets shot.
+	 */
+	public int getBulletsShot() {
+		return this.bulletsShot;
+	}
+
+	/**
+	 * Getter for the number of the level.
+	 *
+	 * @return Level shown in the countdown.
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Getter for the seconds until the level starts.
+	 *
+	 * @return Seconds left, or NO_COUNTDOWN once the level started.
+	 */
+	public int getCountdown() {
+		return this.countdown;
+	}
+
+	/**
+	 * Checks if a bonus life is awarded this level.
+	 *
+	 * @return True if it is.
+	 */
+	public boolean getBonusLife() {
+		return this.bonusLife;
+	}
+}
@@ -1,7 +1,11 @@
 package engine;
 
+import engine.DrawManager.SpriteType;
+
 /**
  * Implements an object that stores a single game's difficulty settings.
+ * Settings can't change once created, so they can be shared by any number
+ * of games.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
@@ -10,15 +14,21 @@ public class GameSettings {
 
 
 	/** Width of the level's enemy formation. */
-	private int formationWidth;
+	private final int formationWidth;
 	/** Height of the level's enemy formation. */
-	private int formationHeight;
+	private final int formationHeight;
 	/** Speed of the enemies, function of the remaining number. */
-	private int baseSpeed;
+	private final int baseSpeed;
 	/** Frequency of enemy shootings, +/- 30%. */
-	private int shootingFrecuency;
-
-	private boolean isBoss;
+	private final int shootingFrecuency;
+	/** Checks if the level is a boss fight. */
+	private final boolean isBoss;
+	/** Ship type of each formation row from the top, null for the default. */
+	private final SpriteType[] rowTypes;
+	/** Hit points of the ships of each formation row from the top. */
+	private final int[] rowHitPoints;
+	/** Number of formations of the level, side by side. */
+	private final int formationCount;
 
 	/**
 	 * Constructor.
@@ -31,14 +41,82 @@ public class GameSettings {
 	 *            Speed of the enemies.
 	 * @param shootingFrecuency
 	 *            Frecuency of enemy shootings, +/- 30%.
+	 * @param isBoss
+	 *            Checks if the level is a boss fight.
 	 */
 	public GameSettings(final int formationWidth, final int formationHeight,
 						final int baseSpeed, final int shootingFrecuency, final boolean isBoss) {
+		this(formationWidth, formationHeight, baseSpeed, shootingFrecuency,
+				isBoss, null, null);
+	}
+
+	/**
+	 * Constructor, with the ships of each formation row.
+	 *
+	 * @param formationWidth
+	 *            Width of the level's enemy formation.
+	 * @param formationHeight
+	 *            Height of the level's enemy formation.
+	 * @param baseSpeed
+	 *            Speed of the enemies.
+	 * @param shootingFrecuency
+	 *            Frecuency of enemy shootings, +/- 30%.
+	 * @param isBoss
+	 *            Checks if the level is a boss fight.
+	 * @param rowTypes
+	 *            Ship type of each row from the top, null for the default
+	 *            mix.
+	 * @param rowHitPoints
+	 *            Hit points of the ships of each row from the top, null for
+	 *            the default mix.
+	 */
+	public GameSettings(final int formationWidth, final int formationHeight,
+			final int baseSpeed, final int shootingFrecuency,
+			final boolean isBoss, final SpriteType[] rowTypes,
+			final int[] rowHitPoints) {
+		this(formationWidth, formationHeight, baseSpeed, shootingFrecuency,
+				isBoss, rowTypes, rowHitPoints, 1);
+	}
+
+	/**
+	 * Constructor, with the ships of each formation row and several
+	 * formations.
+	 *
+	 * @param formationWidth
+	 *            Width of each of the level's enemy formations.
+	 * @param formationHeight
+	 *            Height of each of the level's enemy formations.
+	 * @param baseSpeed
+	 *            Speed of the enemies.
+	 * @param shootingFrecuency
+	 *            Frecuency of each formation's shootings, +/- 30%.
+	 * @param isBoss
+	 *            Checks if the level is a boss fight.
+	 * @param rowTypes
+	 *            Ship type of each row from the top, null for the default
+	 *            mix.
+	 * @param rowHitPoints
+	 *            Hit points of the ships of each row from the top, null for
+	 *            the default mix.
+	 * @param formationCount
+	 *            Number of formations of the level, side by side.
+	 */
+	public GameSettings(final int formationWidth, final int formationHeight,
+			final int baseSpeed, final int shootingFrecuency,
+			final boolean isBoss, final SpriteType[] rowTypes,
+			final int[] rowHitPoints, final int formationCount) {
+		if (formationCount < 1)
+			throw new IllegalArgumentException(
+					"A level has at least one formation.");
+		this.formationCount = formationCount;
 		this.formationWidth = formationWidth;
 		this.formationHeight = formationHeight;
 		this.baseSpeed = baseSpeed;
 		this.shootingFrecuency = shootingFrecuency;
 		this.isBoss = isBoss;
+		this.rowTypes = rowTypes == null ? null : rowTypes.clone();
+		this.rowHitPoints = rowHitPoints == null ? null
+				: rowHitPoints.clone();
 	}
 
 	/**
@@ -69,7 +147,39 @@ public class GameSettings {
 		return shootingFrecuency;
 	}
 
+	/**
+	 * @return true if the level is a boss fight
+	 */
 	public boolean getIsBoss() {
 		return isBoss;
 	}
+
+	/**
+	 * Ship type of a formation row.
+	 *
+	 * @param row
+	 *            Row number, from the top.
+	 * @return Ship type, null if the level uses the default mix.
+	 */
+	public final SpriteType getRowType(final int row) {
+		return this.rowTypes == null ? null : this.rowTypes[row];
+	}
+
+	/**
+	 * @return the number of formations of the level, side by side
+	 */
+	public final int getFormationCount() {
+		return this.formationCount;
+	}
+
+	/**
+	 * Hit points of the ships of a formation row.
+	 *
+	 * @param row
+	 *            Row number, from the top.
+	 * @return Hit points, 0 if the level uses the default mix.
+	 */
+	public final int getRowHitPoints(final int row) {
+		return this.rowHitPoints == null ? 0 : this.rowHitPoints[row];
+	}
 }
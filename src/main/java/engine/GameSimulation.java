@@ -0,0 +1,1007 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import entity.BulletStore;
+import entity.EnemyShip;
+import entity.EnemyShipFormation;
+import entity.Entity;
+import entity.ParticleStore;
+import entity.PowerUp;
+import entity.Shield;
+import entity.Ship;
+import entity.SpatialGrid;
+
+/**
+ * Plays a level of the game, without drawing or sound. Everything the level
+ * depends on is its own or given to it, so several levels can be played at
+ * once, and a level played with the same clock, random seed and input is
+ * always played the same way.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class GameSimulation implements TickView {
+
+	/** Milliseconds until the level accepts input. */
+	public static final int INPUT_DELAY = 6000;
+	/** Height of the interface separation line. */
+	public static final int SEPARATION_LINE_HEIGHT = 40;
+	/** Bonus score for each life remaining at the end of the level. */
+	private static final int LIFE_SCORE = 100;
+	/** Minimum time between bonus ship's appearances. */
+	private static final int BONUS_SHIP_INTERVAL = 20000;
+	/** Maximum variance in the time between bonus ship's appearances. */
+	private static final int BONUS_SHIP_VARIANCE = 10000;
+	/** Time until bonus ship explosion disappears. */
+	private static final int BONUS_SHIP_EXPLOSION = 500;
+	/** Time from finishing the level to screen change. */
+	private static final int SCREEN_CHANGE_INTERVAL = 1500;
+	/** Bullets there is room for before the level starts. */
+	private static final int BULLET_RESERVE = 32;
+	/** Particles of a ship blowing up. */
+	private static final int EXPLOSION_PARTICLES = 24;
+	/** Particles of a ship hit without blowing up. */
+	private static final int SPARK_PARTICLES = 6;
+	/** Particles of the flash of a shot. */
+	private static final int FLASH_PARTICLES = 3;
+	/** Particles of a shield hit. */
+	private static final int DEBRIS_PARTICLES = 4;
+	/** Number of shields over the player. */
+	private static final int SHIELD_COUNT = 4;
+	/** Distance between the top of the shields and the player's ship. */
+	private static final int SHIELD_HEIGHT = 70;
+	/** Size of the cells the enemy ships are sorted into. */
+	private static final int GRID_CELL_SIZE = 40;
+	/** Chance of a destroyed ship dropping a power-up. */
+	private static final double DROP_CHANCE = 0.08;
+	/** Most power-ups falling at once. */
+	private static final int MAX_DROPS = 8;
+	/** Speed power-ups fall at. */
+	private static final float DROP_SPEED = 1.5f;
+	/** Part of their speed enemy bullets fly at in slow motion. */
+	private static final float SLOW_MOTION_SPEED = 0.5f;
+
+	/** Application logger. */
+	private Logger logger;
+	/** Keys the level is played with. */
+	private InputSource input;
+	/** Clock of the level. */
+	private Clock clock;
+	/** Timers of the level, advanced once per frame. */
+	private TimingWheel timingWheel;
+	/** Source of the level's random choices. */
+	private Random random;
+
+	/** Width of the screen. */
+	private int width;
+	/** Height of the screen. */
+	private int height;
+	/** Proportion between the screen and its normal size. */
+	private double ratio;
+
+	/** Current difficulty level number. */
+	private int level;
+	/** Formations of enemy ships, each in its own lane. */
+	private EnemyShipFormation[] enemyShipFormations;
+	/** Enemy ships of every formation by where they are, tagged with the
+	 * number of their formation. */
+	private SpatialGrid enemyShipGrid;
+	/** Formation of the shooter last found. */
+	private EnemyShipFormation shooterFormation;
+	/** Ships left between all the formations. */
+	private int shipsLeft;
+	/** Position the bonus ship shoots from. */
+	private int position;
+	/** Player's ship. */
+	private Ship ship;
+	/** Bonus enemy ship that appears sometimes. */
+	private EnemyShip enemyShipSpecial;
+	/** Bonus enemy ship, reused every time it appears. */
+	private EnemyShip specialShip;
+	/** Minimum time between bonus ship appearances. */
+	private Cooldown enemyShipSpecialCooldown;
+	/** Time until bonus ship explosion disappears. */
+	private Cooldown enemyShipSpecialExplosionCooldown;
+	/** Time from finishing the level to screen change. */
+	private Cooldown screenFinishedCooldown;
+	/** Time until the level accepts input. */
+	private Cooldown inputDelay;
+	/** All bullets fired by on screen ships. */
+	private BulletStore bullets;
+	/** Shields over the player, side by side. */
+	private Shield[] shields;
+	/** Position in the y-axis of the top of the shields. */
+	private int shieldsTop;
+	/** Position in the y-axis of the bottom of the shields. */
+	private int shieldsBottom;
+	/** Position in the x-axis of the left side of the first shield. */
+	private int shieldsLeft;
+	/** Distance between the left sides of shields side by side. */
+	private int shieldSpacing;
+	/** Power-ups falling, among the bullets. */
+	private int drops;
+	/** Time left of the power-ups picked up. */
+	private PowerUpEffects powerUpEffects;
+	/** Checks if the enemies sat this frame out, slowed down. */
+	private boolean enemiesSkipped;
+	/** Splits the work on the bullets across threads, null if it isn't. */
+	private ParallelTick parallelTick;
+	/** Moves a range of the bullets. */
+	private ParallelTick.Range bulletMover;
+	/** Marks the bullets of a range that may hit something. */
+	private ParallelTick.Range candidateMarker;
+	/** Checks if each bullet may hit something, when split across threads. */
+	private boolean[] candidates;
+	/** Checks if the bullets are moved slowed down this frame. */
+	private boolean slowMotion;
+	/** Particles shown for explosions and shots, null if none are. */
+	private ParticleStore particles;
+	/** Current score. */
+	private int score;
+	/** Player lives left. */
+	private int lives;
+	/** Total bullets shot by the player. */
+	private int bulletsShot;
+	/** Total ships destroyed by the player. */
+	private int shipsDestroyed;
+	/** Checks if the level is finished. */
+	private boolean levelFinished;
+	/** Checks if the bonus ship's last bullet takes two lives. */
+	private int bulletCode;
+
+	/**
+	 * Constructor, sets up the level.
+	 *
+	 * @param gameState
+	 *            State of the game at the start of the level.
+	 * @param gameSettings
+	 *            Settings of the level.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param clock
+	 *            Clock of the level.
+	 * @param random
+	 *            Source of the level's random choices.
+	 * @param input
+	 *            Keys the level is played with.
+	 */
+	public GameSimulation(final GameState gameState,
+			final GameSettings gameSettings, final boolean bonusLife,
+			final int width, final int height, final Clock clock,
+			final Random random, final InputSource input) {
+		this(gameState, bonusLife, width, height, clock, random, input,
+				EnemyShipFormation.createAll(gameSettings, clock, random));
+	}
+
+	/**
+	 * Constructor, sets up the level around formations built beforehand.
+	 *
+	 * @param gameState
+	 *            State of the game at the start of the level.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param clock
+	 *            Clock of the level, the formations' too.
+	 * @param random
+	 *            Source of the level's random choices, the formations' too.
+	 * @param input
+	 *            Keys the level is played with.
+	 * @param enemyShipFormations
+	 *            Formations of the level, not updated yet.
+	 */
+	public GameSimulation(final GameState gameState, final boolean bonusLife,
+			final int width, final int height, final Clock clock,
+			final Random random, final InputSource input,
+			final EnemyShipFormation... enemyShipFormations) {
+		this.logger = Core.getLogger();
+		this.input = input;
+		this.clock = clock;
+		this.random = random;
+		this.width = width;
+		this.height = height;
+		this.ratio = width / 434f;
+
+		this.level = gameState.getLevel();
+		this.score = gameState.getScore();
+		this.lives = gameState.getLivesRemaining();
+		if (bonusLife)
+			this.lives++;
+		this.bulletsShot = gameState.getBulletsShot();
+		this.shipsDestroyed = gameState.getShipsDestroyed();
+
+		this.enemyShipFormations = enemyShipFormations;
+		for (EnemyShipFormation formation : enemyShipFormations)
+			this.shipsLeft += formation.getShipCount();
+		this.enemyShipGrid = new SpatialGrid(434,
+				(int) Math.ceil(this.height / this.ratio), GRID_CELL_SIZE);
+		this.ship = new Ship((int) (this.width / (2 * this.ratio)),
+				(int) ((this.height - 30) / this.ratio), clock);
+		this.shields = new Shield[SHIELD_COUNT];
+		this.shieldsTop = this.ship.getPositionY() - SHIELD_HEIGHT;
+		for (int i = 0; i < SHIELD_COUNT; i++)
+			this.shields[i] = new Shield((int) (this.width * (2 * i + 1)
+					/ (2 * SHIELD_COUNT * this.ratio)) - Shield.COLUMNS,
+					this.shieldsTop);
+		this.shieldsBottom = this.shieldsTop + this.shields[0].getHeight();
+		this.shieldsLeft = this.shields[0].getPositionX();
+		this.shieldSpacing = this.shields[1].getPositionX() - this.shieldsLeft;
+		// Appears each 10-30 seconds.
+		this.timingWheel = clock.getTimingWheel();
+		this.enemyShipSpecialCooldown = Core.getVariableCooldown(
+				BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE, this.timingWheel,
+				random);
+		this.enemyShipSpecialCooldown.reset();
+		this.enemyShipSpecialExplosionCooldown = Core
+				.getCooldown(BONUS_SHIP_EXPLOSION, this.timingWheel);
+		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL,
+				this.timingWheel);
+		this.specialShip = new EnemyShip();
+		this.bullets = new BulletStore(BULLET_RESERVE);
+		this.powerUpEffects = new PowerUpEffects(this.timingWheel);
+
+		this.inputDelay = Core.getCooldown(INPUT_DELAY, this.timingWheel);
+		this.inputDelay.reset();
+	}
+
+	/**
+	 * Plays a frame of the level.
+	 */
+	public final void update() {
+		// Every timer of the level comes due here, with one clock read.
+		this.timingWheel.advance();
+		this.input.nextFrame(this);
+
+		if (isPlaying()) {
+			if (!this.ship.isDestroyed()) {
+				boolean moveRight = this.input.isKeyDown(KeyEvent.VK_RIGHT)
+						|| this.input.isKeyDown(KeyEvent.VK_D);
+				boolean moveLeft = this.input.isKeyDown(KeyEvent.VK_LEFT)
+						|| this.input.isKeyDown(KeyEvent.VK_A);
+
+				boolean isRightBorder = this.ship.getPositionX()
+						+ this.ship.getWidth() + this.ship.getSpeed() > (this.width / this.ratio) - 1;
+				boolean isLeftBorder = this.ship.getPositionX()
+						- this.ship.getSpeed() < 1;
+
+				if (moveRight && !isRightBorder) {
+					this.ship.moveRight();
+				}
+				if (moveLeft && !isLeftBorder) {
+					this.ship.moveLeft();
+				}
+				if (this.input.isKeyDown(KeyEvent.VK_SPACE))
+					if (this.ship.shoot(this.bullets,
+							this.powerUpEffects.isActive(PowerUp.RAPID_FIRE),
+							this.powerUpEffects.isActive(
+									PowerUp.SPREAD_SHOT))) {
+						this.bulletsShot++;
+						if (this.particles != null)
+							this.particles.burst(this.ship.getPositionX()
+									+ this.ship.getWidth() / 2,
+									this.ship.getPositionY(), FLASH_PARTICLES,
+									1, 6, Color.YELLOW);
+					}
+			}
+
+			if (this.enemyShipSpecial != null) {
+				if (!this.enemyShipSpecial.isDestroyed()) {
+					this.enemyShipSpecial.move(2, 0);
+
+					if(this.enemyShipSpecial.getPositionX() == position) {
+						bullets.add(enemyShipSpecial.getPositionX()+8,
+								+ enemyShipSpecial.getPositionY(), 0, 4, Color.RED, true);
+						this.bulletCode = 1;
+					}
+
+				}
+				else if (this.enemyShipSpecialExplosionCooldown.checkFinished())
+					this.enemyShipSpecial = null;
+			}
+
+			if (this.enemyShipSpecial == null
+					&& this.enemyShipSpecialCooldown.checkFinished()) {
+				this.specialShip.respawn();
+				this.enemyShipSpecial = this.specialShip;
+				this.enemyShipSpecialCooldown.reset();
+				// width == 448, 처음 위치 = -32
+				this.position = 20 + this.random.nextInt((this.width-50)/2)*2;
+				this.logger.info("A special ship appears");
+			}
+			if (this.enemyShipSpecial != null
+					&& this.enemyShipSpecial.getPositionX() > this.width) {
+				this.enemyShipSpecial = null;
+				this.logger.info("The special ship has escaped");
+			}
+
+			this.ship.update();
+			// Slowed down enemies only play every other frame.
+			this.enemiesSkipped = !this.enemiesSkipped
+					&& this.powerUpEffects.isActive(PowerUp.SLOW_MOTION);
+			if (!this.enemiesSkipped)
+				for (EnemyShipFormation formation
+						: this.enemyShipFormations) {
+					formation.update();
+					formation.shoot(this.bullets, this.ship.getPositionX()
+							+ this.ship.getWidth() / 2,
+							this.ship.getPositionY()
+							+ this.ship.getHeight() / 2);
+				}
+		}
+
+		manageCollisions();
+		cleanBullets();
+		if (this.particles != null)
+			this.particles.update();
+
+		if ((this.shipsLeft <= 0 || this.lives <= 0)
+				&& !this.levelFinished) {
+			this.levelFinished = true;
+			this.screenFinishedCooldown.reset();
+		}
+	}
+
+	/**
+	 * Checks if the level takes input, that is, it has started and hasn't
+	 * finished.
+	 *
+	 * @return True while the level is being played.
+	 */
+	public final boolean isPlaying() {
+		return this.inputDelay.checkFinished() && !this.levelFinished;
+	}
+
+	/**
+	 * Checks if the level has started, once the countdown is over.
+	 *
+	 * @return True if the level has started.
+	 */
+	public final boolean isStarted() {
+		return this.inputDelay.checkFinished();
+	}
+
+	/**
+	 * Checks if the level has been won or lost.
+	 *
+	 * @return True if the level is finished.
+	 */
+	public final boolean isLevelFinished() {
+		return this.levelFinished;
+	}
+
+	/**
+	 * Checks if the level is over and it's time to move on.
+	 *
+	 * @return True some time after the level finished.
+	 */
+	public final boolean isOver() {
+		return this.levelFinished
+				&& this.screenFinishedCooldown.checkFinished();
+	}
+
+	/**
+	 * Adds the bonus for the lives left to the score, once the level is
+	 * over.
+	 */
+	public final void addLifeBonus() {
+		this.score += LIFE_SCORE * (this.lives - 1);
+	}
+
+	/**
+	 * Moves the bullets and cleans the ones that go off screen. Package
+	 * visible for the benchmarks.
+	 */
+	final void cleanBullets() {
+		this.slowMotion = this.powerUpEffects.isActive(PowerUp.SLOW_MOTION);
+		if (this.parallelTick != null
+				&& this.parallelTick.isWorthSplitting(this.bullets.size()))
+			this.parallelTick.forEach(this.bullets.size(), this.bulletMover);
+		else if (this.slowMotion)
+			this.bullets.move(SLOW_MOTION_SPEED);
+		else
+			this.bullets.move();
+		int kept = 0;
+		this.drops = 0;
+		for (int i = 0; i < this.bullets.size(); i++) {
+			int positionX = this.bullets.getPositionX(i);
+			int positionY = this.bullets.getPositionY(i);
+			if (positionY < SEPARATION_LINE_HEIGHT
+					|| positionY > this.height
+					|| positionX + BulletStore.WIDTH < 0
+					|| positionX > this.width)
+				continue;
+			if (this.bullets.getPowerUp(i) != null)
+				this.drops++;
+			this.bullets.copy(i, kept++);
+		}
+		this.bullets.truncate(kept);
+	}
+
+	/**
+	 * Sorts the ships left of every formation by where they are, for the
+	 * bullets to be checked only against the ships near them.
+	 */
+	private void fillEnemyShipGrid() {
+		this.enemyShipGrid.clear();
+		for (int i = 0; i < this.enemyShipFormations.length; i++)
+			this.enemyShipFormations[i].addTo(this.enemyShipGrid, i);
+	}
+
+	/**
+	 * Manages collisions between bullets and ships. Package visible for the
+	 * benchmarks.
+	 */
+	final void manageCollisions() {
+		fillEnemyShipGrid();
+		// Bullets marked, the power-ups dropped while collisions are managed
+		// come after them and are always looked at.
+		int marked = 0;
+		if (this.parallelTick != null
+				&& this.parallelTick.isWorthSplitting(this.bullets.size())) {
+			marked = this.bullets.size();
+			if (this.candidates.length < marked)
+				this.candidates = Arrays.copyOf(this.candidates, marked * 2);
+			this.parallelTick.forEach(marked, this.candidateMarker);
+		}
+		int kept = 0;
+		for (int i = 0; i < this.bullets.size(); i++) {
+			// Bullets that can't hit anything are kept without a look, in
+			// the same order as when every bullet is looked at.
+			if (i < marked && !this.candidates[i]) {
+				this.bullets.copy(i, kept++);
+				continue;
+			}
+			// Power-ups fall through everything but the player's ship.
+			PowerUp powerUp = this.bullets.getPowerUp(i);
+			if (powerUp != null) {
+				if (!pickUp(i, powerUp))
+					this.bullets.copy(i, kept++);
+				continue;
+			}
+			// Bullets stopped by a shield hit nothing else. Most bullets
+			// aren't level with the shields, and aren't checked.
+			int positionY = this.bullets.getPositionY(i);
+			if (positionY + BulletStore.HEIGHT > this.shieldsTop
+					&& positionY < this.shieldsBottom && hitShield(i))
+				continue;
+			boolean recyclable = false;
+			if (this.bullets.isEnemy(i)) {
+				if (checkCollision(i, this.ship) && !this.levelFinished) {
+					recyclable = true;
+					if (this.powerUpEffects.isActive(PowerUp.SHIELD))
+						burst(this.ship, SPARK_PARTICLES, 2, 12,
+								PowerUp.SHIELD.getColor());
+					else if (!this.ship.isDestroyed()) {
+						this.ship.destroy();
+						burst(this.ship, EXPLOSION_PARTICLES * 2, 3, 45,
+								this.ship.getColor());
+						if (this.bulletCode == 1) {
+							this.lives -= 2;
+							this.bulletCode = 0;
+						} else {
+							this.lives--;
+						}
+						if (this.logger.isLoggable(Level.INFO))
+							this.logger.info("Hit on player ship, "
+									+ this.lives + " lives remaining.");
+					}
+				}
+			} else {
+				// Only ships in the cells of the bullet are checked.
+				int positionX = this.bullets.getPositionX(i);
+				int found = this.enemyShipGrid.find(positionX, positionY,
+						BulletStore.WIDTH, BulletStore.HEIGHT);
+				for (int j = 0; j < found; j++) {
+					EnemyShipFormation formation = this.enemyShipFormations[
+							this.enemyShipGrid.getFoundTag(j)];
+					int enemyShip = this.enemyShipGrid.getFound(j);
+					if (!formation.isDestroyed(enemyShip)
+							&& formation.overlaps(enemyShip, positionX,
+									positionY, BulletStore.WIDTH,
+									BulletStore.HEIGHT)) {
+						this.score += formation.getPointValue(enemyShip);
+						recyclable = true;
+						if (formation.hit(enemyShip)) {
+							this.shipsDestroyed++;
+							this.shipsLeft--;
+							burst(formation, enemyShip, EXPLOSION_PARTICLES,
+									2.5f, 30, Color.WHITE);
+							drop(formation, enemyShip);
+						} else {
+							burst(formation, enemyShip, SPARK_PARTICLES, 2,
+									12, Color.ORANGE);
+						}
+					}
+				}
+				if (this.enemyShipSpecial != null
+						&& !this.enemyShipSpecial.isDestroyed()
+						&& checkCollision(i, this.enemyShipSpecial)) {
+					this.score += this.enemyShipSpecial.getPointValue();
+					this.shipsDestroyed++;
+					this.enemyShipSpecial.destroy();
+					this.enemyShipSpecialExplosionCooldown.reset();
+					burst(this.enemyShipSpecial, EXPLOSION_PARTICLES, 3, 40,
+							this.enemyShipSpecial.getColor());
+					recyclable = true;
+				}
+			}
+			if (!recyclable)
+				this.bullets.copy(i, kept++);
+		}
+		this.bullets.truncate(kept);
+	}
+
+	/**
+	 * Moves a range of the bullets, slowed down if slow motion is on.
+	 *
+	 * @param from
+	 *            First bullet moved.
+	 * @param to
+	 *            Bullet after the last one moved.
+	 */
+	private void moveBullets(final int from, final int to) {
+		if (this.slowMotion)
+			this.bullets.move(from, to, SLOW_MOTION_SPEED);
+		else
+			this.bullets.move(from, to);
+	}
+
+	/**
+	 * Marks the bullets of a range that may hit something, only reading the
+	 * level, so ranges can be marked at the same time. Whatever happens
+	 * while collisions are managed only takes targets away, so a bullet
+	 * not marked is sure to hit nothing.
+	 *
+	 * @param from
+	 *            First bullet marked.
+	 * @param to
+	 *            Bullet after the last one marked.
+	 */
+	private void markCandidates(final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			int positionY = this.bullets.getPositionY(i);
+			boolean candidate;
+			if (positionY + BulletStore.HEIGHT > this.shieldsTop
+					&& positionY < this.shieldsBottom)
+				candidate = true;
+			else if (this.bullets.isEnemy(i)
+					|| this.bullets.getPowerUp(i) != null)
+				candidate = checkCollision(i, this.ship);
+			else
+				candidate = !this.enemyShipGrid.isEmpty(
+						this.bullets.getPositionX(i), positionY,
+						BulletStore.WIDTH, BulletStore.HEIGHT)
+						|| (this.enemyShipSpecial != null
+						&& checkCollision(i, this.enemyShipSpecial));
+			this.candidates[i] = candidate;
+		}
+	}
+
+	/**
+	 * Drops a power-up from a destroyed ship, now and then, unless too many
+	 * are already falling.
+	 *
+	 * @param formation
+	 *            Formation of the ship destroyed.
+	 * @param enemyShip
+	 *            Number of the ship destroyed in its formation.
+	 */
+	private void drop(final EnemyShipFormation formation,
+			final int enemyShip) {
+		if (this.drops >= MAX_DROPS
+				|| this.random.nextDouble() >= DROP_CHANCE)
+			return;
+		this.bullets.drop(formation.getPositionX(enemyShip)
+				+ formation.getWidth(enemyShip) / 2,
+				formation.getPositionY(enemyShip)
+				+ formation.getHeight(enemyShip), DROP_SPEED,
+				PowerUp.get(this.random.nextInt(PowerUp.count())));
+		this.drops++;
+	}
+
+	/**
+	 * Checks if the player's ship picks up a falling power-up, starting its
+	 * effect if it does.
+	 *
+	 * @param bullet
+	 *            Number in the store of the falling power-up.
+	 * @param powerUp
+	 *            Power-up falling.
+	 * @return True if the power-up was picked up.
+	 */
+	private boolean pickUp(final int bullet, final PowerUp powerUp) {
+		if (this.levelFinished || this.ship.isDestroyed()
+				|| !checkCollision(bullet, this.ship))
+			return false;
+		this.powerUpEffects.activate(powerUp);
+		this.drops--;
+		burst(this.ship, SPARK_PARTICLES, 2, 12, powerUp.getColor());
+		if (this.logger.isLoggable(Level.INFO))
+			this.logger.info("Picked up " + powerUp + ".");
+		return true;
+	}
+
+	/**
+	 * Checks if a bullet hits a shield, carving it if it does. The gaps
+	 * between shields are wider than a bullet, so the only shield it can hit
+	 * is found from its position.
+	 *
+	 * @param bullet
+	 *            Bullet number in the store.
+	 * @return True if the bullet was stopped by a shield.
+	 */
+	private boolean hitShield(final int bullet) {
+		int positionY = this.bullets.getPositionY(bullet);
+		int positionX = this.bullets.getPositionX(bullet);
+		int index = Math.floorDiv(positionX + BulletStore.WIDTH
+				- this.shieldsLeft, this.shieldSpacing);
+		if (index < 0 || index >= this.shields.length)
+			return false;
+		Shield shield = this.shields[index];
+		boolean downwards = this.bullets.getSpeedY(bullet) > 0;
+		if (!shield.hit(positionX, positionY, BulletStore.WIDTH,
+				BulletStore.HEIGHT, downwards))
+			return false;
+		if (this.particles != null)
+			this.particles.burst(positionX + BulletStore.WIDTH / 2,
+					downwards ? positionY + BulletStore.HEIGHT : positionY,
+					DEBRIS_PARTICLES, 1.5f, 15, shield.getColor());
+		return true;
+	}
+
+	/**
+	 * Shows particles flying out of the center of a ship, if particles are
+	 * shown.
+	 *
+	 * @param ship
+	 *            Ship the particles fly out of.
+	 * @param count
+	 *            Number of particles, fewer if many are already shown.
+	 * @param speed
+	 *            Fastest a particle flies out.
+	 * @param lifetime
+	 *            Frames the particles last.
+	 * @param color
+	 *            Color of the particles.
+	 */
+	private void burst(final Entity ship, final int count, final float speed,
+			final int lifetime, final Color color) {
+		if (this.particles != null)
+			this.particles.burst(ship.getPositionX() + ship.getWidth() / 2,
+					ship.getPositionY() + ship.getHeight() / 2, count, speed,
+					lifetime, color);
+	}
+
+	/**
+	 * Shows particles flying out of the center of a ship of a formation, if
+	 * particles are shown.
+	 *
+	 * @param formation
+	 *            Formation of the ship.
+	 * @param enemyShip
+	 *            Number of the ship in its formation.
+	 * @param count
+	 *            Number of particles, fewer if many are already shown.
+	 * @param speed
+	 *            Fastest a particle flies out.
+	 * @param lifetime
+	 *            Frames the particles last.
+	 * @param color
+	 *            Color of the particles.
+	 */
+	private void burst(final EnemyShipFormation formation,
+			final int enemyShip, final int count, final float speed,
+			final int lifetime, final Color color) {
+		if (this.particles != null)
+			this.particles.burst(formation.getPositionX(enemyShip)
+					+ formation.getWidth(enemyShip) / 2,
+					formation.getPositionY(enemyShip)
+					+ formation.getHeight(enemyShip) / 2, count, speed,
+					lifetime, color);
+	}
+
+	/**
+	 * Checks if a bullet and a ship are colliding.
+	 *
+	 * @param bullet
+	 *            Bullet number in the store.
+	 * @param b
+	 *            The ship.
+	 * @return Result of the collision test.
+	 */
+	private boolean checkCollision(final int bullet, final Entity b) {
+		// Calculate center point of the entities in both axis.
+		int centerAX = this.bullets.getPositionX(bullet) + BulletStore.WIDTH / 2;
+		int centerAY = this.bullets.getPositionY(bullet) + BulletStore.HEIGHT / 2;
+		int centerBX = b.getPositionX() + b.getWidth() / 2;
+		int centerBY = b.getPositionY() + b.getHeight() / 2;
+		// Calculate maximum distance without collision.
+		int maxDistanceX = BulletStore.WIDTH / 2 + b.getWidth() / 2;
+		int maxDistanceY = BulletStore.HEIGHT / 2 + b.getHeight() / 2;
+		// Calculates distance.
+		int distanceX = Math.abs(centerAX - centerBX);
+		int distanceY = Math.abs(centerAY - centerBY);
+
+		return distanceX < maxDistanceX && distanceY < maxDistanceY;
+	}
+
+	/**
+	 * Getter for the player's ship.
+	 *
+	 * @return Player's ship.
+	 */
+	public final Ship getShip() {
+		return this.ship;
+	}
+
+	/**
+	 * Getter for the bonus ship.
+	 *
+	 * @return Bonus ship, null if it isn't on screen.
+	 */
+	public final EnemyShip getEnemyShipSpecial() {
+		return this.enemyShipSpecial;
+	}
+
+	/**
+	 * Getter for the formations of enemy ships.
+	 *
+	 * @return Formations of enemy ships, from left to right.
+	 */
+	public final EnemyShipFormation[] getEnemyShipFormations() {
+		return this.enemyShipFormations;
+	}
+
+	/**
+	 * Getter for the ships left between all the formations.
+	 *
+	 * @return Enemy ships not destroyed.
+	 */
+	public final int getShipsLeft() {
+		return this.shipsLeft;
+	}
+
+	/**
+	 * Splits the work on the bullets and the ships across threads from now
+	 * on, once there are enough of them. The level plays the same either
+	 * way.
+	 *
+	 * @param parallelTick
+	 *            Splits the work across threads, null to use one.
+	 */
+	public final void setParallelTick(final ParallelTick parallelTick) {
+		this.parallelTick = parallelTick;
+		for (EnemyShipFormation formation : this.enemyShipFormations)
+			formation.setParallelTick(parallelTick);
+		if (parallelTick != null && this.bulletMover == null) {
+			this.bulletMover = this::moveBullets;
+			this.candidateMarker = this::markCandidates;
+			this.candidates = new boolean[BULLET_RESERVE];
+		}
+	}
+
+	/**
+	 * Getter for the power-ups picked up.
+	 *
+	 * @return Time left of the power-ups.
+	 */
+	public final PowerUpEffects getPowerUpEffects() {
+		return this.powerUpEffects;
+	}
+
+	/**
+	 * Getter for the bullets on screen.
+	 *
+	 * @return All bullets fired by on screen ships.
+	 */
+	public final BulletStore getBullets() {
+		return this.bullets;
+	}
+
+	/**
+	 * Getter for the shields over the player.
+	 *
+	 * @return Shields, side by side.
+	 */
+	public final Shield[] getShields() {
+		return this.shields;
+	}
+
+	/**
+	 * Getter for the particles on screen.
+	 *
+	 * @return Particles of explosions and shots, null if none are shown.
+	 */
+	public final ParticleStore getParticles() {
+		return this.particles;
+	}
+
+	/**
+	 * Shows particles for the explosions and shots from now on.
+	 *
+	 * @param particles
+	 *            Store the particles are kept in, null to show none.
+	 */
+	public final void setParticles(final ParticleStore particles) {
+		this.particles = particles;
+	}
+
+	/**
+	 * @return the level
+	 */
+	public final int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * @return the score
+	 */
+	public final int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * @return the lives left
+	 */
+	public final int getLives() {
+		return this.lives;
+	}
+
+	/**
+	 * Sets the lives left, used to give up the game.
+	 *
+	 * @param lives
+	 *            Lives left.
+	 */
+	public final void setLives(final int lives) {
+		this.lives = lives;
+	}
+
+	/**
+	 * @return the bullets shot
+	 */
+	public final int getBulletsShot() {
+		return this.bulletsShot;
+	}
+
+	/**
+	 * @return the ships destroyed
+	 */
+	public final int getShipsDestroyed() {
+		return this.shipsDestroyed;
+	}
+
+	@Override
+	public final int getPlayAreaWidth() {
+		return (int) (this.width / this.ratio);
+	}
+
+	@Override
+	public final int getShipPositionX() {
+		return this.ship.getPositionX();
+	}
+
+	@Override
+	public final int getShipPositionY() {
+		return this.ship.getPositionY();
+	}
+
+	@Override
+	public final int getShipWidth() {
+		return this.ship.getWidth();
+	}
+
+	@Override
+	public final int getShipSpeed() {
+		return this.ship.getSpeed();
+	}
+
+	@Override
+	public final boolean isShipDestroyed() {
+		return this.ship.isDestroyed();
+	}
+
+	@Override
+	public final int getBulletCount() {
+		return this.bullets.size();
+	}
+
+	@Override
+	public final int getBulletPositionX(final int index) {
+		return this.bullets.getPositionX(index);
+	}
+
+	@Override
+	public final int getBulletPositionY(final int index) {
+		return this.bullets.getPositionY(index);
+	}
+
+	@Override
+	public final float getBulletSpeedX(final int index) {
+		return this.bullets.getSpeedX(index);
+	}
+
+	@Override
+	public final int getBulletWidth(final int index) {
+		return BulletStore.WIDTH;
+	}
+
+	@Override
+	public final float getBulletSpeed(final int index) {
+		return this.bullets.getSpeedY(index);
+	}
+
+	@Override
+	public final boolean isEnemyBullet(final int index) {
+		return this.bullets.isEnemy(index);
+	}
+
+	@Override
+	public final int getShooterCount() {
+		int count = 0;
+		for (EnemyShipFormation formation : this.enemyShipFormations)
+			count += formation.getShooterCount();
+		return count;
+	}
+
+	@Override
+	public final int getShooterPositionX(final int index) {
+		int shooter = getShooter(index);
+		return this.shooterFormation.getPositionX(shooter);
+	}
+
+	@Override
+	public final int getShooterPositionY(final int index) {
+		int shooter = getShooter(index);
+		return this.shooterFormation.getPositionY(shooter);
+	}
+
+	@Override
+	public final int getShooterWidth(final int index) {
+		int shooter = getShooter(index);
+		return this.shooterFormation.getWidth(shooter);
+	}
+
+	/**
+	 * Finds a ship that can shoot, counting the shooters of every formation
+	 * one after another, and keeps its formation.
+	 *
+	 * @param index
+	 *            Shooter number, below the shooter count.
+	 * @return Number of the ship that can shoot in its formation.
+	 */
+	private int getShooter(final int index) {
+		int remaining = index;
+		for (EnemyShipFormation formation : this.enemyShipFormations) {
+			if (remaining < formation.getShooterCount()) {
+				this.shooterFormation = formation;
+				return formation.getShooter(remaining);
+			}
+			remaining -= formation.getShooterCount();
+		}
+		throw new IndexOutOfBoundsException("Shooter " + index);
+	}
+
+	/**
+	 * Returns a GameState object representing the status of the game.
+	 *
+	 * @return Current game state.
+	 */
+	public final GameState getGameState() {
+		return new GameState(this.level, this.score, this.lives,
+				this.bulletsShot, this.shipsDestroyed);
+	}
+}
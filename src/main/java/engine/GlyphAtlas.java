@@ -0,0 +1,295 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the printable characters of a font rasterized in a single image, so
+ * text is drawn by copying glyphs instead of going through the text
+ * pipeline.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class GlyphAtlas {
+
+	/** First character kept in the atlas. */
+	private static final char FIRST_CHAR = ' ';
+	/** Last character kept in the atlas. */
+	private static final char LAST_CHAR = '~';
+	/** Extra room around each glyph, for glyphs that overhang. */
+	private static final int PADDING = 2;
+
+	/** Font the atlas was built from. */
+	private final Font font;
+	/** Metrics of the font. */
+	private final FontMetrics metrics;
+	/** Horizontal advance of each character in the atlas. */
+	private final int[] advances;
+	/** Width of a glyph cell. */
+	private final int cellWidth;
+	/** Height of a glyph cell. */
+	private final int cellHeight;
+	/** Distance from the top of a cell to the baseline. */
+	private final int baseline;
+	/** White glyphs, copied and tinted for each color used. */
+	private final BufferedImage mask;
+	/** Glyph images by color. */
+	private final Map<Color, BufferedImage> tintedImages;
+	/** Widths of the strings drawn so far. */
+	private final Map<String, Integer> stringWidths;
+
+	/**
+	 * Constructor, rasterizes the font.
+	 *
+	 * @param font
+	 *            Font to build the atlas from.
+	 */
+	public GlyphAtlas(final Font font) {
+		this.font = font;
+		this.tintedImages = new HashMap<Color, BufferedImage>();
+		this.stringWidths = new HashMap<String, Integer>();
+
+		BufferedImage scratch = new BufferedImage(1, 1,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics scratchGraphics = scratch.getGraphics();
+		this.metrics = scratchGraphics.getFontMetrics(font);
+		scratchGraphics.dispose();
+
+		this.advances = new int[LAST_CHAR + 1];
+		int widest = 0;
+		for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+			this.advances[c] = this.metrics.charWidth(c);
+			widest = Math.max(widest, this.advances[c]);
+		}
+		this.cellWidth = widest + PADDING * 2;
+		this.cellHeight = this.metrics.getHeight() + PADDING * 2;
+		this.baseline = this.metrics.getAscent() + PADDING;
+
+		this.mask = new BufferedImage(
+				this.cellWidth * (LAST_CHAR - FIRST_CHAR + 1),
+				this.cellHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = this.mask.createGraphics();
+		graphics.setFont(font);
+		graphics.setColor(Color.WHITE);
+		char[] glyph = new char[1];
+		for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+			glyph[0] = c;
+			graphics.drawChars(glyph, 0, 1, (c - FIRST_CHAR) * this.cellWidth
+					+ PADDING, this.baseline);
+		}
+		graphics.dispose();
+	}
+
+	/**
+	 * Getter for the font the atlas was built from.
+	 *
+	 * @return Font of the atlas.
+	 */
+	public Font getFont() {
+		return this.font;
+	}
+
+	/**
+	 * Getter for the metrics of the font.
+	 *
+	 * @return Metrics of the font of the atlas.
+	 */
+	public FontMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Width of a single character.
+	 *
+	 * @param c
+	 *            Character to measure.
+	 * @return Horizontal advance of the character.
+	 */
+	public int charWidth(final char c) {
+		if (c >= FIRST_CHAR && c <= LAST_CHAR)
+			return this.advances[c];
+		return this.metrics.charWidth(c);
+	}
+
+	/**
+	 * Width of a string, remembered after the first time it's measured.
+	 *
+	 * @param string
+	 *            String to measure.
+	 * @return Horizontal advance of the whole string.
+	 */
+	public int stringWidth(final String string) {
+		Integer width = this.stringWidths.get(string);
+		if (width == null) {
+			int total = 0;
+			for (int i = 0; i < string.length(); i++)
+				total += charWidth(string.charAt(i));
+			width = total;
+			this.stringWidths.put(string, width);
+		}
+		return width;
+	}
+
+	/**
+	 * Width of a number printed with at least the given number of digits.
+	 *
+	 * @param value
+	 *            Non negative number to measure.
+	 * @param digits
+	 *            Minimum number of digits, padded with zeros.
+	 * @return Horizontal advance of the number.
+	 */
+	public int numberWidth(final int value, final int digits) {
+		int width = 0;
+		int rest = Math.max(0, value);
+		for (long divisor = powerOfTen(rest, digits); divisor > 0;
+				divisor /= 10)
+			width += this.advances['0' + (int) (rest / divisor % 10)];
+		return width;
+	}
+
+	/**
+	 * Draws a string in the current color of the graphics context.
+	 *
+	 * @param graphics
+	 *            Graphics context to draw on.
+	 * @param string
+	 *            String to draw.
+	 * @param positionX
+	 *            Left side of the string.
+	 * @param positionY
+	 *            Baseline of the string.
+	 */
+	public void drawString(final Graphics graphics, final String string,
+			final int positionX, final int positionY) {
+		BufferedImage image = getImage(graphics.getColor());
+		int x = positionX;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			drawGlyph(graphics, image, c, x, positionY);
+			x += charWidth(c);
+		}
+	}
+
+	/**
+	 * Draws a single character in the current color of the graphics context.
+	 *
+	 * @param graphics
+	 *            Graphics context to draw on.
+	 * @param c
+	 *            Character to draw.
+	 * @param positionX
+	 *            Left side of the character.
+	 * @param positionY
+	 *            Baseline of the character.
+	 */
+	public void drawChar(final Graphics graphics, final char c,
+			final int positionX, final int positionY) {
+		drawGlyph(graphics, getImage(graphics.getColor()), c, positionX,
+				positionY);
+	}
+
+	/**
+	 * Draws a number digit by digit in the current color of the graphics
+	 * context, without creating a string.
+	 *
+	 * @param graphics
+	 *            Graphics context to draw on.
+	 * @param value
+	 *            Non negative number to draw.
+	 * @param digits
+	 *            Minimum number of digits, padded with zeros.
+	 * @param positionX
+	 *            Left side of the number.
+	 * @param positionY
+	 *            Baseline of the number.
+	 */
+	public void drawNumber(final Graphics graphics, final int value,
+			final int digits, final int positionX, final int positionY) {
+		BufferedImage image = getImage(graphics.getColor());
+		int rest = Math.max(0, value);
+		int x = positionX;
+		for (long divisor = powerOfTen(rest, digits); divisor > 0;
+				divisor /= 10) {
+			char digit = (char) ('0' + (int) (rest / divisor % 10));
+			drawGlyph(graphics, image, digit, x, positionY);
+			x += this.advances[digit];
+		}
+	}
+
+	/**
+	 * Place value of the leading digit of a number.
+	 *
+	 * @param value
+	 *            Non negative number.
+	 * @param digits
+	 *            Minimum number of digits, padded with zeros.
+	 * @return Power of ten of the leftmost digit to print.
+	 */
+	private static long powerOfTen(final int value, final int digits) {
+		long divisor = 1;
+		int count = 1;
+		while (divisor * 10 <= value || count < digits) {
+			divisor *= 10;
+			count++;
+		}
+		return divisor;
+	}
+
+	/**
+	 * Copies one glyph from the atlas.
+	 *
+	 * @param graphics
+	 *            Graphics context to draw on.
+	 * @param image
+	 *            Glyph image in the color to draw.
+	 * @param c
+	 *            Character to draw.
+	 * @param positionX
+	 *            Left side of the character.
+	 * @param positionY
+	 *            Baseline of the character.
+	 */
+	private void drawGlyph(final Graphics graphics, final BufferedImage image,
+			final char c, final int positionX, final int positionY) {
+		if (c <= FIRST_CHAR || c > LAST_CHAR)
+			return;
+		int sourceX = (c - FIRST_CHAR) * this.cellWidth;
+		int destinationX = positionX - PADDING;
+		int destinationY = positionY - this.baseline;
+		graphics.drawImage(image, destinationX, destinationY,
+				destinationX + this.cellWidth, destinationY + this.cellHeight,
+				sourceX, 0, sourceX + this.cellWidth, this.cellHeight, null);
+	}
+
+	/**
+	 * Returns the glyphs in a given color, tinting them the first time the
+	 * color is used.
+	 *
+	 * @param color
+	 *            Color of the glyphs.
+	 * @return Image with every glyph in that color.
+	 */
+	private BufferedImage getImage(final Color color) {
+		BufferedImage image = this.tintedImages.get(color);
+		if (image == null) {
+			image = new BufferedImage(this.mask.getWidth(),
+					this.mask.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			int rgb = color.getRGB() & 0xFFFFFF;
+			for (int y = 0; y < this.mask.getHeight(); y++)
+				for (int x = 0; x < this.mask.getWidth(); x++) {
+					int alpha = this.mask.getRGB(x, y) & 0xFF000000;
+					image.setRGB(x, y, alpha | rgb);
+				}
+			this.tintedImages.put(color, image);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,47 @@
+package engine;
+
+/**
+ * Bot that goes after the nearest column of the formation and shoots it
+ * until it's cleared, stepping aside from enemy bullets on the way.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class GreedyBot extends DodgerBot {
+
+	/**
+	 * Decides what to press this frame.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 * @return Combination of the LEFT, RIGHT and SHOOT flags.
+	 */
+	@Override
+	public final int decide(final TickView view) {
+		if (view.isShipDestroyed())
+			return 0;
+		if (view.getShooterCount() == 0)
+			return super.decide(view);
+
+		int shipCenter = view.getShipPositionX() + view.getShipWidth() / 2;
+		int target = 0;
+		int targetWidth = 0;
+		int targetDistance = Integer.MAX_VALUE;
+		for (int i = 0; i < view.getShooterCount(); i++) {
+			int center = view.getShooterPositionX(i)
+					+ view.getShooterWidth(i) / 2;
+			if (Math.abs(center - shipCenter) < targetDistance) {
+				target = center;
+				targetWidth = view.getShooterWidth(i);
+				targetDistance = Math.abs(center - shipCenter);
+			}
+		}
+
+		int preferred = targetDistance < view.getShipSpeed() ? 0
+				: Integer.signum(target - shipCenter);
+		int decision = move(view, preferred);
+		if (targetDistance <= targetWidth / 2)
+			decision |= SHOOT;
+		return decision;
+	}
+}
@@ -0,0 +1,104 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Records durations in fixed width buckets, without allocating on record.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class Histogram {
+
+	/** Width of each bucket, in microseconds. */
+	private final int bucketWidth;
+	/** Sample count of each bucket, the last one holds the overflow. */
+	private final long[] buckets;
+	/** Number of recorded samples. */
+	private long count;
+	/** Sum of all recorded samples, in microseconds. */
+	private long total;
+	/** Largest recorded sample, in microseconds. */
+	private long max;
+
+	/**
+	 * Constructor, establishes the range of the histogram.
+	 *
+	 * @param bucketWidth
+	 *            Width of each bucket, in microseconds.
+	 * @param bucketCount
+	 *            Number of buckets, samples past the last one are clamped.
+	 */
+	public Histogram(final int bucketWidth, final int bucketCount) {
+		this.bucketWidth = bucketWidth;
+		this.buckets = new long[bucketCount + 1];
+	}
+
+	/**
+	 * Records a sample.
+	 *
+	 * @param micros
+	 *            Duration to record, in microseconds.
+	 */
+	public final void record(final long micros) {
+		long value = Math.max(0, micros);
+		int index = (int) Math.min(value / this.bucketWidth,
+				this.buckets.length - 1);
+		this.buckets[index]++;
+		this.count++;
+		this.total += value;
+		this.max = Math.max(this.max, value);
+	}
+
+	/**
+	 * Returns the value below which the given fraction of samples fall.
+	 *
+	 * @param fraction
+	 *            Fraction of the samples, between 0 and 1.
+	 * @return Upper bound of the bucket holding that percentile, in
+	 *         microseconds.
+	 */
+	public final long getPercentile(final double fraction) {
+		if (this.count == 0)
+			return 0;
+		long target = (long) Math.ceil(this.count * fraction);
+		long seen = 0;
+		for (int i = 0; i < this.buckets.length; i++) {
+			seen += this.buckets[i];
+			if (seen >= target)
+				return Math.min((long) (i + 1) * this.bucketWidth, this.max);
+		}
+		return this.max;
+	}
+
+	/**
+	 * @return the number of recorded samples
+	 */
+	public final long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @return the mean of the recorded samples, in microseconds
+	 */
+	public final long getMean() {
+		return this.count == 0 ? 0 : this.total / this.count;
+	}
+
+	/**
+	 * @return the largest recorded sample, in microseconds
+	 */
+	public final long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Discards every recorded sample.
+	 */
+	public final void reset() {
+		Arrays.fill(this.buckets, 0);
+		this.count = 0;
+		this.total = 0;
+		this.max = 0;
+	}
+}
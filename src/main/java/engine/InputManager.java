@@ -2,6 +2,7 @@ package engine;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages keyboard input for the provided screen.
@@ -9,7 +10,7 @@ import java.awt.event.KeyListener;
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
  */
-public final class InputManager implements KeyListener {
+public final class InputManager implements KeyListener, InputSource {
 
 	/** Number of recognised keys. */
 	private static final int NUM_KEYS = 256;
@@ -17,12 +18,15 @@ public final class InputManager implements KeyListener {
 	private static boolean[] keys;
 	/** Singleton instance of the class. */
 	private static InputManager instance;
+	/** Timestamp of the oldest key event not yet consumed, 0 if none. */
+	private static AtomicLong oldestEventTime;
 
 	/**
 	 * Private constructor.
 	 */
 	private InputManager() {
 		keys = new boolean[NUM_KEYS];
+		oldestEventTime = new AtomicLong();
 	}
 
 	/**
@@ -43,10 +47,34 @@ public final class InputManager implements KeyListener {
 	 *            Key number to check.
 	 * @return Key state.
 	 */
+	@Override
 	public boolean isKeyDown(final int keyCode) {
 		return keys[keyCode];
 	}
 
+	/**
+	 * Returns true if any key is currently pressed.
+	 * 
+	 * @return True if at least one key is pressed.
+	 */
+	public boolean isAnyKeyDown() {
+		for (int i = 0; i < NUM_KEYS; i++)
+			if (keys[i])
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the timestamp of the oldest key event received since the last
+	 * call, and marks it as consumed.
+	 * 
+	 * @return Timestamp of the event, as given by the event, or 0 if there
+	 *         was none.
+	 */
+	public long consumeOldestEventTime() {
+		return oldestEventTime.getAndSet(0);
+	}
+
 	/**
 	 * Changes the state of the key to pressed.
 	 * 
@@ -55,8 +83,12 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyPressed(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS) {
+			// Auto repeated presses don't change anything.
+			if (!keys[key.getKeyCode()])
+				oldestEventTime.compareAndSet(0, key.getWhen());
 			keys[key.getKeyCode()] = true;
+		}
 	}
 
 	/**
@@ -67,8 +99,10 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyReleased(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS) {
+			oldestEventTime.compareAndSet(0, key.getWhen());
 			keys[key.getKeyCode()] = false;
+		}
 	}
 
 	/**
@@ -0,0 +1,30 @@
+package engine;
+
+/**
+ * Source of the keys a game is played with, the keyboard or a program
+ * playing on its own.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public interface InputSource {
+
+	/**
+	 * Returns true if the provided key is currently pressed.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	boolean isKeyDown(int keyCode);
+
+	/**
+	 * Called at the start of every frame of the game, before any key is
+	 * checked. Sources fed by key events don't need it.
+	 *
+	 * @param view
+	 *            Level at the current frame.
+	 */
+	default void nextFrame(final TickView view) {
+	}
+}
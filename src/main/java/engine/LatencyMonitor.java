@@ -0,0 +1,198 @@
+package engine;
+
+import java.util.logging.Logger;
+
+/**
+ * Measures the time from a key event to the frame that shows its effect.
+ * Each frame is tagged with the oldest key event it consumed, and the delay
+ * is split into queue (event to frame start), simulation (frame start to
+ * drawing) and render (drawing to the image reaching the frame) segments.
+ * Frames drawn on a render thread carry their key event in their snapshot,
+ * and are recorded from there.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class LatencyMonitor {
+
+	/** Width of the histogram buckets, in microseconds. */
+	private static final int BUCKET_WIDTH = 250;
+	/** Number of histogram buckets, covering half a second. */
+	private static final int BUCKET_COUNT = 2000;
+
+	/** Singleton instance of the class. */
+	private static LatencyMonitor instance;
+	/** Application logger. */
+	private static Logger logger;
+
+	/** Time spent between the key event and the start of the frame. */
+	private Histogram queue;
+	/** Time spent updating the screen before drawing started. */
+	private Histogram simulation;
+	/** Time spent drawing and showing the frame. */
+	private Histogram render;
+	/** Time from the key event until the frame was shown. */
+	private Histogram total;
+
+	/** Timestamp of the key event consumed by this frame, 0 if none. */
+	private long eventTime;
+	/** Wall clock time the current frame started at. */
+	private long frameStartMillis;
+	/** Monotonic time the current frame started at. */
+	private long frameStartNanos;
+	/** Monotonic time drawing started at, 0 if not yet started. */
+	private long renderStartNanos;
+
+	/**
+	 * Private constructor.
+	 */
+	private LatencyMonitor() {
+		logger = Core.getLogger();
+		this.queue = new Histogram(BUCKET_WIDTH, BUCKET_COUNT);
+		this.simulation = new Histogram(BUCKET_WIDTH, BUCKET_COUNT);
+		this.render = new Histogram(BUCKET_WIDTH, BUCKET_COUNT);
+		this.total = new Histogram(BUCKET_WIDTH, BUCKET_COUNT);
+	}
+
+	/**
+	 * Returns shared instance of LatencyMonitor.
+	 *
+	 * @return Shared instance of LatencyMonitor.
+	 */
+	protected static LatencyMonitor getInstance() {
+		if (instance == null)
+			instance = new LatencyMonitor();
+		return instance;
+	}
+
+	/**
+	 * Marks the start of a frame.
+	 *
+	 * @param eventTime
+	 *            Timestamp of the oldest key event consumed by the frame, as
+	 *            given by the event, or 0 if there was none.
+	 */
+	public void beginFrame(final long eventTime) {
+		this.eventTime = eventTime;
+		this.frameStartMillis = System.currentTimeMillis();
+		this.frameStartNanos = System.nanoTime();
+		this.renderStartNanos = 0;
+	}
+
+	/**
+	 * Marks the start of the drawing of the current frame.
+	 */
+	public void beginRender() {
+		if (this.renderStartNanos == 0)
+			this.renderStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Marks the frame as shown, recording its latency if it consumed a key
+	 * event. Only the first image shown in a frame is recorded.
+	 */
+	public void endFrame() {
+		if (this.eventTime == 0 || this.renderStartNanos == 0)
+			return;
+		record(this.eventTime, this.frameStartMillis, this.frameStartNanos,
+				this.renderStartNanos);
+		this.eventTime = 0;
+	}
+
+	/**
+	 * Tags a snapshot of the current frame with its key event and start, for
+	 * its latency to be recorded once it's shown, maybe on another thread.
+	 * Only the first snapshot of a frame gets its key event.
+	 *
+	 * @param frame
+	 *            Snapshot of the current frame.
+	 */
+	public void stamp(final FrameSnapshot frame) {
+		frame.eventTime = this.eventTime;
+		frame.frameStartMillis = this.frameStartMillis;
+		frame.frameStartNanos = this.frameStartNanos;
+		this.eventTime = 0;
+	}
+
+	/**
+	 * Marks a snapshot as shown, recording its latency if it consumed a key
+	 * event.
+	 *
+	 * @param frame
+	 *            Snapshot shown.
+	 * @param renderStartNanos
+	 *            Monotonic time drawing it started at.
+	 */
+	public void endFrame(final FrameSnapshot frame,
+			final long renderStartNanos) {
+		if (frame.eventTime != 0)
+			record(frame.eventTime, frame.frameStartMillis,
+					frame.frameStartNanos, renderStartNanos);
+	}
+
+	/**
+	 * Records the latency of a frame shown now.
+	 *
+	 * @param eventTime
+	 *            Timestamp of the key event consumed by the frame.
+	 * @param frameStartMillis
+	 *            Wall clock time the frame started at.
+	 * @param frameStartNanos
+	 *            Monotonic time the frame started at.
+	 * @param renderStartNanos
+	 *            Monotonic time drawing started at.
+	 */
+	private synchronized void record(final long eventTime,
+			final long frameStartMillis, final long frameStartNanos,
+			final long renderStartNanos) {
+		long now = System.nanoTime();
+		long queueMicros = Math.max(0, (frameStartMillis - eventTime) * 1000);
+		long simulationMicros = (renderStartNanos - frameStartNanos) / 1000;
+		long renderMicros = (now - renderStartNanos) / 1000;
+
+		this.queue.record(queueMicros);
+		this.simulation.record(simulationMicros);
+		this.render.record(renderMicros);
+		this.total.record(queueMicros + simulationMicros + renderMicros);
+	}
+
+	/**
+	 * Logs the recorded latencies and starts over.
+	 *
+	 * @param screenName
+	 *            Name of the screen the samples were taken on.
+	 * @param width
+	 *            Width of the screen.
+	 * @param height
+	 *            Height of the screen.
+	 */
+	public synchronized void report(final String screenName, final int width,
+			final int height) {
+		if (this.total.getCount() > 0)
+			logger.info("Input latency on " + screenName + " at " + width
+					+ "x" + height + " over " + this.total.getCount()
+					+ " frames: total " + describe(this.total)
+					+ ", queue " + describe(this.queue)
+					+ ", simulation " + describe(this.simulation)
+					+ ", render " + describe(this.render) + ".");
+		this.queue.reset();
+		this.simulation.reset();
+		this.render.reset();
+		this.total.reset();
+	}
+
+	/**
+	 * Summarizes a histogram in milliseconds.
+	 *
+	 * @param histogram
+	 *            Histogram to summarize.
+	 * @return Mean, median, 99th percentile and maximum.
+	 */
+	private static String describe(final Histogram histogram) {
+		return String.format("mean %.2f p50 %.2f p99 %.2f max %.2f ms",
+				histogram.getMean() / 1000f,
+				histogram.getPercentile(0.5) / 1000f,
+				histogram.getPercentile(0.99) / 1000f,
+				histogram.getMax() / 1000f);
+	}
+}
@@ -0,0 +1,346 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Keeps the settings of every level of every difficulty, read from the
+ * levels file. A copy of the file next to the game's jar overrides the one
+ * bundled with it, and can be watched so its edits are used from the next
+ * level on.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class LevelCache {
+
+	/** Name of the levels file, bundled and next to the jar. */
+	public static final String FILE_NAME = "levels";
+	/** Section of each difficulty in the file, in order. */
+	private static final String[] DIFFICULTIES =
+			{ "normal", "hard", "expert" };
+
+	/** Levels file overriding the bundled one, null if there is none. */
+	private final Path userFile;
+	/** Application logger. */
+	private Logger logger;
+	/** Settings of each difficulty's levels, replaced on reload. */
+	private volatile List<List<GameSettings>> tables;
+	/** Watches the user file for edits, null if not watching. */
+	private WatchService watchService;
+
+	/**
+	 * Constructor, loads the levels.
+	 *
+	 * @param userFile
+	 *            Levels file overriding the bundled one, null if there is
+	 *            none.
+	 * @throws IOException
+	 *             In case the bundled levels can't be read.
+	 */
+	public LevelCache(final Path userFile) throws IOException {
+		this.userFile = userFile;
+		this.logger = Core.getLogger();
+		if (!reload())
+			this.tables = loadBundled();
+	}
+
+	/**
+	 * Returns the settings of every level of a difficulty.
+	 *
+	 * @param difficulty
+	 *            Difficulty, 1 for normal, 2 for hard and 3 for expert.
+	 * @return Settings of each level, in order.
+	 */
+	public List<GameSettings> get(final int difficulty) {
+		List<List<GameSettings>> current = this.tables;
+		if (difficulty < 1 || difficulty > current.size())
+			return current.get(0);
+		return current.get(difficulty - 1);
+	}
+
+	/**
+	 * Reads the user levels file again. The levels in use are kept if it's
+	 * missing or wrong.
+	 *
+	 * @return True if the user levels were loaded.
+	 */
+	public boolean reload() {
+		if (this.userFile == null || !Files.isRegularFile(this.userFile))
+			return false;
+		try (BufferedReader reader = Files.newBufferedReader(this.userFile,
+				StandardCharsets.UTF_8)) {
+			this.tables = parse(reader);
+			this.logger.info("Loaded levels from " + this.userFile + ".");
+			return true;
+		} catch (IOException e) {
+			this.logger.warning("Keeping the current levels, "
+					+ this.userFile + " can't be used: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Starts reloading the user levels file whenever it changes, on a
+	 * background thread.
+	 */
+	public synchronized void watch() {
+		if (this.userFile == null || this.watchService != null)
+			return;
+		Path directory = this.userFile.toAbsolutePath().getParent();
+		try {
+			this.watchService = directory.getFileSystem().newWatchService();
+			directory.register(this.watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			this.logger.warning("Can't watch " + directory
+					+ " for level edits: " + e.getMessage());
+			return;
+		}
+
+		Thread watcher = new Thread(() -> {
+			try {
+				while (true) {
+					WatchKey key = this.watchService.take();
+					boolean changed = false;
+					for (WatchEvent<?> event : key.pollEvents())
+						changed |= this.userFile.getFileName()
+								.equals(event.context());
+					if (changed)
+						reload();
+					if (!key.reset())
+						return;
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+		}, "level-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		this.logger.info("Watching " + this.userFile + " for level edits.");
+	}
+
+	/**
+	 * Reads the levels file bundled with the game.
+	 *
+	 * @return Settings of each difficulty's levels.
+	 * @throws IOException
+	 *             In case the file can't be read.
+	 */
+	private static List<List<GameSettings>> loadBundled() throws IOException {
+		InputStream inputStream = LevelCache.class.getClassLoader()
+				.getResourceAsStream(FILE_NAME);
+		if (inputStream == null)
+			throw new IOException("Missing bundled " + FILE_NAME + " file.");
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				inputStream, StandardCharsets.UTF_8))) {
+			return parse(reader);
+		}
+	}
+
+	/**
+	 * Reads a levels file. Lines starting with # are comments, a [name] line
+	 * starts a difficulty and every other line is a level of it.
+	 *
+	 * @param reader
+	 *            Contents of the file.
+	 * @return Settings of each difficulty's levels.
+	 * @throws IOException
+	 *             In case the file can't be read or is wrong.
+	 */
+	static List<List<GameSettings>> parse(final BufferedReader reader)
+			throws IOException {
+		List<List<GameSettings>> tables = new ArrayList<List<GameSettings>>();
+		for (int i = 0; i < DIFFICULTIES.length; i++)
+			tables.add(new ArrayList<GameSettings>());
+
+		List<GameSettings> levels = null;
+		String line;
+		int lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+
+			if (line.startsWith("[") && line.endsWith("]")) {
+				String name = line.substring(1, line.length() - 1).trim();
+				levels = null;
+				for (int i = 0; i < DIFFICULTIES.length; i++)
+					if (DIFFICULTIES[i].equals(name))
+						levels = tables.get(i);
+				if (levels == null)
+					throw new IOException("Line " + lineNumber
+							+ ": unknown difficulty " + name + ".");
+			} else if (levels == null) {
+				throw new IOException("Line " + lineNumber
+						+ ": level outside a difficulty.");
+			} else {
+				try {
+					levels.add(parseLevel(line.split("\\s+")));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Line " + lineNumber + ": "
+							+ e.getMessage(), e);
+				}
+			}
+		}
+
+		for (int i = 0; i < DIFFICULTIES.length; i++) {
+			if (tables.get(i).isEmpty())
+				throw new IOException("No levels for " + DIFFICULTIES[i]
+						+ ".");
+			tables.set(i, Collections.unmodifiableList(tables.get(i)));
+		}
+		return Collections.unmodifiableList(tables);
+	}
+
+	/**
+	 * Reads a level line.
+	 *
+	 * @param fields
+	 *            Width, height, speed, shooting frequency, then boss, the
+	 *            number of formations and rows if present.
+	 * @return Settings of the level.
+	 */
+	private static GameSettings parseLevel(final String[] fields) {
+		if (fields.length < 4)
+			throw new IllegalArgumentException(
+					"expected width, height, speed and shooting.");
+		int width = parsePositive(fields[0], "width");
+		int height = parsePositive(fields[1], "height");
+		int speed = parsePositive(fields[2], "speed");
+		int shooting = parsePositive(fields[3], "shooting");
+
+		boolean isBoss = false;
+		SpriteType[] rowTypes = null;
+		int[] rowHitPoints = null;
+		int formationCount = 1;
+		for (int i = 4; i < fields.length; i++) {
+			if (fields[i].equals("boss")) {
+				isBoss = true;
+				continue;
+			}
+			if (fields[i].startsWith("x")) {
+				formationCount = parsePositive(fields[i].substring(1),
+						"formations");
+				continue;
+			}
+			String[] rows = fields[i].split(",");
+			if (rows.length != height)
+				throw new IllegalArgumentException("expected " + height
+						+ " rows, found " + rows.length + ".");
+			rowTypes = new SpriteType[height];
+			rowHitPoints = new int[height];
+			for (int row = 0; row < height; row++) {
+				if (rows[row].length() < 2)
+					throw new IllegalArgumentException("row " + rows[row]
+							+ " should be a type and hit points.");
+				switch (rows[row].charAt(0)) {
+					case 'A':
+						rowTypes[row] = SpriteType.EnemyShipA1;
+						break;
+					case 'B':
+						rowTypes[row] = SpriteType.EnemyShipB1;
+						break;
+					case 'C':
+						rowTypes[row] = SpriteType.EnemyShipC1;
+						break;
+					default:
+						throw new IllegalArgumentException("unknown ship type "
+								+ rows[row].charAt(0) + ".");
+				}
+				rowHitPoints[row] = parsePositive(rows[row].substring(1),
+						"hit points");
+			}
+		}
+		return new GameSettings(width, height, speed, shooting, isBoss,
+				rowTypes, rowHitPoints, formationCount);
+	}
+
+	/**
+	 * Writes a level as a line of the levels file.
+	 *
+	 * @param settings
+	 *            Settings of the level.
+	 * @return Line of the levels file.
+	 */
+	public static String format(final GameSettings settings) {
+		StringBuilder line = new StringBuilder();
+		line.append(settings.getFormationWidth()).append(' ')
+				.append(settings.getFormationHeight()).append(' ')
+				.append(settings.getBaseSpeed()).append(' ')
+				.append(settings.getShootingFrecuency());
+		if (settings.getIsBoss())
+			line.append(" boss");
+		if (settings.getFormationCount() > 1)
+			line.append(" x").append(settings.getFormationCount());
+		if (settings.getRowType(0) != null) {
+			for (int row = 0; row < settings.getFormationHeight(); row++) {
+				line.append(row == 0 ? ' ' : ',');
+				switch (settings.getRowType(row)) {
+					case EnemyShipA1:
+						line.append('A');
+						break;
+					case EnemyShipB1:
+						line.append('B');
+						break;
+					default:
+						line.append('C');
+						break;
+				}
+				line.append(settings.getRowHitPoints(row));
+			}
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Returns the section name of a difficulty in the levels file.
+	 *
+	 * @param difficulty
+	 *            Difficulty, 1 for normal, 2 for hard and 3 for expert.
+	 * @return Name of the difficulty.
+	 */
+	public static String getDifficultyName(final int difficulty) {
+		return DIFFICULTIES[difficulty - 1];
+	}
+
+	/**
+	 * Reads a positive number.
+	 *
+	 * @param field
+	 *            Text of the number.
+	 * @param name
+	 *            What the number is, for the error message.
+	 * @return The number.
+	 */
+	private static int parsePositive(final String field, final String name) {
+		int value;
+		try {
+			value = Integer.parseInt(field);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + " " + field
+					+ " is not a number.");
+		}
+		if (value <= 0)
+			throw new IllegalArgumentException(name + " should be positive.");
+		return value;
+	}
+}
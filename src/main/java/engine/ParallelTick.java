@@ -0,0 +1,133 @@
+package engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the parts of a frame that work on each entity on its own across the
+ * threads of a pool, once there are enough entities for it to pay off. Each
+ * thread gets a slice of the entities in order, and nothing one slice does
+ * depends on another, so a frame played this way ends the same as one played
+ * on a single thread. The tasks are made once and reused every frame.
+ *
+ * A tick belongs to one level, its tasks can't be shared by levels played at
+ * the same time.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class ParallelTick {
+
+	/** Entities below which a frame is played on a single thread. */
+	public static final int DEFAULT_THRESHOLD = 16384;
+
+	/**
+	 * Work done on a range of entities.
+	 */
+	public interface Range {
+
+		/**
+		 * Works on a range of entities.
+		 *
+		 * @param from
+		 *            First entity.
+		 * @param to
+		 *            Entity after the last one.
+		 */
+		void run(int from, int to);
+	}
+
+	/**
+	 * Works on one slice of the entities.
+	 */
+	private final class Slice extends RecursiveAction {
+
+		/** Serial version, tasks aren't serialized. */
+		private static final long serialVersionUID = 1L;
+		/** First entity of the slice. */
+		private int from;
+		/** Entity after the last one of the slice. */
+		private int to;
+
+		@Override
+		protected void compute() {
+			body.run(this.from, this.to);
+		}
+	}
+
+	/**
+	 * Works on every slice, waiting for all of them.
+	 */
+	private final class Split extends RecursiveAction {
+
+		/** Serial version, tasks aren't serialized. */
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute() {
+			for (Slice slice : slices)
+				slice.reinitialize();
+			ForkJoinTask.invokeAll(slices);
+		}
+	}
+
+	/** Pool the slices are worked on in. */
+	private final ForkJoinPool pool;
+	/** Entities below which a frame is played on a single thread. */
+	private final int threshold;
+	/** Slices of the entities, one per thread. */
+	private final Slice[] slices;
+	/** Task working on every slice. */
+	private final Split split;
+	/** Work being done on the slices. */
+	private Range body;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pool
+	 *            Pool the slices are worked on in.
+	 * @param threshold
+	 *            Entities below which a frame is played on a single thread.
+	 */
+	public ParallelTick(final ForkJoinPool pool, final int threshold) {
+		this.pool = pool;
+		this.threshold = threshold;
+		this.slices = new Slice[pool.getParallelism()];
+		for (int i = 0; i < this.slices.length; i++)
+			this.slices[i] = new Slice();
+		this.split = new Split();
+	}
+
+	/**
+	 * Checks if there are enough entities for splitting them to pay off.
+	 *
+	 * @param count
+	 *            Number of entities worked on.
+	 * @return True if they should be split across the threads.
+	 */
+	public boolean isWorthSplitting(final int count) {
+		return count >= this.threshold && this.slices.length > 1;
+	}
+
+	/**
+	 * Works on every entity, a slice per thread, and waits for all of them.
+	 *
+	 * @param size
+	 *            Number of entities.
+	 * @param range
+	 *            Work done on each slice.
+	 */
+	public void forEach(final int size, final Range range) {
+		int count = this.slices.length;
+		for (int i = 0; i < count; i++) {
+			this.slices[i].from = (int) ((long) size * i / count);
+			this.slices[i].to = (int) ((long) size * (i + 1) / count);
+		}
+		this.body = range;
+		this.split.reinitialize();
+		this.pool.invoke(this.split);
+		this.body = null;
+	}
+}
@@ -0,0 +1,75 @@
+package engine;
+
+import entity.PowerUp;
+
+/**
+ * Keeps how long each power-up of a level lasts, as a timer of the level's
+ * {@link TimingWheel} per power-up, made once. Picking a power-up up again
+ * only schedules its timer again, and checking it reads the timer instead of
+ * the clock.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class PowerUpEffects {
+
+	/** Wheel the effects are timed in. */
+	private final TimingWheel timingWheel;
+	/** Timer of each power-up, by its number, waiting while it lasts. */
+	private final TimingWheel.Timer[] timers;
+
+	/**
+	 * Constructor, no power-up starts active.
+	 *
+	 * @param timingWheel
+	 *            Wheel the effects are timed in.
+	 */
+	public PowerUpEffects(final TimingWheel timingWheel) {
+		this.timingWheel = timingWheel;
+		this.timers = new TimingWheel.Timer[PowerUp.count()];
+		for (int i = 0; i < this.timers.length; i++)
+			this.timers[i] = new TimingWheel.Timer();
+	}
+
+	/**
+	 * Starts a power-up, or starts it over if it's already active.
+	 *
+	 * @param powerUp
+	 *            Power-up picked up.
+	 */
+	public void activate(final PowerUp powerUp) {
+		this.timingWheel.schedule(this.timers[powerUp.ordinal()],
+				powerUp.getDuration());
+	}
+
+	/**
+	 * Checks if a power-up is active.
+	 *
+	 * @param powerUp
+	 *            Power-up checked.
+	 * @return True until the power-up runs out.
+	 */
+	public boolean isActive(final PowerUp powerUp) {
+		return this.timers[powerUp.ordinal()].isPending();
+	}
+
+	/**
+	 * Getter for the time a power-up has left.
+	 *
+	 * @param powerUp
+	 *            Power-up checked.
+	 * @return Milliseconds left, 0 if it isn't active.
+	 */
+	public int getRemaining(final PowerUp powerUp) {
+		return (int) this.timingWheel.getRemaining(
+				this.timers[powerUp.ordinal()]);
+	}
+
+	/**
+	 * Ends every power-up.
+	 */
+	public void clear() {
+		for (TimingWheel.Timer timer : this.timers)
+			this.timingWheel.cancel(timer);
+	}
+}
@@ -0,0 +1,77 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+
+/**
+ * Plays by pressing keys at random: it keeps firing most of the time and
+ * every so often picks a direction to move in.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class RandomInput implements InputSource {
+
+	/** Frames between changes of the keys held. */
+	private static final int HOLD_FRAMES = 20;
+	/** Probability of holding the fire key. */
+	private static final double FIRE_PROBABILITY = 0.75;
+
+	/** Source of the key choices. */
+	private Random random;
+	/** Frames until the keys held change. */
+	private int framesLeft;
+	/** Key code of the direction held, 0 if none. */
+	private int direction;
+	/** Checks if the fire key is held. */
+	private boolean firing;
+
+	/**
+	 * Constructor, establishes the source of the key choices.
+	 *
+	 * @param seed
+	 *            Seed of the key choices.
+	 */
+	public RandomInput(final long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Picks new keys to hold every few frames.
+	 *
+	 * @param view
+	 *            Level at the current frame, ignored.
+	 */
+	@Override
+	public final void nextFrame(final TickView view) {
+		if (--this.framesLeft > 0)
+			return;
+		this.framesLeft = HOLD_FRAMES;
+		switch (this.random.nextInt(3)) {
+			case 0:
+				this.direction = KeyEvent.VK_LEFT;
+				break;
+			case 1:
+				this.direction = KeyEvent.VK_RIGHT;
+				break;
+			default:
+				this.direction = 0;
+				break;
+		}
+		this.firing = this.random.nextDouble() < FIRE_PROBABILITY;
+	}
+
+	/**
+	 * Returns true if the provided key is currently held.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	@Override
+	public final boolean isKeyDown(final int keyCode) {
+		if (keyCode == KeyEvent.VK_SPACE)
+			return this.firing;
+		return keyCode != 0 && keyCode == this.direction;
+	}
+}
@@ -0,0 +1,154 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import screen.Screen;
+
+/**
+ * Draws the frames of a screen on a thread of its own, so a slow frame on
+ * screen doesn't hold the game back. The game fills a {@link FrameSnapshot}
+ * and hands it over through a {@link TripleBuffer}, then goes on to the next
+ * frame while the render thread draws the newest snapshot handed. Frames
+ * handed faster than they are drawn are skipped, never queued.
+ *
+ * While the thread runs it's the only one drawing. Until it's started, or
+ * once it's stopped, each snapshot is drawn as soon as it's handed, on the
+ * thread handing it.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class Renderer implements Runnable {
+
+	/** Nanoseconds between checks for the last frame to be drawn. */
+	private static final long FLUSH_WAIT = TimeUnit.MICROSECONDS.toNanos(100);
+
+	/** Screen drawn on. */
+	private final Screen screen;
+	/** Draw Manager instance. */
+	private final DrawManager drawManager;
+	/** Latency monitor the snapshots are tagged for. */
+	private final LatencyMonitor latencyMonitor;
+	/** Snapshots handed from the game to the render thread. */
+	private final TripleBuffer<FrameSnapshot> frames;
+	/** Thread drawing the frames, null if they are drawn when handed. */
+	private Thread thread;
+	/** Checks if the render thread has to keep drawing. */
+	private volatile boolean running;
+	/** Number of the last snapshot handed. */
+	private volatile long handed;
+	/** Number of the last snapshot drawn. */
+	private volatile long drawn;
+
+	/**
+	 * Constructor, makes the three snapshots handed around.
+	 *
+	 * @param screen
+	 *            Screen drawn on.
+	 * @param bulletCapacity
+	 *            Bullets each snapshot keeps before it has to grow.
+	 * @param particleBudget
+	 *            Most particles of the level.
+	 */
+	public Renderer(final Screen screen, final int bulletCapacity,
+			final int particleBudget) {
+		this.screen = screen;
+		this.drawManager = Core.getDrawManager();
+		this.latencyMonitor = Core.getLatencyMonitor();
+		this.frames = new TripleBuffer<FrameSnapshot>(
+				new FrameSnapshot(bulletCapacity, particleBudget),
+				new FrameSnapshot(bulletCapacity, particleBudget),
+				new FrameSnapshot(bulletCapacity, particleBudget));
+	}
+
+	/**
+	 * Getter for the snapshot to fill with the next frame.
+	 *
+	 * @return Snapshot the game's until it's handed.
+	 */
+	public FrameSnapshot getFrame() {
+		return this.frames.getBack();
+	}
+
+	/**
+	 * Hands the snapshot filled to be drawn, and wakes the render thread up.
+	 */
+	public void hand() {
+		FrameSnapshot frame = this.frames.getBack();
+		this.latencyMonitor.stamp(frame);
+		frame.sequence = this.handed + 1;
+		this.frames.publish();
+		this.handed = frame.sequence;
+		if (this.thread == null)
+			draw();
+		else
+			LockSupport.unpark(this.thread);
+	}
+
+	/**
+	 * Starts drawing the frames handed on the render thread.
+	 */
+	public void start() {
+		if (this.thread != null)
+			return;
+		this.running = true;
+		this.thread = new Thread(this, "Renderer");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Waits for the render thread to draw the last frame handed, so the
+	 * caller can draw on top of it.
+	 */
+	public void flush() {
+		while (this.thread != null && this.thread.isAlive()
+				&& this.drawn != this.handed) {
+			LockSupport.unpark(this.thread);
+			LockSupport.parkNanos(FLUSH_WAIT);
+		}
+	}
+
+	/**
+	 * Stops the render thread once it draws the last frame handed. Frames
+	 * handed after this are drawn when handed.
+	 */
+	public void stop() {
+		if (this.thread == null)
+			return;
+		flush();
+		this.running = false;
+		LockSupport.unpark(this.thread);
+		try {
+			this.thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.thread = null;
+	}
+
+	/**
+	 * Draws the newest frame handed, waiting for one while there's none.
+	 */
+	@Override
+	public void run() {
+		while (this.running)
+			if (!draw())
+				LockSupport.park(this);
+	}
+
+	/**
+	 * Draws the newest frame handed, if there's one not drawn yet.
+	 *
+	 * @return True if a frame was drawn.
+	 */
+	private boolean draw() {
+		FrameSnapshot frame = this.frames.take();
+		if (frame == null)
+			return false;
+		this.drawManager.drawFrame(this.screen, frame);
+		this.drawn = frame.sequence;
+		return true;
+	}
+}
@@ -0,0 +1,32 @@
+package engine;
+
+import screen.Screen;
+
+/**
+ * Gets told whenever a screen is shown or closed by the screen manager.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public interface ScreenListener {
+
+	/**
+	 * Called right before a screen is shown.
+	 *
+	 * @param screen
+	 *            Screen about to be shown.
+	 */
+	default void onEnter(final Screen screen) {
+	}
+
+	/**
+	 * Called right after a screen is closed.
+	 *
+	 * @param screen
+	 *            Screen just closed.
+	 * @param returnCode
+	 *            What kind of screen goes next, as returned by the screen.
+	 */
+	default void onExit(final Screen screen, final int returnCode) {
+	}
+}
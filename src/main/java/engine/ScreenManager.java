@@ -0,0 +1,127 @@
+package engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import screen.Screen;
+
+/**
+ * Shows screens on the frame. Menu screens are registered once and shown
+ * again and again, reset instead of rebuilt. Screens shown on top of others
+ * are kept on a stack, so the one beneath is known while they run.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class ScreenManager {
+
+	/** Frame the screens are shown on. */
+	private Frame frame;
+	/** Long-lived screens, by class. */
+	private Map<Class<? extends Screen>, Screen> registry;
+	/** Screens being shown, the top one on screen. */
+	private Deque<Screen> stack;
+	/** Told about every screen shown and closed. */
+	private List<ScreenListener> listeners;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param frame
+	 *            Frame the screens are shown on.
+	 */
+	public ScreenManager(final Frame frame) {
+		this.frame = frame;
+		this.registry = new HashMap<Class<? extends Screen>, Screen>();
+		this.stack = new ArrayDeque<Screen>();
+		this.listeners = new ArrayList<ScreenListener>();
+	}
+
+	/**
+	 * Keeps a screen to be shown whenever it's needed.
+	 *
+	 * @param screen
+	 *            Screen to keep, the only one of its class.
+	 */
+	public void register(final Screen screen) {
+		this.registry.put(screen.getClass(), screen);
+	}
+
+	/**
+	 * Returns a registered screen.
+	 *
+	 * @param <T>
+	 *            Class of the screen.
+	 * @param type
+	 *            Class of the screen.
+	 * @return The screen of that class.
+	 */
+	public <T extends Screen> T get(final Class<T> type) {
+		Screen screen = this.registry.get(type);
+		if (screen == null)
+			throw new IllegalArgumentException(type.getSimpleName()
+					+ " is not registered.");
+		return type.cast(screen);
+	}
+
+	/**
+	 * Adds a listener told about every screen shown and closed.
+	 *
+	 * @param listener
+	 *            Listener to add.
+	 */
+	public void addListener(final ScreenListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Shows a screen on top of the current one until it closes. The screen
+	 * beneath is current again afterwards.
+	 *
+	 * @param screen
+	 *            Screen to show.
+	 * @return What kind of screen goes next, as returned by the screen.
+	 */
+	public int push(final Screen screen) {
+		this.stack.push(screen);
+		for (int i = 0; i < this.listeners.size(); i++)
+			this.listeners.get(i).onEnter(screen);
+
+		int returnCode;
+		try {
+			returnCode = this.frame.setScreen(screen);
+		} finally {
+			this.stack.pop();
+		}
+
+		for (int i = 0; i < this.listeners.size(); i++)
+			this.listeners.get(i).onExit(screen, returnCode);
+		return returnCode;
+	}
+
+	/**
+	 * Returns the screen on top of the stack.
+	 *
+	 * @return Screen being shown, null if there is none.
+	 */
+	public Screen getCurrent() {
+		return this.stack.peek();
+	}
+
+	/**
+	 * Changes the size of every registered screen, after the window changes.
+	 *
+	 * @param width
+	 *            New screen width.
+	 * @param height
+	 *            New screen height.
+	 */
+	public void resize(final int width, final int height) {
+		for (Screen screen : this.registry.values())
+			screen.setSize(width, height);
+	}
+}
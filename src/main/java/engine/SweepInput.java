@@ -0,0 +1,62 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Plays a fixed script: it keeps firing and sweeps the ship from one side of
+ * the screen to the other and back. The seed only changes where in the sweep
+ * it starts.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class SweepInput implements InputSource {
+
+	/** Frames it takes the ship to cross the screen. */
+	private static final int SWEEP_FRAMES = 210;
+
+	/** Frames into the current sweep in both directions. */
+	private int frame;
+
+	/**
+	 * Constructor, establishes where the sweep starts.
+	 *
+	 * @param seed
+	 *            Seed of the starting point.
+	 */
+	public SweepInput(final long seed) {
+		this.frame = (int) Math.floorMod(seed, 2L * SWEEP_FRAMES);
+	}
+
+	/**
+	 * Moves the sweep forward.
+	 *
+	 * @param view
+	 *            Level at the current frame, ignored.
+	 */
+	@Override
+	public final void nextFrame(final TickView view) {
+		this.frame = (this.frame + 1) % (2 * SWEEP_FRAMES);
+	}
+
+	/**
+	 * Returns true if the provided key is currently held.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	@Override
+	public final boolean isKeyDown(final int keyCode) {
+		switch (keyCode) {
+			case KeyEvent.VK_SPACE:
+				return true;
+			case KeyEvent.VK_RIGHT:
+				return this.frame < SWEEP_FRAMES;
+			case KeyEvent.VK_LEFT:
+				return this.frame >= SWEEP_FRAMES;
+			default:
+				return false;
+		}
+	}
+}
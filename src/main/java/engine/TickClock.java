@@ -0,0 +1,63 @@
+package engine;
+
+/**
+ * Clock that only moves forward when told to, so the game can be run
+ * faster than real time, without a window, one frame at a time.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class TickClock extends Clock {
+
+	/** Milliseconds elapsed. */
+	private long time;
+	/** Checks if the clock is stopped. */
+	private boolean paused;
+
+	/**
+	 * Moves the clock forward, unless it's paused.
+	 *
+	 * @param milliseconds
+	 *            Time to move forward.
+	 */
+	public final void advance(final long milliseconds) {
+		if (!this.paused)
+			this.time += milliseconds;
+	}
+
+	/**
+	 * Returns the current time of the clock.
+	 *
+	 * @return Milliseconds the clock has been moved forward.
+	 */
+	@Override
+	public final long getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Stops the clock.
+	 */
+	@Override
+	public final void pause() {
+		this.paused = true;
+	}
+
+	/**
+	 * Lets the clock be moved forward again.
+	 */
+	@Override
+	public final void resume() {
+		this.paused = false;
+	}
+
+	/**
+	 * Checks if the clock is stopped.
+	 *
+	 * @return True if the clock is paused.
+	 */
+	@Override
+	public final boolean isPaused() {
+		return this.paused;
+	}
+}
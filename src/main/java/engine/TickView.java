@@ -0,0 +1,135 @@
+package engine;
+
+/**
+ * Read-only view of a level at the current frame, for programs that play
+ * the game. Everything is read through primitive getters, so looking at the
+ * level doesn't allocate.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public interface TickView {
+
+	/**
+	 * @return the width of the play area
+	 */
+	int getPlayAreaWidth();
+
+	/**
+	 * @return the position of the player's ship in the X axis
+	 */
+	int getShipPositionX();
+
+	/**
+	 * @return the position of the player's ship in the Y axis
+	 */
+	int getShipPositionY();
+
+	/**
+	 * @return the width of the player's ship
+	 */
+	int getShipWidth();
+
+	/**
+	 * @return the movement of the player's ship in a frame
+	 */
+	int getShipSpeed();
+
+	/**
+	 * @return true if the player's ship is destroyed and can't move
+	 */
+	boolean isShipDestroyed();
+
+	/**
+	 * @return the number of bullets on screen, both the player's and the
+	 *         enemies'
+	 */
+	int getBulletCount();
+
+	/**
+	 * Position of a bullet in the X axis.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return Position of the bullet.
+	 */
+	int getBulletPositionX(int index);
+
+	/**
+	 * Position of a bullet in the Y axis.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return Position of the bullet.
+	 */
+	int getBulletPositionY(int index);
+
+	/**
+	 * Horizontal speed of a bullet, positive to the right.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return Horizontal speed of the bullet.
+	 */
+	float getBulletSpeedX(int index);
+
+	/**
+	 * Width of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return Width of the bullet.
+	 */
+	int getBulletWidth(int index);
+
+	/**
+	 * Vertical speed of a bullet, positive down.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return Speed of the bullet.
+	 */
+	float getBulletSpeed(int index);
+
+	/**
+	 * Checks if a bullet was shot by the enemies.
+	 *
+	 * @param index
+	 *            Bullet number, below the bullet count.
+	 * @return True for the enemies' bullets, false for the player's.
+	 */
+	boolean isEnemyBullet(int index);
+
+	/**
+	 * @return the number of formation columns left, each with a ship at the
+	 *         bottom that can shoot
+	 */
+	int getShooterCount();
+
+	/**
+	 * Position in the X axis of the ship at the bottom of a column.
+	 *
+	 * @param index
+	 *            Column number, below the shooter count.
+	 * @return Position of the ship.
+	 */
+	int getShooterPositionX(int index);
+
+	/**
+	 * Position in the Y axis of the ship at the bottom of a column.
+	 *
+	 * @param index
+	 *            Column number, below the shooter count.
+	 * @return Position of the ship.
+	 */
+	int getShooterPositionY(int index);
+
+	/**
+	 * Width of the ship at the bottom of a column.
+	 *
+	 * @param index
+	 *            Column number, below the shooter count.
+	 * @return Width of the ship.
+	 */
+	int getShooterWidth(int index);
+}
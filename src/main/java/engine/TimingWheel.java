@@ -0,0 +1,326 @@
+package engine;
+
+/**
+ * Keeps the timers of a game measured against one clock. Timers sit in the
+ * slots of a hierarchy of wheels by the millisecond they are due at, so
+ * advancing the wheel to the clock's time only looks at the slots passed,
+ * however many timers are waiting. Scheduling, rescheduling and cancelling
+ * a timer take constant time. Pausing or moving the clock forward pauses or
+ * moves forward every timer in the wheel.
+ *
+ * A wheel is only used from the thread running its game.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class TimingWheel {
+
+	/** Bits of the slot index in the innermost wheel. */
+	private static final int INNER_BITS = 8;
+	/** Bits of the slot index in each outer wheel. */
+	private static final int OUTER_BITS = 6;
+	/** Number of outer wheels. */
+	private static final int OUTER_WHEELS = 3;
+	/** Longest delay kept in place, longer ones are moved in as time goes. */
+	private static final long MAX_DELAY =
+			1L << (INNER_BITS + OUTER_BITS * OUTER_WHEELS);
+
+	/**
+	 * Something to happen after some time. A timer can be scheduled again
+	 * while waiting, which cancels its previous time.
+	 */
+	public static final class Timer {
+
+		/** Called when the timer is due, null if nothing is. */
+		private final Runnable callback;
+		/** Millisecond of the clock the timer is due at. */
+		private long deadline;
+		/** Checks if the timer is waiting in a wheel. */
+		private boolean pending;
+		/** Checks if the timer came due since it was last scheduled. */
+		private boolean due;
+		/** Slots of the wheel the timer is in. */
+		private Timer[] slots;
+		/** Slot of the wheel the timer is in. */
+		private int slot;
+		/** Previous timer in the same slot. */
+		private Timer previous;
+		/** Next timer in the same slot. */
+		private Timer next;
+
+		/**
+		 * Constructor, for a timer only checked through its flag.
+		 */
+		public Timer() {
+			this(null);
+		}
+
+		/**
+		 * Constructor.
+		 *
+		 * @param callback
+		 *            Called when the timer is due, null if nothing is.
+		 */
+		public Timer(final Runnable callback) {
+			this.callback = callback;
+		}
+
+		/**
+		 * Checks if the timer came due since it was last scheduled.
+		 *
+		 * @return True once the timer is due, until it's scheduled again.
+		 */
+		public boolean isDue() {
+			return this.due;
+		}
+
+		/**
+		 * Checks if the timer is waiting to come due.
+		 *
+		 * @return True while the timer is scheduled.
+		 */
+		public boolean isPending() {
+			return this.pending;
+		}
+	}
+
+	/** Clock the timers are measured against. */
+	private final Clock clock;
+	/** Innermost wheel, a slot per millisecond. */
+	private final Timer[] inner;
+	/** Outer wheels, each slot spanning a turn of the wheel inside it. */
+	private final Timer[][] outer;
+	/** Millisecond of the clock the wheel has been advanced to. */
+	private long currentTime;
+	/** Number of timers waiting. */
+	private int pendingCount;
+	/** Number of timers waiting in the innermost wheel. */
+	private int innerCount;
+
+	/**
+	 * Constructor, starts the wheel at the clock's current time.
+	 *
+	 * @param clock
+	 *            Clock the timers are measured against.
+	 */
+	public TimingWheel(final Clock clock) {
+		this.clock = clock;
+		this.inner = new Timer[1 << INNER_BITS];
+		this.outer = new Timer[OUTER_WHEELS][1 << OUTER_BITS];
+		this.currentTime = clock.getTime();
+	}
+
+	/**
+	 * Schedules a timer, moving it if it's already waiting.
+	 *
+	 * @param timer
+	 *            Timer to schedule.
+	 * @param delay
+	 *            Milliseconds from the clock's current time until it's due,
+	 *            at least 1.
+	 */
+	public void schedule(final Timer timer, final long delay) {
+		// A timer moved while waiting is still counted once.
+		if (timer.pending)
+			unlink(timer);
+		else
+			this.pendingCount++;
+		timer.deadline = Math.max(this.clock.getTime(), this.currentTime)
+				+ Math.max(1, delay);
+		timer.due = false;
+		timer.pending = true;
+		place(timer);
+	}
+
+	/**
+	 * Stops a timer from coming due. Nothing happens if it isn't waiting.
+	 *
+	 * @param timer
+	 *            Timer to cancel.
+	 */
+	public void cancel(final Timer timer) {
+		if (!timer.pending)
+			return;
+		unlink(timer);
+		timer.pending = false;
+		this.pendingCount--;
+	}
+
+	/**
+	 * Brings the wheel to the clock's current time, marking as due and calling
+	 * back every timer due by then, in the order they were due. Reads the
+	 * clock once.
+	 */
+	public void advance() {
+		long target = this.clock.getTime();
+		while (this.currentTime < target) {
+			if (this.pendingCount == 0) {
+				this.currentTime = target;
+				return;
+			}
+			// Skips the rest of an empty innermost turn in one step.
+			if (this.innerCount == 0) {
+				long turnEnd = this.currentTime | ((1 << INNER_BITS) - 1);
+				if (turnEnd >= target) {
+					this.currentTime = target;
+					return;
+				}
+				this.currentTime = turnEnd;
+			}
+			this.currentTime++;
+			if ((this.currentTime & ((1 << INNER_BITS) - 1)) == 0)
+				cascade(0);
+			fire((int) (this.currentTime & ((1 << INNER_BITS) - 1)));
+		}
+	}
+
+	/**
+	 * Getter for the millisecond of the clock the wheel was last advanced
+	 * to, the time of the current frame for everything timed by the wheel.
+	 * Doesn't read the clock.
+	 *
+	 * @return Time of the wheel.
+	 */
+	public long getTime() {
+		return this.currentTime;
+	}
+
+	/**
+	 * Getter for the time until a timer is due, as of the wheel's time.
+	 *
+	 * @param timer
+	 *            Timer checked.
+	 * @return Milliseconds left, 0 if it isn't waiting.
+	 */
+	public long getRemaining(final Timer timer) {
+		if (!timer.pending)
+			return 0;
+		return Math.max(0, timer.deadline - this.currentTime);
+	}
+
+	/**
+	 * Getter for the clock the timers are measured against.
+	 *
+	 * @return Clock of the wheel.
+	 */
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	/**
+	 * Getter for the number of timers waiting.
+	 *
+	 * @return Timers scheduled and not yet due.
+	 */
+	public int getPendingCount() {
+		return this.pendingCount;
+	}
+
+	/**
+	 * Moves the timers of the current slot of an outer wheel to the wheels
+	 * inside it, after the wheel inside turned over.
+	 *
+	 * @param wheel
+	 *            Outer wheel, 0 for the one around the innermost.
+	 */
+	private void cascade(final int wheel) {
+		int shift = INNER_BITS + OUTER_BITS * wheel;
+		int slot = (int) ((this.currentTime >>> shift)
+				& ((1 << OUTER_BITS) - 1));
+		// The wheel outside turns over when this one does.
+		if (slot == 0 && wheel + 1 < OUTER_WHEELS)
+			cascade(wheel + 1);
+
+		Timer[] slots = this.outer[wheel];
+		Timer timer = slots[slot];
+		slots[slot] = null;
+		while (timer != null) {
+			Timer next = timer.next;
+			timer.previous = null;
+			timer.next = null;
+			place(timer);
+			timer = next;
+		}
+	}
+
+	/**
+	 * Marks as due and calls back every timer in a slot of the innermost
+	 * wheel.
+	 *
+	 * @param slot
+	 *            Slot of the innermost wheel.
+	 */
+	private void fire(final int slot) {
+		Timer timer;
+		// Callbacks may schedule timers, so the slot is read again each time.
+		while ((timer = this.inner[slot]) != null) {
+			unlink(timer);
+			timer.pending = false;
+			timer.due = true;
+			this.pendingCount--;
+			if (timer.callback != null)
+				timer.callback.run();
+		}
+	}
+
+	/**
+	 * Puts a waiting timer in the slot of the innermost wheel it fits in.
+	 *
+	 * @param timer
+	 *            Timer to place.
+	 */
+	private void place(final Timer timer) {
+		// Never negative, timers due now are only placed while cascading, and
+		// the current slot is fired right after.
+		long delay = timer.deadline - this.currentTime;
+		long deadline = timer.deadline;
+		if (delay >= MAX_DELAY) {
+			// Parked in the outermost wheel, placed again when it comes up.
+			deadline = this.currentTime + MAX_DELAY - 1;
+			delay = MAX_DELAY - 1;
+		}
+
+		Timer[] slots;
+		int slot;
+		if (delay < (1 << INNER_BITS)) {
+			slots = this.inner;
+			slot = (int) (deadline & ((1 << INNER_BITS) - 1));
+			this.innerCount++;
+		} else {
+			int wheel = 0;
+			while (delay >= 1L << (INNER_BITS + OUTER_BITS * (wheel + 1)))
+				wheel++;
+			slots = this.outer[wheel];
+			slot = (int) ((deadline >>> (INNER_BITS + OUTER_BITS * wheel))
+					& ((1 << OUTER_BITS) - 1));
+		}
+
+		timer.slots = slots;
+		timer.slot = slot;
+		timer.previous = null;
+		timer.next = slots[slot];
+		if (timer.next != null)
+			timer.next.previous = timer;
+		slots[slot] = timer;
+	}
+
+	/**
+	 * Takes a waiting timer out of its slot.
+	 *
+	 * @param timer
+	 *            Timer to take out.
+	 */
+	private void unlink(final Timer timer) {
+		if (timer.previous != null)
+			timer.previous.next = timer.next;
+		else
+			timer.slots[timer.slot] = timer.next;
+		if (timer.next != null)
+			timer.next.previous = timer.previous;
+		if (timer.slots == this.inner)
+			this.innerCount--;
+		timer.previous = null;
+		timer.next = null;
+		timer.slots = null;
+	}
+}
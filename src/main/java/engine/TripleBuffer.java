@@ -0,0 +1,86 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands objects from a thread that fills them to a thread that reads them,
+ * without either waiting for the other. Of three objects, the writer fills
+ * one, the reader reads another, and the third is the last one published.
+ * Publishing swaps the filled object with the third, and taking swaps the
+ * one read with it, so the reader always gets the newest object and the
+ * writer never touches one being read. Objects published but never taken
+ * are filled again.
+ *
+ * Only one thread may fill and publish, and only one may take.
+ *
+ * @param <T>
+ *            Type of the objects handed.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class TripleBuffer<T> {
+
+	/** Bits of the number of an object. */
+	private static final int INDEX = 3;
+	/** Bit set while the object in the middle hasn't been taken. */
+	private static final int FRESH = 4;
+
+	/** The three objects. */
+	private final Object[] slots;
+	/** Object last published, and if it's fresh. */
+	private final AtomicInteger middle;
+	/** Object being filled, only used by the writer. */
+	private int back;
+	/** Object being read, only used by the reader. */
+	private int front;
+
+	/**
+	 * Constructor, the writer starts filling the first object.
+	 *
+	 * @param first
+	 *            First object.
+	 * @param second
+	 *            Second object.
+	 * @param third
+	 *            Third object.
+	 */
+	public TripleBuffer(final T first, final T second, final T third) {
+		this.slots = new Object[] { first, second, third };
+		this.back = 0;
+		this.middle = new AtomicInteger(1);
+		this.front = 2;
+	}
+
+	/**
+	 * Getter for the object to fill, the writer's until it's published.
+	 *
+	 * @return Object to fill.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getBack() {
+		return (T) this.slots[this.back];
+	}
+
+	/**
+	 * Makes the object filled the newest, and gives the writer the one
+	 * published before it, unless it's being read.
+	 */
+	public void publish() {
+		this.back = this.middle.getAndSet(this.back | FRESH) & INDEX;
+	}
+
+	/**
+	 * Takes the newest object published, giving back the one read before.
+	 *
+	 * @return Object to read, the reader's until the next call, or null if
+	 *         nothing was published since the last one.
+	 */
+	@SuppressWarnings("unchecked")
+	public T take() {
+		if ((this.middle.get() & FRESH) == 0)
+			return null;
+		this.front = this.middle.getAndSet(this.front) & INDEX;
+		return (T) this.slots[this.front];
+	}
+}
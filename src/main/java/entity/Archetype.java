@@ -0,0 +1,287 @@
+package entity;
+
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Keeps entities of one kind as columns of numbers, one column per piece of
+ * what they are made of, instead of an object per entity. Only the columns of
+ * the components the kind has are made. {@link Systems} walk the columns in
+ * order to move and age every entity of any kind with the components they
+ * need, and stores such as the {@link BulletStore}, the
+ * {@link ParticleStore} and the {@link EnemyShipFormation} keep their own
+ * kinds in an archetype, adding the columns only they need.
+ *
+ * Columns are package visible, for the systems to walk them without a call
+ * per entity.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class Archetype {
+
+	/** Position in both axes. */
+	public static final int POSITION = 1;
+	/** Speed in both axes, moving the position each frame. */
+	public static final int VELOCITY = 1 << 1;
+	/** Color, as RGB. */
+	public static final int COLOR = 1 << 2;
+	/** Frames left and frames lasted in total. */
+	public static final int LIFETIME = 1 << 3;
+	/** Width and height. */
+	public static final int SIZE = 1 << 4;
+	/** Hits left, none once the entity is destroyed. */
+	public static final int HEALTH = 1 << 5;
+	/** Sprite drawn, by its order among the sprite types. */
+	public static final int SPRITE = 1 << 6;
+
+	/** Sprite types, by their order. */
+	static final SpriteType[] SPRITE_TYPES = SpriteType.values();
+
+	/** Components of the entities, as a bit each. */
+	private final int components;
+	/** Position in the x-axis of each entity. */
+	float[] positionsX;
+	/** Position in the y-axis of each entity. */
+	float[] positionsY;
+	/** Horizontal speed of each entity, positive is right. */
+	float[] speedsX;
+	/** Vertical speed of each entity, positive is down. */
+	float[] speedsY;
+	/** Color of each entity, as RGB. */
+	int[] colors;
+	/** Frames each entity has left. */
+	int[] lives;
+	/** Frames each entity lasts in total. */
+	int[] lifetimes;
+	/** Width of each entity. */
+	int[] widths;
+	/** Height of each entity. */
+	int[] heights;
+	/** Hits each entity has left. */
+	int[] hps;
+	/** Sprite of each entity, by its order among the sprite types. */
+	int[] sprites;
+	/** Number of entities. */
+	int size;
+	/** Entities kept before the columns have to grow. */
+	private int capacity;
+
+	/**
+	 * Constructor, the archetype starts empty.
+	 *
+	 * @param components
+	 *            Components of the entities, as a bit each.
+	 * @param capacity
+	 *            Entities kept before the columns have to grow.
+	 */
+	public Archetype(final int components, final int capacity) {
+		this.components = components;
+		resize(capacity);
+	}
+
+	/**
+	 * Checks if the entities have a component.
+	 *
+	 * @param component
+	 *            Bit of the component.
+	 * @return True if its columns are kept.
+	 */
+	public boolean has(final int component) {
+		return (this.components & component) != 0;
+	}
+
+	/**
+	 * Adds an entity, growing the columns if there's no room. Its
+	 * components are left as the caller sets them.
+	 *
+	 * @return Number of the entity.
+	 */
+	public int add() {
+		if (this.size == this.capacity)
+			resize(Math.max(16, this.capacity * 2));
+		return this.size++;
+	}
+
+	/**
+	 * Puts an entity in another's place, to keep it when entities before it
+	 * are removed.
+	 *
+	 * @param from
+	 *            Entity kept.
+	 * @param to
+	 *            Place it's kept at, not after it.
+	 */
+	public void copy(final int from, final int to) {
+		if (has(POSITION)) {
+			this.positionsX[to] = this.positionsX[from];
+			this.positionsY[to] = this.positionsY[from];
+		}
+		if (has(VELOCITY)) {
+			this.speedsX[to] = this.speedsX[from];
+			this.speedsY[to] = this.speedsY[from];
+		}
+		if (has(COLOR))
+			this.colors[to] = this.colors[from];
+		if (has(LIFETIME)) {
+			this.lives[to] = this.lives[from];
+			this.lifetimes[to] = this.lifetimes[from];
+		}
+		if (has(SIZE)) {
+			this.widths[to] = this.widths[from];
+			this.heights[to] = this.heights[from];
+		}
+		if (has(HEALTH))
+			this.hps[to] = this.hps[from];
+		if (has(SPRITE))
+			this.sprites[to] = this.sprites[from];
+	}
+
+	/**
+	 * Makes the entities the same as another archetype's, growing the columns
+	 * if there's no room. Only the components both archetypes have are
+	 * copied.
+	 *
+	 * @param source
+	 *            Archetype copied.
+	 */
+	public void copyFrom(final Archetype source) {
+		int size = source.size;
+		if (this.capacity < size)
+			resize(source.capacity);
+		if (has(POSITION) && source.has(POSITION)) {
+			System.arraycopy(source.positionsX, 0, this.positionsX, 0, size);
+			System.arraycopy(source.positionsY, 0, this.positionsY, 0, size);
+		}
+		if (has(VELOCITY) && source.has(VELOCITY)) {
+			System.arraycopy(source.speedsX, 0, this.speedsX, 0, size);
+			System.arraycopy(source.speedsY, 0, this.speedsY, 0, size);
+		}
+		if (has(COLOR) && source.has(COLOR))
+			System.arraycopy(source.colors, 0, this.colors, 0, size);
+		if (has(LIFETIME) && source.has(LIFETIME)) {
+			System.arraycopy(source.lives, 0, this.lives, 0, size);
+			System.arraycopy(source.lifetimes, 0, this.lifetimes, 0, size);
+		}
+		if (has(SIZE) && source.has(SIZE)) {
+			System.arraycopy(source.widths, 0, this.widths, 0, size);
+			System.arraycopy(source.heights, 0, this.heights, 0, size);
+		}
+		if (has(HEALTH) && source.has(HEALTH))
+			System.arraycopy(source.hps, 0, this.hps, 0, size);
+		if (has(SPRITE) && source.has(SPRITE))
+			System.arraycopy(source.sprites, 0, this.sprites, 0, size);
+		this.size = size;
+	}
+
+	/**
+	 * Removes an entity, putting the last one in its place. For kinds with
+	 * no order to keep.
+	 *
+	 * @param index
+	 *            Entity removed.
+	 */
+	public void remove(final int index) {
+		this.size--;
+		copy(this.size, index);
+	}
+
+	/**
+	 * Drops the entities past the ones kept, which have been copied to the
+	 * front.
+	 *
+	 * @param kept
+	 *            Number of entities kept.
+	 */
+	public void truncate(final int kept) {
+		this.size = kept;
+	}
+
+	/**
+	 * Removes every entity.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Getter for the number of entities.
+	 *
+	 * @return Entities in the archetype.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the entities kept before the columns have to grow, for the
+	 * stores that keep columns of their own to grow them along.
+	 *
+	 * @return Room in the columns.
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Makes the columns of the components a given size, keeping the
+	 * entities in them.
+	 *
+	 * @param newCapacity
+	 *            Entities kept before the columns have to grow.
+	 */
+	private void resize(final int newCapacity) {
+		if (has(POSITION)) {
+			this.positionsX = grown(this.positionsX, newCapacity);
+			this.positionsY = grown(this.positionsY, newCapacity);
+		}
+		if (has(VELOCITY)) {
+			this.speedsX = grown(this.speedsX, newCapacity);
+			this.speedsY = grown(this.speedsY, newCapacity);
+		}
+		if (has(COLOR))
+			this.colors = grown(this.colors, newCapacity);
+		if (has(LIFETIME)) {
+			this.lives = grown(this.lives, newCapacity);
+			this.lifetimes = grown(this.lifetimes, newCapacity);
+		}
+		if (has(SIZE)) {
+			this.widths = grown(this.widths, newCapacity);
+			this.heights = grown(this.heights, newCapacity);
+		}
+		if (has(HEALTH))
+			this.hps = grown(this.hps, newCapacity);
+		if (has(SPRITE))
+			this.sprites = grown(this.sprites, newCapacity);
+		this.capacity = newCapacity;
+	}
+
+	/**
+	 * Makes a column a given size, keeping what's in it.
+	 *
+	 * @param column
+	 *            Column, null if it wasn't made yet.
+	 * @param length
+	 *            Size of the column.
+	 * @return Column of the size.
+	 */
+	private static float[] grown(final float[] column, final int length) {
+		return column == null ? new float[length]
+				: Arrays.copyOf(column, length);
+	}
+
+	/**
+	 * Makes a column a given size, keeping what's in it.
+	 *
+	 * @param column
+	 *            Column, null if it wasn't made yet.
+	 * @param length
+	 *            Size of the column.
+	 * @return Column of the size.
+	 */
+	private static int[] grown(final int[] column, final int length) {
+		return column == null ? new int[length]
+				: Arrays.copyOf(column, length);
+	}
+}
@@ -0,0 +1,260 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Describes how a boss shoots as a list of phases, each one a loop of timed
+ * shots. The boss goes through the phases as it loses hit points. Scripts
+ * are only declarations and can be shared, a {@link BossTimeline} plays them.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class BossScript {
+
+	/** Script of the boss fights of the game. */
+	public static final BossScript DEFAULT = new BossScript(
+			// Slow rings with aimed fans between them.
+			phase(10, 3000,
+					shot(0, FiringPattern.ring(12, 2, Color.RED)),
+					shot(1500, FiringPattern.aimed(3, 20, 3, Color.ORANGE))),
+			// A sweeping spiral, closed by a ring.
+			phase(6, 2400,
+					stream(0, 150, 10, FiringPattern.spiral(2, 3, Color.RED)),
+					shot(2000, FiringPattern.ring(16, 2, Color.YELLOW))),
+			// Everything at once.
+			phase(3, 2000,
+					stream(0, 100, 15, FiringPattern.spiral(3, 3, Color.RED)),
+					stream(0, 1000, 2, FiringPattern.ring(16, 2, Color.YELLOW)),
+					shot(500, FiringPattern.aimed(3, 15, 3, Color.ORANGE))));
+
+	/**
+	 * Shots repeated at even times within a phase's loop.
+	 */
+	public static final class Shot {
+
+		/** Milliseconds into the loop of the first shot. */
+		private final int time;
+		/** Milliseconds between shots. */
+		private final int interval;
+		/** Number of shots. */
+		private final int times;
+		/** Pattern shot. */
+		private final FiringPattern pattern;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param time
+		 *            Milliseconds into the loop of the first shot.
+		 * @param interval
+		 *            Milliseconds between shots.
+		 * @param times
+		 *            Number of shots.
+		 * @param pattern
+		 *            Pattern shot.
+		 */
+		private Shot(final int time, final int interval, final int times,
+				final FiringPattern pattern) {
+			if (time < 0 || interval < 1 || times < 1)
+				throw new IllegalArgumentException(
+						"A shot is fired at least once, from the loop start.");
+			this.time = time;
+			this.interval = interval;
+			this.times = times;
+			this.pattern = pattern;
+		}
+
+		/**
+		 * @return the milliseconds into the loop of the first shot
+		 */
+		int getTime() {
+			return this.time;
+		}
+
+		/**
+		 * @return the milliseconds between shots
+		 */
+		int getInterval() {
+			return this.interval;
+		}
+
+		/**
+		 * @return the number of shots
+		 */
+		int getTimes() {
+			return this.times;
+		}
+
+		/**
+		 * @return the pattern shot
+		 */
+		FiringPattern getPattern() {
+			return this.pattern;
+		}
+	}
+
+	/**
+	 * Shots looped while the boss has some hit points left.
+	 */
+	public static final class Phase {
+
+		/** Most hit points the boss has in the phase. */
+		private final int hitPoints;
+		/** Milliseconds of the loop. */
+		private final int length;
+		/** Shots of the loop. */
+		private final Shot[] shots;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param hitPoints
+		 *            Most hit points the boss has in the phase.
+		 * @param length
+		 *            Milliseconds of the loop.
+		 * @param shots
+		 *            Shots of the loop.
+		 */
+		private Phase(final int hitPoints, final int length,
+				final Shot[] shots) {
+			if (length < 1)
+				throw new IllegalArgumentException(
+						"A phase loop lasts at least a millisecond.");
+			for (Shot shot : shots)
+				if (shot.time + (shot.times - 1) * shot.interval >= length)
+					throw new IllegalArgumentException(
+							"Every shot of a phase falls within its loop.");
+			this.hitPoints = hitPoints;
+			this.length = length;
+			this.shots = shots;
+		}
+
+		/**
+		 * @return the most hit points the boss has in the phase
+		 */
+		int getHitPoints() {
+			return this.hitPoints;
+		}
+
+		/**
+		 * @return the milliseconds of the loop
+		 */
+		int getLength() {
+			return this.length;
+		}
+
+		/**
+		 * @return the number of shots of the loop
+		 */
+		int getShotCount() {
+			return this.shots.length;
+		}
+
+		/**
+		 * Getter for a shot of the loop.
+		 *
+		 * @param index
+		 *            Shot number, below the shot count.
+		 * @return The shot.
+		 */
+		Shot getShot(final int index) {
+			return this.shots[index];
+		}
+	}
+
+	/** Phases, from the first one played. */
+	private final Phase[] phases;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param phases
+	 *            Phases, from the first one played, each with fewer hit
+	 *            points than the one before.
+	 */
+	public BossScript(final Phase... phases) {
+		if (phases.length == 0)
+			throw new IllegalArgumentException("A script has a phase.");
+		for (int i = 1; i < phases.length; i++)
+			if (phases[i].hitPoints >= phases[i - 1].hitPoints)
+				throw new IllegalArgumentException(
+						"Each phase has fewer hit points than the one before.");
+		this.phases = phases.clone();
+	}
+
+	/**
+	 * Declares a phase.
+	 *
+	 * @param hitPoints
+	 *            Most hit points the boss has in the phase, it starts once
+	 *            the boss is down to them.
+	 * @param length
+	 *            Milliseconds of the loop.
+	 * @param shots
+	 *            Shots of the loop.
+	 * @return The phase.
+	 */
+	public static Phase phase(final int hitPoints, final int length,
+			final Shot... shots) {
+		return new Phase(hitPoints, length, shots.clone());
+	}
+
+	/**
+	 * Declares a single shot.
+	 *
+	 * @param time
+	 *            Milliseconds into the loop of the shot.
+	 * @param pattern
+	 *            Pattern shot.
+	 * @return The shot.
+	 */
+	public static Shot shot(final int time, final FiringPattern pattern) {
+		return new Shot(time, 1, 1, pattern);
+	}
+
+	/**
+	 * Declares shots repeated at even times.
+	 *
+	 * @param time
+	 *            Milliseconds into the loop of the first shot.
+	 * @param interval
+	 *            Milliseconds between shots.
+	 * @param times
+	 *            Number of shots.
+	 * @param pattern
+	 *            Pattern shot.
+	 * @return The shots.
+	 */
+	public static Shot stream(final int time, final int interval,
+			final int times, final FiringPattern pattern) {
+		return new Shot(time, interval, times, pattern);
+	}
+
+	/**
+	 * Returns the phase played with some hit points left, the last one
+	 * reached.
+	 *
+	 * @param hitPoints
+	 *            Hit points the boss has left.
+	 * @return Number of the phase.
+	 */
+	int getPhaseIndex(final int hitPoints) {
+		int index = 0;
+		while (index + 1 < this.phases.length
+				&& this.phases[index + 1].hitPoints >= hitPoints)
+			index++;
+		return index;
+	}
+
+	/**
+	 * Getter for a phase.
+	 *
+	 * @param index
+	 *            Number of the phase.
+	 * @return The phase.
+	 */
+	Phase getPhase(final int index) {
+		return this.phases[index];
+	}
+}
@@ -0,0 +1,105 @@
+package entity;
+
+import engine.TimingWheel;
+
+/**
+ * Plays a boss script against the time of the level's {@link TimingWheel},
+ * firing every shot that came due since the last frame, so the boss follows
+ * the same time as every other timer of the level. A new phase starts its
+ * loop from the beginning.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class BossTimeline {
+
+	/** Script played. */
+	private final BossScript script;
+	/** Wheel the script's times are measured against. */
+	private final TimingWheel timingWheel;
+	/** Phase being played, -1 before the first frame. */
+	private int phase;
+	/** Time of the wheel the phase started at. */
+	private long phaseStart;
+	/** Time of the wheel shots were fired up to, included. */
+	private long firedUntil;
+	/** Number of shots fired, turning spirals and rings. */
+	private int shots;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param script
+	 *            Script played.
+	 * @param timingWheel
+	 *            Wheel the script's times are measured against, advanced
+	 *            before each frame.
+	 */
+	public BossTimeline(final BossScript script,
+			final TimingWheel timingWheel) {
+		this.script = script;
+		this.timingWheel = timingWheel;
+		this.phase = -1;
+	}
+
+	/**
+	 * Fires the shots due since the last frame, from the phase the boss's hit
+	 * points call for.
+	 *
+	 * @param emitter
+	 *            Takes the bullets shot into the level.
+	 * @param bossX
+	 *            Position of the middle of the boss in the X axis.
+	 * @param bossY
+	 *            Position of the middle of the boss in the Y axis.
+	 * @param hp
+	 *            Hits the boss has left.
+	 * @param targetX
+	 *            Position of the player in the X axis, for aimed patterns.
+	 * @param targetY
+	 *            Position of the player in the Y axis, for aimed patterns.
+	 */
+	public void update(final BulletEmitter emitter, final int bossX,
+			final int bossY, final int hp, final int targetX,
+			final int targetY) {
+		long now = this.timingWheel.getTime();
+		int phase = this.script.getPhaseIndex(hp);
+		if (phase != this.phase) {
+			this.phase = phase;
+			this.phaseStart = now;
+			// Shots at the start of the loop are fired right away.
+			this.firedUntil = now - 1;
+		}
+
+		BossScript.Phase current = this.script.getPhase(phase);
+		int length = current.getLength();
+		long from = this.firedUntil - this.phaseStart;
+		long to = now - this.phaseStart;
+		// Usually the frame is within a single turn of the loop.
+		for (long loop = Math.floorDiv(from + 1, length); loop * length <= to;
+				loop++) {
+			long loopFrom = from - loop * length;
+			long loopTo = to - loop * length;
+			for (int i = 0; i < current.getShotCount(); i++) {
+				BossScript.Shot shot = current.getShot(i);
+				long first = Math.max(0, Math.floorDiv(loopFrom
+						- shot.getTime(), shot.getInterval()) + 1);
+				long last = Math.min(shot.getTimes() - 1, Math.floorDiv(loopTo
+						- shot.getTime(), shot.getInterval()));
+				for (long k = first; k <= last; k++)
+					shot.getPattern().fire(emitter, bossX, bossY, targetX,
+							targetY, this.shots++);
+			}
+		}
+		this.firedUntil = now;
+	}
+
+	/**
+	 * Getter for the phase being played.
+	 *
+	 * @return Number of the phase, -1 before the first frame.
+	 */
+	public int getPhase() {
+		return this.phase;
+	}
+}
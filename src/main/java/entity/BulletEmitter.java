@@ -0,0 +1,30 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Takes the bullets shot by a firing pattern into the level's bullets.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+@FunctionalInterface
+public interface BulletEmitter {
+
+	/**
+	 * Adds a bullet to the level.
+	 *
+	 * @param positionX
+	 *            Position of the center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param speedX
+	 *            Horizontal speed of the bullet, positive is right.
+	 * @param speedY
+	 *            Vertical speed of the bullet, positive is down.
+	 * @param color
+	 *            Color of the bullet.
+	 */
+	void emit(int positionX, int positionY, float speedX, float speedY,
+			Color color);
+}
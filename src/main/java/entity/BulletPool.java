@@ -1,65 +0,0 @@
-package entity;
-
-import java.awt.*;
-import java.util.HashSet;
-import java.util.Set;
-
-/**
- * Implements a pool of recyclable bullets.
- *
- * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
- *
- */
-public final class BulletPool {
-
-	/** Set of already created bullets. */
-	private static Set<Bullet> pool = new HashSet<Bullet>();
-
-	/**
-	 * Constructor, not called.
-	 */
-	private BulletPool() {
-
-	}
-
-	/**
-	 * Returns a bullet from the pool if one is available, a new one if there
-	 * isn't.
-	 *
-	 * @param positionX
-	 *            Requested position of the bullet in the X axis.
-	 * @param positionY
-	 *            Requested position of the bullet in the Y axis.
-	 * @param speed
-	 *            Requested speed of the bullet, positive or negative depending
-	 *            on direction - positive is down.
-	 * @return Requested bullet.
-	 */
-	public static Bullet getBullet(final int positionX,
-								   final int positionY, final int speed, Color color) {
-		Bullet bullet;
-		if (!pool.isEmpty()) {
-			bullet = pool.iterator().next();
-			pool.remove(bullet);
-			bullet.setPositionX(positionX - bullet.getWidth() / 2);
-			bullet.setPositionY(positionY);
-			bullet.setSpeed(speed);
-			bullet.setSprite();
-		} else {
-			bullet = new Bullet(positionX, positionY, speed, color);
-			bullet.setPositionX(positionX - bullet.getWidth() / 2);
-		}
-		return bullet;
-	}
-
-
-	/**
-	 * Adds one or more bullets to the list of available ones.
-	 *
-	 * @param bullet
-	 *            Bullets to recycle.
-	 */
-	public static void recycle(final Set<Bullet> bullet) {
-		pool.addAll(bullet);
-	}
-}
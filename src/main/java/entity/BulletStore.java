@@ -0,0 +1,328 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Keeps every bullet of a level, the player's and the enemies', as columns of
+ * numbers instead of an object per bullet: their positions and speeds in an
+ * {@link Archetype}, what only bullets have in columns of their own. Moving, checking and drawing them
+ * walks the columns in order, and removing bullets only moves the ones kept
+ * to the front, so thousands of bullets can be on screen at once. Each level
+ * has its own store.
+ *
+ * Bullets shot by a firing pattern are the enemies', and are only added while
+ * the store holds fewer bullets than its limit.
+ *
+ * Power-ups dropped by destroyed ships fall through the store as well, as
+ * bullets that hurt no one and carry the power-up they give.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class BulletStore implements BulletEmitter {
+
+	/** Width of a bullet. */
+	public static final int WIDTH = 3 * 2;
+	/** Height of a bullet. */
+	public static final int HEIGHT = 5 * 2;
+
+	/** Bullets, positioned by their upper left corner, and moving. */
+	private final Archetype bullets;
+	/** Color of each bullet. */
+	private Color[] colors;
+	/** Checks if each bullet was shot by the enemies. */
+	private boolean[] enemies;
+	/** Power-up each bullet gives, null for the ones shot. */
+	private PowerUp[] powerUps;
+	/** Most bullets kept before the enemies' are left out. */
+	private int limit;
+
+	/**
+	 * Constructor, the store starts empty.
+	 *
+	 * @param capacity
+	 *            Bullets kept before the store has to grow.
+	 */
+	public BulletStore(final int capacity) {
+		this.bullets = new Archetype(Archetype.POSITION | Archetype.VELOCITY,
+				capacity);
+		this.colors = new Color[capacity];
+		this.enemies = new boolean[capacity];
+		this.powerUps = new PowerUp[capacity];
+		this.limit = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Adds a bullet.
+	 *
+	 * @param positionX
+	 *            Position of the center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param speedX
+	 *            Horizontal speed of the bullet, positive is right.
+	 * @param speedY
+	 *            Vertical speed of the bullet, positive is down.
+	 * @param color
+	 *            Color of the bullet.
+	 * @param enemy
+	 *            Checks if the bullet was shot by the enemies.
+	 */
+	public void add(final int positionX, final int positionY,
+			final float speedX, final float speedY, final Color color,
+			final boolean enemy) {
+		int bullet = this.bullets.add();
+		if (this.bullets.capacity() != this.colors.length)
+			grow();
+		this.bullets.positionsX[bullet] = positionX - WIDTH / 2;
+		this.bullets.positionsY[bullet] = positionY;
+		this.bullets.speedsX[bullet] = speedX;
+		this.bullets.speedsY[bullet] = speedY;
+		this.colors[bullet] = color;
+		this.enemies[bullet] = enemy;
+		this.powerUps[bullet] = null;
+	}
+
+	/**
+	 * Adds a power-up falling down.
+	 *
+	 * @param positionX
+	 *            Position of the center of the power-up in the X axis.
+	 * @param positionY
+	 *            Position of the power-up in the Y axis.
+	 * @param speedY
+	 *            Speed the power-up falls at.
+	 * @param powerUp
+	 *            Power-up given to whoever picks it up.
+	 */
+	public void drop(final int positionX, final int positionY,
+			final float speedY, final PowerUp powerUp) {
+		add(positionX, positionY, 0, speedY, powerUp.getColor(), false);
+		this.powerUps[this.bullets.size - 1] = powerUp;
+	}
+
+	@Override
+	public void emit(final int positionX, final int positionY,
+			final float speedX, final float speedY, final Color color) {
+		if (this.bullets.size < this.limit)
+			add(positionX, positionY, speedX, speedY, color, true);
+	}
+
+	/**
+	 * Sets the most bullets kept before the enemies' are left out. The
+	 * player's bullets are always added.
+	 *
+	 * @param limit
+	 *            Most bullets kept.
+	 */
+	public void setLimit(final int limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Moves every bullet a frame's worth of its speed.
+	 */
+	public void move() {
+		Systems.move(this.bullets);
+	}
+
+	/**
+	 * Moves a range of the bullets a frame's worth of their speed. Ranges
+	 * that don't overlap can be moved at the same time.
+	 *
+	 * @param from
+	 *            First bullet moved.
+	 * @param to
+	 *            Bullet after the last one moved.
+	 */
+	public void move(final int from, final int to) {
+		Systems.move(this.bullets, from, to);
+	}
+
+	/**
+	 * Moves every bullet a frame's worth of its speed, the enemies' slowed
+	 * down.
+	 *
+	 * @param enemySpeed
+	 *            Part of their speed the enemies' bullets move at.
+	 */
+	public void move(final float enemySpeed) {
+		move(0, this.bullets.size, enemySpeed);
+	}
+
+	/**
+	 * Moves a range of the bullets a frame's worth of their speed, the
+	 * enemies' slowed down. Ranges that don't overlap can be moved at the
+	 * same time.
+	 *
+	 * @param from
+	 *            First bullet moved.
+	 * @param to
+	 *            Bullet after the last one moved.
+	 * @param enemySpeed
+	 *            Part of their speed the enemies' bullets move at.
+	 */
+	public void move(final int from, final int to, final float enemySpeed) {
+		Archetype bullets = this.bullets;
+		for (int i = from; i < to; i++) {
+			float speed = this.enemies[i] ? enemySpeed : 1;
+			bullets.positionsX[i] += bullets.speedsX[i] * speed;
+			bullets.positionsY[i] += bullets.speedsY[i] * speed;
+		}
+	}
+
+	/**
+	 * Puts a bullet in another's place, to keep it when bullets before it are
+	 * removed.
+	 *
+	 * @param from
+	 *            Bullet kept.
+	 * @param to
+	 *            Place it's kept at, not after it.
+	 */
+	public void copy(final int from, final int to) {
+		this.bullets.copy(from, to);
+		this.colors[to] = this.colors[from];
+		this.enemies[to] = this.enemies[from];
+		this.powerUps[to] = this.powerUps[from];
+	}
+
+	/**
+	 * Drops the bullets past the ones kept, which have been copied to the
+	 * front.
+	 *
+	 * @param kept
+	 *            Number of bullets kept.
+	 */
+	public void truncate(final int kept) {
+		// Colors past the end aren't kept alive.
+		Arrays.fill(this.colors, kept, this.bullets.size, null);
+		Arrays.fill(this.powerUps, kept, this.bullets.size, null);
+		this.bullets.truncate(kept);
+	}
+
+	/**
+	 * Removes every bullet.
+	 */
+	public void clear() {
+		truncate(0);
+	}
+
+	/**
+	 * Makes the bullets the same as another store's, growing if there's no
+	 * room, such as to keep them for drawing while the other store moves on.
+	 * The limit isn't copied.
+	 *
+	 * @param source
+	 *            Store copied.
+	 */
+	public void copyFrom(final BulletStore source) {
+		int size = source.bullets.size;
+		// Colors past the end aren't kept alive.
+		if (size < this.bullets.size)
+			truncate(size);
+		this.bullets.copyFrom(source.bullets);
+		if (this.bullets.capacity() != this.colors.length)
+			grow();
+		System.arraycopy(source.colors, 0, this.colors, 0, size);
+		System.arraycopy(source.enemies, 0, this.enemies, 0, size);
+		System.arraycopy(source.powerUps, 0, this.powerUps, 0, size);
+	}
+
+	/**
+	 * Grows the columns of the store along with the archetype's.
+	 */
+	private void grow() {
+		int capacity = this.bullets.capacity();
+		this.colors = Arrays.copyOf(this.colors, capacity);
+		this.enemies = Arrays.copyOf(this.enemies, capacity);
+		this.powerUps = Arrays.copyOf(this.powerUps, capacity);
+	}
+
+	/**
+	 * Getter for the number of bullets.
+	 *
+	 * @return Bullets in the store.
+	 */
+	public int size() {
+		return this.bullets.size;
+	}
+
+	/**
+	 * Getter for the X axis position of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Position of the left side of the bullet.
+	 */
+	public int getPositionX(final int index) {
+		return (int) this.bullets.positionsX[index];
+	}
+
+	/**
+	 * Getter for the Y axis position of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Position of the upper side of the bullet.
+	 */
+	public int getPositionY(final int index) {
+		return (int) this.bullets.positionsY[index];
+	}
+
+	/**
+	 * Getter for the horizontal speed of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Horizontal speed, positive is right.
+	 */
+	public float getSpeedX(final int index) {
+		return this.bullets.speedsX[index];
+	}
+
+	/**
+	 * Getter for the vertical speed of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Vertical speed, positive is down.
+	 */
+	public float getSpeedY(final int index) {
+		return this.bullets.speedsY[index];
+	}
+
+	/**
+	 * Getter for the color of a bullet.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Color of the bullet.
+	 */
+	public Color getColor(final int index) {
+		return this.colors[index];
+	}
+
+	/**
+	 * Checks if a bullet was shot by the enemies.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return True for the enemies' bullets, false for the player's.
+	 */
+	public boolean isEnemy(final int index) {
+		return this.enemies[index];
+	}
+
+	/**
+	 * Getter for the power-up a bullet gives.
+	 *
+	 * @param index
+	 *            Bullet number, below the size.
+	 * @return Power-up dropped, null for bullets shot.
+	 */
+	public PowerUp getPowerUp(final int index) {
+		return this.powerUps[index];
+	}
+}
@@ -1,8 +1,5 @@
 package entity;
 
-import engine.Audio;
-import engine.Cooldown;
-import engine.Core;
 import engine.DrawManager.SpriteType;
 
 import java.awt.*;
@@ -16,6 +13,13 @@ import java.awt.*;
  */
 public class EnemyShip extends Entity {
 
+	/** Width of an enemy ship. */
+	public static final int WIDTH = 12 * 2;
+	/** Height of an enemy ship. */
+	public static final int HEIGHT = 8 * 2;
+	/** Times a boss is bigger than other ships. */
+	public static final int BOSS_SCALE = 4;
+
 	/** Point value of a type A enemy. */
 	private static final int A_TYPE_POINTS = 10;
 	/** Point value of a type B enemy. */
@@ -28,15 +32,11 @@ public class EnemyShip extends Entity {
 	/** Point value of Boss. */
 	private static final int BOSS_TYPE_POINTS = 300;
 
-	/** Cooldown between sprite changes. */
-	private Cooldown animationCooldown;
 	/** Checks if the ship has been hit by a bullet. */
 	private boolean isDestroyed;
 	/** Values of the ship, in points, when destroyed. */
 	private int pointValue;
 
-	private static final Audio invaderKilled = new Audio("invaderKilled", false);
-
 	/**
 	 * Constructor, establishes the ship's properties.
 	 *
@@ -49,38 +49,42 @@ public class EnemyShip extends Entity {
 	 */
 	public EnemyShip(final int positionX, final int positionY,
 					 final SpriteType spriteType, int hp, final boolean bossStage) {
-		super(positionX, positionY, 12 * 2, 8 * 2, Color.WHITE);
+		super(positionX, positionY, WIDTH, HEIGHT, Color.WHITE);
 		if (bossStage) {
-			this.width *= 4;
-			this.height *= 4;
+			this.width *= BOSS_SCALE;
+			this.height *= BOSS_SCALE;
 		}
 
 
 		this.spriteType = spriteType;
-		this.animationCooldown = Core.getCooldown(500);
 		this.isDestroyed = false;
 		this.bossStage = bossStage;
 		this.hp = hp;
+		this.pointValue = getPointValue(spriteType);
+	}
 
-		switch (this.spriteType) {
+	/**
+	 * Getter for the score bonus of destroying a kind of ship.
+	 *
+	 * @param spriteType
+	 *            Sprite of the ship, in its first frame.
+	 * @return Value of the ship.
+	 */
+	public static int getPointValue(final SpriteType spriteType) {
+		switch (spriteType) {
 			case EnemyShipA1:
 			case EnemyShipA2:
-				this.pointValue = A_TYPE_POINTS;
-				break;
+				return A_TYPE_POINTS;
 			case EnemyShipB1:
 			case EnemyShipB2:
-				this.pointValue = B_TYPE_POINTS;
-				break;
+				return B_TYPE_POINTS;
 			case EnemyShipC1:
 			case EnemyShipC2:
-				this.pointValue = C_TYPE_POINTS;
-				break;
+				return C_TYPE_POINTS;
 			case EnemyBoss:
-				this.pointValue = BOSS_TYPE_POINTS;
-				break;
+				return BOSS_TYPE_POINTS;
 			default:
-				this.pointValue = 0;
-				break;
+				return 0;
 		}
 	}
 
@@ -96,6 +100,17 @@ public class EnemyShip extends Entity {
 		this.pointValue = BONUS_TYPE_POINTS;
 	}
 
+	/**
+	 * Puts a special ship back at its starting position, so the same ship
+	 * can appear again.
+	 */
+	public final void respawn() {
+		this.positionX = -32;
+		this.positionY = 60;
+		this.spriteType = SpriteType.EnemyShipSpecial;
+		this.isDestroyed = false;
+	}
+
 	/**
 	 * Getter for the score bonus if this ship is destroyed.
 	 *
@@ -118,45 +133,12 @@ public class EnemyShip extends Entity {
 		this.positionY += distanceY;
 	}
 
-	/**
-	 * Updates attributes, mainly used for animation purposes.
-	 */
-	public final void update() {
-		if (this.animationCooldown.checkFinished()) {
-			this.animationCooldown.reset();
-
-			switch (this.spriteType) {
-				case EnemyShipA1:
-					this.spriteType = SpriteType.EnemyShipA2;
-					break;
-				case EnemyShipA2:
-					this.spriteType = SpriteType.EnemyShipA1;
-					break;
-				case EnemyShipB1:
-					this.spriteType = SpriteType.EnemyShipB2;
-					break;
-				case EnemyShipB2:
-					this.spriteType = SpriteType.EnemyShipB1;
-					break;
-				case EnemyShipC1:
-					this.spriteType = SpriteType.EnemyShipC2;
-					break;
-				case EnemyShipC2:
-					this.spriteType = SpriteType.EnemyShipC1;
-					break;
-				default:
-					break;
-			}
-		}
-	}
-
 	/**
 	 * Destroys the ship, causing an explosion.
 	 */
 	public final void destroy() {
 		this.isDestroyed = true;
 		this.spriteType = SpriteType.Explosion;
-		invaderKilled.start();
 	}
 
 	/**
@@ -3,7 +3,7 @@ package entity;
 
 import java.awt.*;
 import java.util.*;
-import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import engine.*;
@@ -11,12 +11,20 @@ import engine.DrawManager.SpriteType;
 import screen.Screen;
 
 /**
- * Groups enemy ships into a formation that moves together.
+ * Groups enemy ships into a formation that moves together. A level may have
+ * several formations, each sweeping its own lane of the screen.
+ *
+ * The ships are kept in an {@link Archetype}, column after column and each
+ * column from top to bottom, with their position, size, hits left and first
+ * sprite frame as columns of numbers, and the {@link Systems} move, sort and
+ * draw them a column at a time. The formation's animation phase picks the
+ * frame every ship is drawn as. A destroyed ship has no hits left, and shows
+ * its explosion until the formation next moves.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
  */
-public class EnemyShipFormation implements Iterable<EnemyShip> {
+public class EnemyShipFormation {
 
 	/** Initial position in the x-axis. */
 	private static final int INIT_POS_X = 20;
@@ -36,6 +44,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private static final int BULLET_SPEED = 4;
 	/** Proportion of differences between shooting times. */
 	private static final double SHOOTING_VARIANCE = .2;
+	/** Width of the screen the formations move in. */
+	private static final int SCREEN_WIDTH = 434;
 	/** Margin on the sides of the screen. */
 	private static final int SIDE_MARGIN = 20;
 	/** Margin on the bottom of the screen. */
@@ -44,24 +54,56 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private static final int DESCENT_DISTANCE = 20;
 	/** Minimum speed allowed. */
 	private static final int MINIMUM_SPEED = 10;
+	/** Milliseconds between sprite changes of the ships. */
+	private static final int ANIMATION_TIME = 500;
+	/** How each kind of ship shoots. */
+	private static final Map<SpriteType, FiringPattern> FIRING_PATTERNS =
+			new EnumMap<SpriteType, FiringPattern>(SpriteType.class);
+
+	static {
+		FiringPattern typeA = FiringPattern.spread(1, 0, BULLET_SPEED,
+				Color.WHITE);
+		FiringPattern typeB = FiringPattern.burst(2, 80, BULLET_SPEED,
+				Color.WHITE);
+		FiringPattern typeC = FiringPattern.spread(1, 0, BULLET_SPEED * 2,
+				Color.WHITE);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipA1, typeA);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipA2, typeA);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipB1, typeB);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipB2, typeB);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipC1, typeC);
+		FIRING_PATTERNS.put(SpriteType.EnemyShipC2, typeC);
+	}
 
-	/** DrawManager instance. */
-	private DrawManager drawManager;
 	/** Application logger. */
 	private Logger logger;
 	/** Screen to draw ships on. */
 	private Screen screen;
 
-	/** List of enemy ships forming the formation. */
-	private List<List<EnemyShip>> enemyShips;
+	/** Ships of the formation, column after column. */
+	private Archetype ships;
+	/** Column each ship was laid out in. */
+	private int[] columns;
+	/** Value of each ship, in points, when destroyed. */
+	private int[] pointValues;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
+	/** Time between sprite changes of every ship. */
+	private Cooldown animationCooldown;
+	/** Sprite changes of the ships so far, the frame drawn follows it. */
+	private int animationPhase;
 
 	/** UFO 출현 후 쿨다운 */
 	private Cooldown specialCooldown;
 
 	/** boss stage check */
 	private boolean isBoss;
+	/** Plays the boss's script, null if it isn't a boss fight. */
+	private BossTimeline bossTimeline;
+	/** Clock the formation's cooldowns are measured against, in its wheel. */
+	private Clock clock;
+	/** Source of the formation's random choices. */
+	private Random random;
 
 	/** Number of ships in the formation - horizontally. */
 	private int nShipsWide;
@@ -89,23 +131,45 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private int positionX;
 	/** Position in the y-axis of the upper left corner of the formation. */
 	private int positionY;
+	/** Left side of the lane the formation moves in. */
+	private int laneLeft;
+	/** Right side of the lane the formation moves in. */
+	private int laneRight;
 	/** Width of one ship. */
 	private int shipWidth;
 	/** Height of one ship. */
 	private int shipHeight;
-	/** List of ships that are able to shoot. */
-	private List<EnemyShip> shooters;
+	/** Ships that are able to shoot, the bottom one left of each column. */
+	private int[] shooters;
+	/** Number of ships that are able to shoot. */
+	private int shooterCount;
 	/** Number of not destroyed ships. */
 	private int shipCount;
 
-	private Audio fastInvader1;
-	private Audio fastInvader2;
-	private Audio fastInvader3;
-	private Audio fastInvader4;
-	private int moveCnt;
+	/** Number of steps the formation has taken. */
+	private int moves;
+	/** Number of shots fired, turning spiral patterns. */
+	private int shots;
 
 	private Map<SpriteType, boolean[][]> spriteMap;
 
+	/** Splits moving the ships across threads, null if it isn't. */
+	private ParallelTick parallelTick;
+	/** Moves a range of the ships. */
+	private ParallelTick.Range shipMover;
+	/** Movement of this step in the x-axis, for the ships moved. */
+	private int stepX;
+	/** Movement of this step in the y-axis, for the ships moved. */
+	private int stepY;
+
+
+	/** Ways a formation can move across its lane. */
+	public enum Movement {
+		/** Starts at the left of the lane, moving right. */
+		SWEEP,
+		/** Starts at the right of the lane, moving left. */
+		MIRRORED
+	};
 
 	/** Directions the formation can move. */
 	private enum Direction {
@@ -122,86 +186,204 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *
 	 * @param gameSettings
 	 *            Current game settings.
+	 * @param clock
+	 *            Clock the formation's cooldowns are measured against.
+	 * @param random
+	 *            Source of the formation's random choices.
+	 */
+	public EnemyShipFormation(final GameSettings gameSettings,
+			final Clock clock, final Random random) {
+		this(gameSettings, clock, random, BossScript.DEFAULT);
+	}
+
+	/**
+	 * Constructor, sets the initial conditions of a formation whose boss
+	 * plays a given script.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param clock
+	 *            Clock the formation's cooldowns are measured against.
+	 * @param random
+	 *            Source of the formation's random choices.
+	 * @param bossScript
+	 *            How the boss shoots, if it's a boss fight.
+	 */
+	public EnemyShipFormation(final GameSettings gameSettings,
+			final Clock clock, final Random random,
+			final BossScript bossScript) {
+		this(gameSettings, clock, random, bossScript, 0, SCREEN_WIDTH,
+				Movement.SWEEP);
+	}
+
+	/**
+	 * Constructor, sets the initial conditions of a formation moving in a
+	 * lane of the screen.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param clock
+	 *            Clock the formation's cooldowns are measured against.
+	 * @param random
+	 *            Source of the formation's random choices.
+	 * @param bossScript
+	 *            How the boss shoots, if it's a boss fight.
+	 * @param laneLeft
+	 *            Left side of the lane the formation moves in.
+	 * @param laneRight
+	 *            Right side of the lane the formation moves in.
+	 * @param movement
+	 *            How the formation moves across its lane.
 	 */
-	public EnemyShipFormation(final GameSettings gameSettings) {
-		this.drawManager = Core.getDrawManager();
+	public EnemyShipFormation(final GameSettings gameSettings,
+			final Clock clock, final Random random,
+			final BossScript bossScript, final int laneLeft,
+			final int laneRight, final Movement movement) {
 		this.logger = Core.getLogger();
-		this.enemyShips = new ArrayList<List<EnemyShip>>();
-		this.currentDirection = Direction.RIGHT;
+		this.currentDirection = movement == Movement.MIRRORED
+				? Direction.LEFT : Direction.RIGHT;
+		this.laneLeft = laneLeft;
+		this.laneRight = laneRight;
 		this.movementInterval = 0;
 		this.isBoss = gameSettings.getIsBoss();
+		if (this.isBoss)
+			this.bossTimeline = new BossTimeline(bossScript,
+					clock.getTimingWheel());
+		this.clock = clock;
+		this.random = random;
 		this.nShipsWide = gameSettings.getFormationWidth();
 		this.nShipsHigh = gameSettings.getFormationHeight();
 		this.shootingInterval = gameSettings.getShootingFrecuency();
 		this.shootingVariance = (int) (gameSettings.getShootingFrecuency()
 				* SHOOTING_VARIANCE);
 
-		this.specialCooldown = Core.getVariableCooldown(22000 + (int)(Math.random() * 1000 +100), 1);
+		this.specialCooldown = Core.getVariableCooldown(22000 + (int)(random.nextDouble() * 1000 +100), 1, clock.getTimingWheel(), random);
 
 		this.baseSpeed = gameSettings.getBaseSpeed();
 		this.movementSpeed = this.baseSpeed;
-		this.positionX = INIT_POS_X;
+		this.positionX = laneLeft + INIT_POS_X;
 		this.positionY = INIT_POS_Y;
-		this.shooters = new ArrayList<EnemyShip>();
+		this.animationCooldown = Core.getCooldown(ANIMATION_TIME,
+				clock.getTimingWheel());
 		SpriteType spriteType;
 
-		fastInvader1 = new Audio("fastInvader1", false);
-		fastInvader2 = new Audio("fastInvader2", false);
-		fastInvader3 = new Audio("fastInvader3", false);
-		fastInvader4 = new Audio("fastInvader4", false);
-		moveCnt = 1;
-
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
 				+ " ship formation in (" + positionX + "," + positionY + ")");
 
-		// Each sub-list is a column on the formation.
-		for (int i = 0; i < this.nShipsWide; i++)
-			this.enemyShips.add(new ArrayList<EnemyShip>());
+		int capacity = this.nShipsWide * this.nShipsHigh;
+		this.ships = new Archetype(Archetype.POSITION | Archetype.SIZE
+				| Archetype.HEALTH | Archetype.SPRITE, capacity);
+		this.columns = new int[capacity];
+		this.pointValues = new int[capacity];
+		this.shooters = new int[this.nShipsWide];
+		this.shipWidth = EnemyShip.WIDTH;
+		this.shipHeight = EnemyShip.HEIGHT;
+		if (this.isBoss) {
+			this.shipWidth *= EnemyShip.BOSS_SCALE;
+			this.shipHeight *= EnemyShip.BOSS_SCALE;
+		}
 
-		for (List<EnemyShip> column : this.enemyShips) {
+		for (int column = 0; column < this.nShipsWide; column++) {
 			for (int i = 0; i < this.nShipsHigh; i++) {
 				if (isBoss) {
-					spriteType = SpriteType.EnemyBoss;
-					column.add(new EnemyShip(positionX, positionY, spriteType, 10,true));
+					add(column, positionX, positionY, SpriteType.EnemyBoss,
+							10);
 				} else {
-					if (i / (float) this.nShipsHigh < PROPORTION_C) {
-						spriteType = SpriteType.EnemyShipC1;
-						column.add(new EnemyShip((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType, 4, false));
-					}
-					else if (i / (float) this.nShipsHigh < PROPORTION_B
-							+ PROPORTION_C) {
-						spriteType = SpriteType.EnemyShipB1;
-						column.add(new EnemyShip((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType, 3, false));
+					spriteType = gameSettings.getRowType(i);
+					int hp = gameSettings.getRowHitPoints(i);
+					if (spriteType == null) {
+						// Default mix, from C at the top to A at the bottom.
+						if (i / (float) this.nShipsHigh < PROPORTION_C) {
+							spriteType = SpriteType.EnemyShipC1;
+							hp = 4;
+						} else if (i / (float) this.nShipsHigh < PROPORTION_B
+								+ PROPORTION_C) {
+							spriteType = SpriteType.EnemyShipB1;
+							hp = 3;
+						} else {
+							spriteType = SpriteType.EnemyShipA1;
+							hp = 2;
+						}
 					}
-					else {
-						spriteType = SpriteType.EnemyShipA1;
-						column.add(new EnemyShip((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType, 2, false));
-					}
-
+					add(column, (SEPARATION_DISTANCE * column) + positionX,
+							(SEPARATION_DISTANCE * i) + positionY, spriteType,
+							hp);
 				}
 				this.shipCount++;
 			}
 		}
 
-		this.shipWidth = this.enemyShips.get(0).get(0).getWidth() ;
-		this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
-
 		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
 				+ this.shipWidth;
 		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
 				+ this.shipHeight;
-		System.out.println(this.width + " , " + this.height);
-		for (List<EnemyShip> column : this.enemyShips)
-			this.shooters.add(column.get(column.size() - 1));
+		findShooters();
+
+		if (movement == Movement.MIRRORED) {
+			// Laid out from the left, moved to the right of the lane.
+			int shift = laneRight - INIT_POS_X - this.width - this.positionX;
+			Systems.translate(this.ships, 0, this.ships.size(), shift, 0);
+			this.positionX += shift;
+		}
+	}
+
+	/**
+	 * Adds a ship to the formation, below the ships of its column.
+	 *
+	 * @param column
+	 *            Column the ship is laid out in.
+	 * @param positionX
+	 *            Initial position of the ship in the X axis.
+	 * @param positionY
+	 *            Initial position of the ship in the Y axis.
+	 * @param spriteType
+	 *            Sprite of the ship, in its first frame.
+	 * @param hp
+	 *            Hits the ship takes to be destroyed.
+	 */
+	private void add(final int column, final int positionX,
+			final int positionY, final SpriteType spriteType, final int hp) {
+		int ship = this.ships.add();
+		if (this.ships.capacity() != this.columns.length) {
+			this.columns = Arrays.copyOf(this.columns,
+					this.ships.capacity());
+			this.pointValues = Arrays.copyOf(this.pointValues,
+					this.ships.capacity());
+		}
+		this.ships.positionsX[ship] = positionX;
+		this.ships.positionsY[ship] = positionY;
+		this.ships.widths[ship] = this.shipWidth;
+		this.ships.heights[ship] = this.shipHeight;
+		this.ships.hps[ship] = hp;
+		this.ships.sprites[ship] = spriteType.ordinal();
+		this.columns[ship] = column;
+		this.pointValues[ship] = EnemyShip.getPointValue(spriteType);
+	}
+
+	/**
+	 * Builds the formations of a level, each in its own lane of the screen.
+	 * Every other formation moves mirrored, starting from the right of its
+	 * lane.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param clock
+	 *            Clock the formations' cooldowns are measured against.
+	 * @param random
+	 *            Source of the formations' random choices.
+	 * @return The formations, from left to right.
+	 */
+	public static EnemyShipFormation[] createAll(
+			final GameSettings gameSettings, final Clock clock,
+			final Random random) {
+		int count = gameSettings.getFormationCount();
+		EnemyShipFormation[] formations = new EnemyShipFormation[count];
+		for (int i = 0; i < count; i++)
+			formations[i] = new EnemyShipFormation(gameSettings, clock,
+					random, BossScript.DEFAULT, i * SCREEN_WIDTH / count,
+					(i + 1) * SCREEN_WIDTH / count,
+					i % 2 == 0 ? Movement.SWEEP : Movement.MIRRORED);
+		return formations;
 	}
 
 
@@ -217,13 +399,27 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 
 	/**
-	 * Draws every individual component of the formation.
+	 * Adds every ship of the formation to a snapshot of the frame, as it's
+	 * drawn now.
+	 *
+	 * @param snapshot
+	 *            Snapshot of the frame.
+	 */
+	public final void addTo(final FrameSnapshot snapshot) {
+		Systems.render(this.ships, this.animationPhase, Color.WHITE,
+				snapshot);
+	}
+
+	/**
+	 * Sorts the ships left of the formation into a grid by where they are.
+	 *
+	 * @param grid
+	 *            Grid the ships are added to, by their number.
+	 * @param tag
+	 *            Tag of the formation in the grid.
 	 */
-	public final void draw() {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
-						enemyShip.getPositionY());
+	public final void addTo(final SpatialGrid grid, final int tag) {
+		Systems.index(this.ships, grid, tag);
 	}
 
 	/**
@@ -232,12 +428,13 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	public final void update() {
 		if(this.shootingCooldown == null) {
 			this.shootingCooldown = Core.getVariableCooldown(shootingInterval,
-					shootingVariance);
+					shootingVariance, this.clock.getTimingWheel(), this.random);
 			this.shootingCooldown.reset();
 		}
 
 		if(this.specialCooldown == null) {
-			this.specialCooldown = Core.getVariableCooldown(2000, 1);
+			this.specialCooldown = Core.getVariableCooldown(2000, 1,
+					this.clock.getTimingWheel(), this.random);
 			this.specialCooldown.reset();
 		}
 
@@ -258,39 +455,39 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 			boolean isAtBottom = positionY
 					+ this.height > 497 - BOTTOM_MARGIN;
 			boolean isAtRightSide = positionX
-					+ this.width >= 434 - SIDE_MARGIN;
+					+ this.width >= this.laneRight - SIDE_MARGIN;
 
-			boolean isAtLeftSide = positionX <= SIDE_MARGIN;
+			boolean isAtLeftSide = positionX <= this.laneLeft + SIDE_MARGIN;
 			boolean isAtHorizontalAltitude = positionY % DESCENT_DISTANCE == 0;
 
 			if (currentDirection == Direction.DOWN) {
 				if (isAtHorizontalAltitude)
 					if (previousDirection == Direction.RIGHT) {
 						currentDirection = Direction.LEFT;
-						this.logger.info("Formation now moving left 1");
+						this.logger.fine("Formation now moving left 1");
 					} else {
 						currentDirection = Direction.RIGHT;
-						this.logger.info("Formation now moving right 2");
+						this.logger.fine("Formation now moving right 2");
 					}
 			} else if (currentDirection == Direction.LEFT) {
 				if (isAtLeftSide)
 					if (!isAtBottom) {
 						previousDirection = currentDirection;
 						currentDirection = Direction.DOWN;
-						this.logger.info("Formation now moving down 3");
+						this.logger.fine("Formation now moving down 3");
 					} else {
 						currentDirection = Direction.RIGHT;
-						this.logger.info("Formation now moving right 4");
+						this.logger.fine("Formation now moving right 4");
 					}
 			} else {
 				if (isAtRightSide)
 					if (!isAtBottom) {
 						previousDirection = currentDirection;
 						currentDirection = Direction.DOWN;
-						this.logger.info("Formation now moving down 5");
+						this.logger.fine("Formation now moving down 5");
 					} else {
 						currentDirection = Direction.LEFT;
-						this.logger.info("Formation now moving left 6");
+						this.logger.fine("Formation now moving left 6");
 					}
 			}
 
@@ -303,83 +500,108 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 			positionX += movementX;
 			positionY += movementY;
-			switch (moveCnt) {
-				case 1:
-					fastInvader4.start();
-					moveCnt++;
-					break;
-				case 2:
-					fastInvader1.start();
-					moveCnt++;
-					break;
-				case 3:
-					fastInvader2.start();
-					moveCnt++;
-					break;
-				case 4:
-					fastInvader3.start();
-					moveCnt = 1;
-					break;
-			}
+			this.moves++;
 
-			// Cleans explosions.
-			List<EnemyShip> destroyed;
-			for (List<EnemyShip> column : this.enemyShips) {
-				destroyed = new ArrayList<EnemyShip>();
-				for (EnemyShip ship : column) {
-					if (ship != null && ship.isDestroyed()) {
-						destroyed.add(ship);
-						this.logger.info("Removed enemy "
-								+ column.indexOf(ship) + " from column "
-								+ this.enemyShips.indexOf(column));
-					}
-				}
-				column.removeAll(destroyed);
+			// One clock check animates the whole formation.
+			if (this.animationCooldown.checkFinished()) {
+				this.animationCooldown.reset();
+				this.animationPhase++;
 			}
 
-			for (List<EnemyShip> column : this.enemyShips)
-				for (EnemyShip enemyShip : column) {
-					enemyShip.move(movementX, movementY);
-					enemyShip.update();
-				}
+			// Ships destroyed since the last step have shown their
+			// explosion until now.
+			cleanExplosions();
+
+			this.stepX = movementX;
+			this.stepY = movementY;
+			if (this.parallelTick != null
+					&& this.parallelTick.isWorthSplitting(this.shipCount))
+				this.parallelTick.forEach(this.ships.size(), this.shipMover);
+			else
+				moveShips(0, this.ships.size());
 		}
 
 
 	}
 
 	/**
-	 * Cleans empty columns, adjusts the width and height of the formation.
+	 * Removes the destroyed ships, keeping the others in their order. Called
+	 * on every step, so an explosion shows for what's left of the movement
+	 * interval it happened in.
 	 */
-	private void cleanUp() {
-		Set<Integer> emptyColumns = new HashSet<Integer>();
-		int maxColumn = 0;
-		int minPositionY = Integer.MAX_VALUE;
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				// Height of this column
-				int columnSize = column.get(column.size() - 1).positionY
-						- this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, column.get(0)
-						.getPositionY());
-			} else {
-				// Empty column, we remove it.
-				emptyColumns.add(this.enemyShips.indexOf(column));
+	private void cleanExplosions() {
+		Archetype ships = this.ships;
+		int kept = 0;
+		for (int i = 0; i < ships.size(); i++) {
+			if (ships.hps[i] <= 0) {
+				if (this.logger.isLoggable(Level.INFO))
+					this.logger.info("Removed enemy from column "
+							+ this.columns[i]);
+				continue;
 			}
+			ships.copy(i, kept);
+			this.columns[kept] = this.columns[i];
+			this.pointValues[kept] = this.pointValues[i];
+			kept++;
 		}
-		for (int index : emptyColumns) {
-			this.enemyShips.remove(index);
-			logger.info("Removed column " + index);
+		if (kept != ships.size()) {
+			ships.truncate(kept);
+			// The shooters are the same ships, in new places.
+			findShooters();
 		}
+	}
 
+	/**
+	 * Moves a range of the ships by this step's movement. Ranges that don't
+	 * overlap can be moved at the same time.
+	 *
+	 * @param from
+	 *            First ship moved.
+	 * @param to
+	 *            Ship after the last one moved.
+	 */
+	private void moveShips(final int from, final int to) {
+		Systems.translate(this.ships, from, to, this.stepX, this.stepY);
+	}
+
+	/**
+	 * Splits moving the ships across threads from now on, once there are
+	 * enough of them.
+	 *
+	 * @param parallelTick
+	 *            Splits the work across threads, null to use one.
+	 */
+	public final void setParallelTick(final ParallelTick parallelTick) {
+		this.parallelTick = parallelTick;
+		if (parallelTick != null && this.shipMover == null)
+			this.shipMover = this::moveShips;
+	}
+
+	/**
+	 * Adjusts the width and height of the formation to the columns left.
+	 */
+	private void cleanUp() {
+		Archetype ships = this.ships;
+		int maxColumn = 0;
+		int minPositionY = Integer.MAX_VALUE;
 		int leftMostPoint = 0;
 		int rightMostPoint = 0;
-
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
+		for (int i = 0; i < ships.size(); i++) {
+			int column = this.columns[i];
+			if (i == 0 || this.columns[i - 1] != column) {
+				// Top of the column.
+				int positionX = (int) ships.positionsX[i];
+				minPositionY = Math.min(minPositionY,
+						(int) ships.positionsY[i]);
 				if (leftMostPoint == 0)
-					leftMostPoint = column.get(0).getPositionX();
-				rightMostPoint = column.get(0).getPositionX();
+					leftMostPoint = positionX;
+				rightMostPoint = positionX;
+			}
+			if (i == ships.size() - 1 || this.columns[i + 1] != column) {
+				// Height of this column
+				int columnSize = (int) ships.positionsY[i] - this.positionY
+						+ this.shipHeight;
+				maxColumn = Math.max(maxColumn, columnSize);
 			}
 		}
 
@@ -391,119 +613,291 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 
 	/**
-	 * Shoots a bullet downwards.
+	 * Shoots with a random ship of the bottom row, once the formation is
+	 * ready to shoot again, as the ship's firing pattern says. A boss shoots
+	 * as its script says instead.
 	 *
-	 * @param bullets
-	 *            Bullets set to add the bullet being shot.
+	 * @param emitter
+	 *            Takes the bullets shot into the level.
+	 * @param targetX
+	 *            Position of the player in the X axis, for aimed patterns.
+	 * @param targetY
+	 *            Position of the player in the Y axis, for aimed patterns.
 	 */
-	public final void shoot(final Set<Bullet> bullets) {
+	public final void shoot(final BulletEmitter emitter, final int targetX,
+			final int targetY) {
+		if (this.bossTimeline != null) {
+			if (this.shooterCount > 0) {
+				int boss = this.shooters[0];
+				this.bossTimeline.update(emitter, getCenterX(boss),
+						getCenterY(boss), this.ships.hps[boss], targetX,
+						targetY);
+			}
+			return;
+		}
+		if (this.shooterCount == 0)
+			return;
+
 		// For now, only ships in the bottom row are able to shoot.
-		int index = (int) (Math.random() * this.shooters.size());
-		EnemyShip shooter = this.shooters.get(index);
+		int index = (int) (this.random.nextDouble() * this.shooterCount);
+		int shooter = this.shooters[index];
 
 		if (this.shootingCooldown.checkFinished()) {
 			this.shootingCooldown.reset();
-			if (shooter.getSpriteType().toString() == "EnemyBoss") {
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY() + shooter.height / 2, BULLET_SPEED * 2, Color.red));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 3, shooter.getPositionY() + shooter.height / 2, BULLET_SPEED * 2, Color.red));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width * 2 / 3, shooter.getPositionY() + shooter.height / 2, BULLET_SPEED * 2, Color.red));
-			}
-			else if (shooter.getSpriteType().toString() == "EnemyShipA1" || shooter.getSpriteType().toString() == "EnemyShipA2") {
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED, Color.white));
-			}
-			else if (shooter.getSpriteType().toString() == "EnemyShipB1" || shooter.getSpriteType().toString() == "EnemyShipB2") {
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED, Color.white));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY() - 80, BULLET_SPEED, Color.white));
-			}
-			else {
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2, Color.white));
-			}
-
+			FIRING_PATTERNS.get(getSpriteType(shooter)).fire(emitter,
+					getCenterX(shooter), getCenterY(shooter), targetX,
+					targetY, this.shots++);
 		}
 	}
 
+	/**
+	 * Getter for the firing pattern of a kind of ship.
+	 *
+	 * @param spriteType
+	 *            Sprite of the ship.
+	 * @return Pattern the ship shoots with, null for the boss, which
+	 *         shoots as its script says.
+	 */
+	public static FiringPattern getFiringPattern(final SpriteType spriteType) {
+		return FIRING_PATTERNS.get(spriteType);
+	}
+
+	/**
+	 * Takes a hit off a ship, destroying it if it was its last.
+	 *
+	 * @param ship
+	 *            Number of the ship hit.
+	 * @return True if the ship was destroyed.
+	 */
+	public final boolean hit(final int ship) {
+		if (this.ships.hps[ship] == 1) {
+			destroy(ship);
+			return true;
+		}
+		this.ships.hps[ship]--;
+		return false;
+	}
 
 	/**
-	 * Destroys a ship.
+	 * Destroys a ship, leaving its explosion until the formation next moves.
 	 *
-	 * @param destroyedShip
-	 *            Ship to be destroyed.
-	 */
-	public final void destroy(final EnemyShip destroyedShip) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i).equals(destroyedShip)) {
-					column.get(i).destroy();
-					this.logger.info("Destroyed ship in ("
-							+ this.enemyShips.indexOf(column) + "," + i + ")");
-				}
+	 * @param ship
+	 *            Number of the ship to be destroyed.
+	 */
+	public final void destroy(final int ship) {
+		this.ships.hps[ship] = 0;
+		this.ships.sprites[ship] = SpriteType.Explosion.ordinal();
+		if (this.logger.isLoggable(Level.INFO))
+			this.logger.info("Destroyed ship in column " + this.columns[ship]);
 
 		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+		int shooterCount = this.shooterCount;
+		findShooters();
+		if (this.shooterCount < shooterCount
+				&& this.logger.isLoggable(Level.INFO))
+			this.logger.info("Shooters list reduced to " + this.shooterCount
+					+ " members.");
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
+		this.shipCount--;
+	}
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
+	/**
+	 * Finds the ships in charge of shooting, the bottom one not destroyed
+	 * of each column that has any.
+	 */
+	private void findShooters() {
+		this.shooterCount = 0;
+		int shooter = -1;
+		for (int i = 0; i < this.ships.size(); i++) {
+			if (this.ships.hps[i] > 0)
+				shooter = i;
+			if (shooter >= 0 && (i == this.ships.size() - 1
+					|| this.columns[i + 1] != this.columns[i])) {
+				this.shooters[this.shooterCount++] = shooter;
+				shooter = -1;
 			}
 		}
+	}
 
-		this.shipCount--;
+	/**
+	 * Getter for the number of steps the formation has taken, so the screen
+	 * can play a sound with each one.
+	 *
+	 * @return Steps taken since the formation was created.
+	 */
+	public final int getMoves() {
+		return this.moves;
 	}
 
 	/**
-	 * Gets the ship on a given column that will be in charge of shooting.
+	 * Getter for the number of columns left, each with a ship at the bottom
+	 * that can shoot.
 	 *
-	 * @param column
-	 *            Column to search.
-	 * @return New shooter ship.
-	 */
-	public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-		Iterator<EnemyShip> iterator = column.iterator();
-		EnemyShip nextShooter = null;
-		while (iterator.hasNext()) {
-			EnemyShip checkShip = iterator.next();
-			if (checkShip != null && !checkShip.isDestroyed())
-				nextShooter = checkShip;
-		}
+	 * @return Number of shooters.
+	 */
+	public final int getShooterCount() {
+		return this.shooterCount;
+	}
+
+	/**
+	 * Getter for the ship at the bottom of a column.
+	 *
+	 * @param index
+	 *            Column number, below the shooter count.
+	 * @return Number of the ship that can shoot from that column.
+	 */
+	public final int getShooter(final int index) {
+		return this.shooters[index];
+	}
+
+	/**
+	 * Getter for the number of ships, destroyed ones still showing their
+	 * explosion included.
+	 *
+	 * @return Ships kept by the formation.
+	 */
+	public final int size() {
+		return this.ships.size();
+	}
+
+	/**
+	 * Getter for the X axis position of a ship.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Position of the left side of the ship.
+	 */
+	public final int getPositionX(final int ship) {
+		return (int) this.ships.positionsX[ship];
+	}
+
+	/**
+	 * Getter for the Y axis position of a ship.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Position of the upper side of the ship.
+	 */
+	public final int getPositionY(final int ship) {
+		return (int) this.ships.positionsY[ship];
+	}
+
+	/**
+	 * Getter for the width of a ship.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Width of the ship.
+	 */
+	public final int getWidth(final int ship) {
+		return this.ships.widths[ship];
+	}
+
+	/**
+	 * Getter for the height of a ship.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Height of the ship.
+	 */
+	public final int getHeight(final int ship) {
+		return this.ships.heights[ship];
+	}
 
-		return nextShooter;
+	/**
+	 * Getter for the position of the middle of a ship in the X axis.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Position of the middle of the ship.
+	 */
+	private int getCenterX(final int ship) {
+		return getPositionX(ship) + this.ships.widths[ship] / 2;
 	}
 
 	/**
-	 * Returns an iterator over the ships in the formation.
+	 * Getter for the position of the middle of a ship in the Y axis.
 	 *
-	 * @return Iterator over the enemy ships.
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Position of the middle of the ship.
 	 */
-	@Override
-	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
+	private int getCenterY(final int ship) {
+		return getPositionY(ship) + this.ships.heights[ship] / 2;
+	}
 
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				enemyShipsList.add(enemyShip);
+	/**
+	 * Getter for the hits a ship has left.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Hits left, none if it's destroyed.
+	 */
+	public final int getHp(final int ship) {
+		return this.ships.hps[ship];
+	}
 
-		return enemyShipsList.iterator();
+	/**
+	 * Getter for the sprite a ship is drawn as now.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Sprite of the ship.
+	 */
+	public final SpriteType getSpriteType(final int ship) {
+		return Archetype.SPRITE_TYPES[this.ships.sprites[ship]];
+	}
+
+	/**
+	 * Getter for the score bonus if a ship is destroyed.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return Value of the ship.
+	 */
+	public final int getPointValue(final int ship) {
+		return this.pointValues[ship];
+	}
+
+	/**
+	 * Checks if a ship has been destroyed.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @return True if the ship has been destroyed.
+	 */
+	public final boolean isDestroyed(final int ship) {
+		return this.ships.hps[ship] <= 0;
+	}
+
+	/**
+	 * Checks if a ship overlaps an area, such as a bullet.
+	 *
+	 * @param ship
+	 *            Ship number, below the size.
+	 * @param positionX
+	 *            Position of the left side of the area.
+	 * @param positionY
+	 *            Position of the upper side of the area.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @return True if they overlap.
+	 */
+	public final boolean overlaps(final int ship, final int positionX,
+			final int positionY, final int width, final int height) {
+		return Systems.overlaps(this.ships, ship, positionX, positionY, width,
+				height);
+	}
+
+	/**
+	 * Getter for the number of ships not destroyed.
+	 *
+	 * @return Ships left in the formation.
+	 */
+	public final int getShipCount() {
+		return this.shipCount;
 	}
 
 	/**
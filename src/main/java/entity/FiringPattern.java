@@ -0,0 +1,316 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Describes how an enemy shoots: how many bullets each shot has, which way
+ * they go and how fast. Patterns are declared once and shared by every ship
+ * firing them; the directions are worked out when the pattern is declared,
+ * so firing only adds bullets.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class FiringPattern {
+
+	/** Ways a pattern can lay out its bullets. */
+	public enum Kind {
+		/** Fan of bullets around straight down. */
+		SPREAD,
+		/** Line of bullets straight down, one behind the other. */
+		BURST,
+		/** Fan of bullets around the direction of the player. */
+		AIMED,
+		/** Arms turning a step further with every shot. */
+		SPIRAL,
+		/** Bullets evenly around the ship, every other shot turned half way. */
+		RING
+	}
+
+	/** Directions a spiral turns through, across the lower half. */
+	private static final int SPIRAL_STEPS = 24;
+	/** Widest angle of a spiral from straight down, in degrees. */
+	private static final int SPIRAL_WIDTH = 75;
+
+	/** How the bullets are laid out. */
+	private final Kind kind;
+	/** Bullets in a shot, or arms of a spiral. */
+	private final int count;
+	/** Degrees between bullets, or pixels between them in a burst. */
+	private final int spacing;
+	/** Speed of the bullets. */
+	private final int speed;
+	/** Color of the bullets. */
+	private final Color color;
+	/** Horizontal speed of each direction shot. */
+	private final float[] speedsX;
+	/** Vertical speed of each direction shot. */
+	private final float[] speedsY;
+
+	/**
+	 * Constructor, works out the directions of the pattern.
+	 *
+	 * @param kind
+	 *            How the bullets are laid out.
+	 * @param count
+	 *            Bullets in a shot, or arms of a spiral.
+	 * @param spacing
+	 *            Degrees between bullets, or pixels between them in a burst.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 */
+	private FiringPattern(final Kind kind, final int count, final int spacing,
+			final int speed, final Color color) {
+		if (count < 1 || speed < 1)
+			throw new IllegalArgumentException(
+					"A pattern shoots at least one moving bullet.");
+		this.kind = kind;
+		this.count = count;
+		this.spacing = spacing;
+		this.speed = speed;
+		this.color = color;
+
+		int directions;
+		switch (kind) {
+			case SPREAD:
+				directions = count;
+				break;
+			case SPIRAL:
+				directions = SPIRAL_STEPS;
+				break;
+			case RING:
+				directions = count * 2;
+				break;
+			default:
+				directions = 0;
+				break;
+		}
+		this.speedsX = new float[directions];
+		this.speedsY = new float[directions];
+		for (int i = 0; i < directions; i++) {
+			double angle;
+			if (kind == Kind.SPREAD)
+				angle = (i - (count - 1) / 2.0) * spacing;
+			else if (kind == Kind.RING)
+				// Half steps, even ones for even shots and odd ones for odd.
+				angle = 180.0 * i / count;
+			else
+				angle = -SPIRAL_WIDTH + 2.0 * SPIRAL_WIDTH * i
+						/ (SPIRAL_STEPS - 1);
+			this.speedsX[i] = speedX(speed, Math.toRadians(angle));
+			this.speedsY[i] = speedY(speed, Math.toRadians(angle));
+		}
+	}
+
+	/**
+	 * Declares a fan of bullets around straight down. A single bullet goes
+	 * straight down.
+	 *
+	 * @param count
+	 *            Bullets in a shot.
+	 * @param angle
+	 *            Degrees between bullets.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 * @return The pattern.
+	 */
+	public static FiringPattern spread(final int count, final int angle,
+			final int speed, final Color color) {
+		return new FiringPattern(Kind.SPREAD, count, angle, speed, color);
+	}
+
+	/**
+	 * Declares a line of bullets straight down, one behind the other.
+	 *
+	 * @param count
+	 *            Bullets in a shot.
+	 * @param distance
+	 *            Pixels between bullets.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 * @return The pattern.
+	 */
+	public static FiringPattern burst(final int count, final int distance,
+			final int speed, final Color color) {
+		return new FiringPattern(Kind.BURST, count, distance, speed, color);
+	}
+
+	/**
+	 * Declares a fan of bullets around the direction of the player.
+	 *
+	 * @param count
+	 *            Bullets in a shot.
+	 * @param angle
+	 *            Degrees between bullets.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 * @return The pattern.
+	 */
+	public static FiringPattern aimed(final int count, final int angle,
+			final int speed, final Color color) {
+		return new FiringPattern(Kind.AIMED, count, angle, speed, color);
+	}
+
+	/**
+	 * Declares arms sweeping across the lower half, a step further with each
+	 * shot.
+	 *
+	 * @param arms
+	 *            Bullets in a shot, evenly apart.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 * @return The pattern.
+	 */
+	public static FiringPattern spiral(final int arms, final int speed,
+			final Color color) {
+		return new FiringPattern(Kind.SPIRAL, arms, 0, speed, color);
+	}
+
+	/**
+	 * Declares bullets evenly around the ship, in every direction. Every
+	 * other shot is turned half the angle between bullets, so consecutive
+	 * rings don't overlap.
+	 *
+	 * @param count
+	 *            Bullets in a shot.
+	 * @param speed
+	 *            Speed of the bullets.
+	 * @param color
+	 *            Color of the bullets.
+	 * @return The pattern.
+	 */
+	public static FiringPattern ring(final int count, final int speed,
+			final Color color) {
+		return new FiringPattern(Kind.RING, count, 0, speed, color);
+	}
+
+	/**
+	 * Shoots the bullets of a shot from the middle of a ship.
+	 *
+	 * @param emitter
+	 *            Takes the bullets into the level.
+	 * @param shooter
+	 *            Ship shooting.
+	 * @param targetX
+	 *            Position of the player in the X axis, for aimed patterns.
+	 * @param targetY
+	 *            Position of the player in the Y axis, for aimed patterns.
+	 * @param shot
+	 *            Shots fired before this one, for spirals and rings.
+	 */
+	public void fire(final BulletEmitter emitter, final Entity shooter,
+			final int targetX, final int targetY, final int shot) {
+		fire(emitter, shooter.getPositionX() + shooter.getWidth() / 2,
+				shooter.getPositionY() + shooter.getHeight() / 2, targetX,
+				targetY, shot);
+	}
+
+	/**
+	 * Shoots the bullets of a shot from a point, such as the middle of a
+	 * ship kept as columns of numbers.
+	 *
+	 * @param emitter
+	 *            Takes the bullets into the level.
+	 * @param x
+	 *            Position the bullets leave from in the X axis.
+	 * @param y
+	 *            Position the bullets leave from in the Y axis.
+	 * @param targetX
+	 *            Position of the player in the X axis, for aimed patterns.
+	 * @param targetY
+	 *            Position of the player in the Y axis, for aimed patterns.
+	 * @param shot
+	 *            Shots fired before this one, for spirals and rings.
+	 */
+	public void fire(final BulletEmitter emitter, final int x, final int y,
+			final int targetX, final int targetY, final int shot) {
+		switch (this.kind) {
+			case SPREAD:
+				for (int i = 0; i < this.count; i++)
+					emitter.emit(x, y, this.speedsX[i], this.speedsY[i],
+							this.color);
+				break;
+			case BURST:
+				for (int i = 0; i < this.count; i++)
+					emitter.emit(x, y - i * this.spacing, 0, this.speed,
+							this.color);
+				break;
+			case AIMED:
+				double aim = Math.atan2(targetX - x, Math.max(1, targetY - y));
+				for (int i = 0; i < this.count; i++) {
+					double angle = aim + Math.toRadians(
+							(i - (this.count - 1) / 2.0) * this.spacing);
+					emitter.emit(x, y, speedX(this.speed, angle),
+							speedY(this.speed, angle), this.color);
+				}
+				break;
+			case RING:
+				for (int i = shot & 1; i < this.count * 2; i += 2)
+					emitter.emit(x, y, this.speedsX[i], this.speedsY[i],
+							this.color);
+				break;
+			default:
+				for (int i = 0; i < this.count; i++) {
+					int step = Math.floorMod(shot + i * SPIRAL_STEPS
+							/ this.count, SPIRAL_STEPS);
+					emitter.emit(x, y, this.speedsX[step],
+							this.speedsY[step], this.color);
+				}
+				break;
+		}
+	}
+
+	/**
+	 * Getter for how the bullets are laid out.
+	 *
+	 * @return Kind of the pattern.
+	 */
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * Getter for the bullets in each shot.
+	 *
+	 * @return Bullets shot at once.
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Horizontal speed of a bullet going some way.
+	 *
+	 * @param speed
+	 *            Speed of the bullet.
+	 * @param angle
+	 *            Angle from straight down, in radians, positive to the right.
+	 * @return Horizontal speed.
+	 */
+	private static float speedX(final int speed, final double angle) {
+		return (float) (speed * Math.sin(angle));
+	}
+
+	/**
+	 * Vertical speed of a bullet going some way.
+	 *
+	 * @param speed
+	 *            Speed of the bullet.
+	 * @param angle
+	 *            Angle from straight down, in radians, positive to the right.
+	 * @return Vertical speed.
+	 */
+	private static float speedY(final int speed, final double angle) {
+		return (float) (speed * Math.cos(angle));
+	}
+}
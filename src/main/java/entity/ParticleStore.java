@@ -0,0 +1,204 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Keeps the particles of a level's explosions, sparks and muzzle flashes in
+ * an {@link Archetype}, like the {@link BulletStore} does with bullets. The
+ * store has a fixed budget of particles and never grows: bursts get smaller
+ * as it fills up, and none are added once it's full, so however many ships
+ * blow up at once, moving and drawing the particles never takes longer than
+ * the budget allows.
+ *
+ * Particles are only for show. They have their own source of random numbers,
+ * so a level plays the same way with them or without them.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class ParticleStore {
+
+	/** Directions a particle can fly in, around the circle. */
+	private static final int DIRECTIONS = 64;
+	/** Horizontal part of each direction. */
+	private static final float[] DIRECTIONS_X = new float[DIRECTIONS];
+	/** Vertical part of each direction. */
+	private static final float[] DIRECTIONS_Y = new float[DIRECTIONS];
+	/** Part of its speed a particle keeps from a frame to the next. */
+	private static final float DRAG = 0.92f;
+
+	static {
+		for (int i = 0; i < DIRECTIONS; i++) {
+			double angle = 2 * Math.PI * i / DIRECTIONS;
+			DIRECTIONS_X[i] = (float) Math.cos(angle);
+			DIRECTIONS_Y[i] = (float) Math.sin(angle);
+		}
+	}
+
+	/** Particles, moving, colored and fading as they get older. */
+	private final Archetype particles;
+	/** Most particles kept at once. */
+	private final int budget;
+	/** State of the random numbers, never zero. */
+	private int seed;
+
+	/**
+	 * Constructor, the store starts empty.
+	 *
+	 * @param budget
+	 *            Most particles kept at once.
+	 */
+	public ParticleStore(final int budget) {
+		this.particles = new Archetype(Archetype.POSITION
+				| Archetype.VELOCITY | Archetype.COLOR | Archetype.LIFETIME,
+				budget);
+		this.budget = budget;
+		this.seed = 0x2545F491;
+	}
+
+	/**
+	 * Adds particles flying out of a point in every direction. The fuller the
+	 * store, the fewer particles are added.
+	 *
+	 * @param positionX
+	 *            Position of the point in the X axis.
+	 * @param positionY
+	 *            Position of the point in the Y axis.
+	 * @param count
+	 *            Particles added while the store is empty.
+	 * @param speed
+	 *            Fastest a particle flies out, at first.
+	 * @param lifetime
+	 *            Frames the particles last.
+	 * @param color
+	 *            Color of the particles.
+	 */
+	public void burst(final int positionX, final int positionY,
+			final int count, final float speed, final int lifetime,
+			final Color color) {
+		Archetype particles = this.particles;
+		int budget = this.budget;
+		int room = budget - particles.size;
+		// Scaled by the room left, rounding up so small bursts still show.
+		int added = Math.min(room, (count * room + budget - 1) / budget);
+		int rgb = color.getRGB() & 0xFFFFFF;
+		for (int i = 0; i < added; i++) {
+			int random = nextRandom();
+			int direction = random & (DIRECTIONS - 1);
+			// A quarter to all of the speed, so the burst isn't a ring.
+			float particleSpeed = speed * (0.25f + 0.75f
+					* ((random >>> 8) & 0xFF) / 0xFF);
+			// Some particles die sooner, thinning the burst out.
+			int life = lifetime - (((random >>> 16) & 0xFF) * lifetime >> 9);
+			int particle = particles.add();
+			particles.positionsX[particle] = positionX;
+			particles.positionsY[particle] = positionY;
+			particles.speedsX[particle] = DIRECTIONS_X[direction]
+					* particleSpeed;
+			particles.speedsY[particle] = DIRECTIONS_Y[direction]
+					* particleSpeed;
+			particles.colors[particle] = rgb;
+			particles.lives[particle] = Math.max(1, life);
+			particles.lifetimes[particle] = Math.max(1, life);
+		}
+	}
+
+	/**
+	 * Removes the particles that die, then moves the rest a frame's worth
+	 * of their speed and slows them down. Removed particles are replaced by
+	 * the last one, particles have no order to keep.
+	 */
+	public void update() {
+		Systems.age(this.particles);
+		Systems.move(this.particles);
+		Systems.drag(this.particles, DRAG);
+	}
+
+	/**
+	 * Removes every particle.
+	 */
+	public void clear() {
+		this.particles.clear();
+	}
+
+	/**
+	 * Makes the particles the same as another store's, such as to keep them
+	 * for drawing while the other store moves on. The random numbers aren't
+	 * copied.
+	 *
+	 * @param source
+	 *            Store copied, with a budget no larger than this one's.
+	 */
+	public void copyFrom(final ParticleStore source) {
+		this.particles.copyFrom(source.particles);
+	}
+
+	/**
+	 * Next random number, from a xorshift generator.
+	 *
+	 * @return Random bits.
+	 */
+	private int nextRandom() {
+		this.seed ^= this.seed << 13;
+		this.seed ^= this.seed >>> 17;
+		this.seed ^= this.seed << 5;
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the most particles kept at once.
+	 *
+	 * @return Budget of the store.
+	 */
+	public int getBudget() {
+		return this.budget;
+	}
+
+	/**
+	 * Getter for the number of particles.
+	 *
+	 * @return Particles in the store.
+	 */
+	public int size() {
+		return this.particles.size;
+	}
+
+	/**
+	 * Getter for the X axis position of a particle.
+	 *
+	 * @param index
+	 *            Particle number, below the size.
+	 * @return Position of the particle.
+	 */
+	public int getPositionX(final int index) {
+		return (int) this.particles.positionsX[index];
+	}
+
+	/**
+	 * Getter for the Y axis position of a particle.
+	 *
+	 * @param index
+	 *            Particle number, below the size.
+	 * @return Position of the particle.
+	 */
+	public int getPositionY(final int index) {
+		return (int) this.particles.positionsY[index];
+	}
+
+	/**
+	 * Getter for the color of a particle, darker as it gets older.
+	 *
+	 * @param index
+	 *            Particle number, below the size.
+	 * @return Color of the particle, as RGB.
+	 */
+	public int getColor(final int index) {
+		int rgb = this.particles.colors[index];
+		int brightness = (this.particles.lives[index] << 8)
+				/ this.particles.lifetimes[index];
+		int red = ((rgb >> 16) & 0xFF) * brightness >> 8;
+		int green = ((rgb >> 8) & 0xFF) * brightness >> 8;
+		int blue = (rgb & 0xFF) * brightness >> 8;
+		return red << 16 | green << 8 | blue;
+	}
+}
@@ -0,0 +1,81 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Power-ups dropped by destroyed enemy ships, which the player picks up by
+ * touching them as they fall. Each one lasts for a while once picked up.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public enum PowerUp {
+
+	/** The ship shoots faster. */
+	RAPID_FIRE(8000, Color.YELLOW),
+	/** The ship shoots three bullets at once, spread apart. */
+	SPREAD_SHOT(8000, Color.CYAN),
+	/** Enemy bullets that hit the ship are stopped without harm. */
+	SHIELD(5000, Color.MAGENTA),
+	/** Enemies move, shoot and their bullets fly at half the speed. */
+	SLOW_MOTION(5000, Color.BLUE);
+
+	/** Every power-up, kept so picking one doesn't copy the values. */
+	private static final PowerUp[] VALUES = values();
+
+	/** Milliseconds the power-up lasts. */
+	private final int duration;
+	/** Color the power-up is drawn with. */
+	private final Color color;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param duration
+	 *            Milliseconds the power-up lasts.
+	 * @param color
+	 *            Color the power-up is drawn with.
+	 */
+	PowerUp(final int duration, final Color color) {
+		this.duration = duration;
+		this.color = color;
+	}
+
+	/**
+	 * Getter for a power-up by its number.
+	 *
+	 * @param ordinal
+	 *            Number of the power-up, below the count.
+	 * @return The power-up.
+	 */
+	public static PowerUp get(final int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * Getter for the number of power-ups.
+	 *
+	 * @return Number of power-ups.
+	 */
+	public static int count() {
+		return VALUES.length;
+	}
+
+	/**
+	 * Getter for the time the power-up lasts.
+	 *
+	 * @return Milliseconds the power-up lasts.
+	 */
+	public int getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Getter for the color of the power-up.
+	 *
+	 * @return Color the power-up is drawn with.
+	 */
+	public Color getColor() {
+		return this.color;
+	}
+}
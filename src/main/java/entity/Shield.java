@@ -0,0 +1,237 @@
+package entity;
+
+import java.awt.Color;
+
+/**
+ * Implements a shield the player hides under, worn away by the bullets that
+ * hit it from either side. Each row of its pixels is kept as bits, a long per
+ * 64 pixels, so a bullet is checked and a crater is carved with a few masks
+ * per row instead of pixel by pixel.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public class Shield extends Entity {
+
+	/** Pixels across a shield. */
+	public static final int COLUMNS = 22;
+	/** Rows of pixels of a shield. */
+	public static final int ROWS = 16;
+	/** Size of a shield pixel. */
+	private static final int PIXEL = 2;
+	/** Pixels on each side of the bullet carved, by depth of the crater. */
+	private static final int[] CRATER = { 2, 2, 1 };
+
+	/** Pixels across the shield. */
+	private final int columns;
+	/** Rows of pixels of the shield. */
+	private final int rows;
+	/** Longs in each row. */
+	private final int words;
+	/** Pixels left, by row and then by long, low bits to the left. */
+	private final long[] pixels;
+	/** Rows with some pixel left, a bit each. */
+	private long filledRows;
+
+	/**
+	 * Constructor, builds a whole shield shaped like an arch.
+	 *
+	 * @param positionX
+	 *            Initial position of the shield in the X axis.
+	 * @param positionY
+	 *            Initial position of the shield in the Y axis.
+	 */
+	public Shield(final int positionX, final int positionY) {
+		super(positionX, positionY, COLUMNS * PIXEL, ROWS * PIXEL,
+				Color.GREEN);
+		this.columns = COLUMNS;
+		this.rows = ROWS;
+		this.words = (COLUMNS + Long.SIZE - 1) / Long.SIZE;
+		this.pixels = new long[ROWS * this.words];
+
+		for (int row = 0; row < ROWS; row++) {
+			// Rounded top corners.
+			int corner = Math.max(0, 4 - row);
+			set(row, corner, COLUMNS - 1 - corner, true);
+		}
+		// Arch the ship fits under.
+		for (int row = ROWS - 4; row < ROWS; row++)
+			set(row, 7, COLUMNS - 8, false);
+	}
+
+	/**
+	 * Checks if a bullet hits the shield and, if it does, carves a crater
+	 * where it hit.
+	 *
+	 * @param left
+	 *            Position of the left side of the bullet.
+	 * @param top
+	 *            Position of the upper side of the bullet.
+	 * @param width
+	 *            Width of the bullet.
+	 * @param height
+	 *            Height of the bullet.
+	 * @param downwards
+	 *            Checks if the bullet flies down, hitting the shield from
+	 *            above.
+	 * @return True if the bullet hit what's left of the shield.
+	 */
+	public final boolean hit(final int left, final int top, final int width,
+			final int height, final boolean downwards) {
+		int x = left - this.positionX;
+		int y = top - this.positionY;
+		if (x + width <= 0 || x >= this.width || y + height <= 0
+				|| y >= this.height)
+			return false;
+
+		int firstColumn = Math.max(0, x) / PIXEL;
+		int lastColumn = Math.min(this.width - 1, x + width - 1) / PIXEL;
+		int firstRow = Math.max(0, y) / PIXEL;
+		int lastRow = Math.min(this.height - 1, y + height - 1) / PIXEL;
+		// Worn away shields are passed through without a look at the rows.
+		long rows = this.filledRows & (-1L >>> (Long.SIZE - 1 - lastRow))
+				& (-1L << firstRow);
+		int step = downwards ? 1 : -1;
+		// The first row reached in the direction the bullet flies is hit.
+		int row = -1;
+		while (rows != 0) {
+			int filled = downwards ? Long.numberOfTrailingZeros(rows)
+					: Long.SIZE - 1 - Long.numberOfLeadingZeros(rows);
+			if (any(filled, firstColumn, lastColumn)) {
+				row = filled;
+				break;
+			}
+			rows &= ~(1L << filled);
+		}
+		if (row < 0)
+			return false;
+
+		int center = (firstColumn + lastColumn) / 2;
+		for (int depth = 0; depth < CRATER.length; depth++) {
+			int craterRow = row + depth * step;
+			if (craterRow < 0 || craterRow >= this.rows)
+				break;
+			set(craterRow, Math.max(0, center - CRATER[depth]),
+					Math.min(this.columns - 1, center + CRATER[depth]), false);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if any pixel of a row is left between two columns.
+	 *
+	 * @param row
+	 *            Row checked.
+	 * @param from
+	 *            First column checked.
+	 * @param to
+	 *            Last column checked, included.
+	 * @return True if some pixel is left.
+	 */
+	private boolean any(final int row, final int from, final int to) {
+		int base = row * this.words;
+		for (int word = from / Long.SIZE; word <= to / Long.SIZE; word++)
+			if ((this.pixels[base + word] & mask(word, from, to)) != 0)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Sets or clears the pixels of a row between two columns.
+	 *
+	 * @param row
+	 *            Row changed.
+	 * @param from
+	 *            First column changed.
+	 * @param to
+	 *            Last column changed, included.
+	 * @param value
+	 *            True to set the pixels, false to clear them.
+	 */
+	private void set(final int row, final int from, final int to,
+			final boolean value) {
+		int base = row * this.words;
+		for (int word = from / Long.SIZE; word <= to / Long.SIZE; word++) {
+			long mask = mask(word, from, to);
+			if (value)
+				this.pixels[base + word] |= mask;
+			else
+				this.pixels[base + word] &= ~mask;
+		}
+		if (value || any(row, 0, this.columns - 1))
+			this.filledRows |= 1L << row;
+		else
+			this.filledRows &= ~(1L << row);
+	}
+
+	/**
+	 * Builds the bits of a long that fall between two columns.
+	 *
+	 * @param word
+	 *            Number of the long in its row.
+	 * @param from
+	 *            First column.
+	 * @param to
+	 *            Last column, included.
+	 * @return Bits of the columns in the long.
+	 */
+	private static long mask(final int word, final int from, final int to) {
+		int low = Math.max(0, from - word * Long.SIZE);
+		int high = Math.min(Long.SIZE - 1, to - word * Long.SIZE);
+		return (-1L >>> (Long.SIZE - 1 - high + low)) << low;
+	}
+
+	/**
+	 * Getter for the pixels across the shield.
+	 *
+	 * @return Number of columns.
+	 */
+	public final int getColumns() {
+		return this.columns;
+	}
+
+	/**
+	 * Getter for the rows of pixels of the shield.
+	 *
+	 * @return Number of rows.
+	 */
+	public final int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Getter for the longs in each row.
+	 *
+	 * @return Longs per row.
+	 */
+	public final int getWords() {
+		return this.words;
+	}
+
+	/**
+	 * Getter for the pixels left in part of a row.
+	 *
+	 * @param row
+	 *            Row of the pixels.
+	 * @param word
+	 *            Number of the long in the row.
+	 * @return A bit per column, low bits to the left.
+	 */
+	public final long getPixels(final int row, final int word) {
+		return this.pixels[row * this.words + word];
+	}
+
+	/**
+	 * Makes the shield the same as another, where it is and what's left of
+	 * it, such as to keep it for drawing while the other is worn away.
+	 *
+	 * @param shield
+	 *            Shield copied, as big as this one.
+	 */
+	public final void copyFrom(final Shield shield) {
+		this.positionX = shield.positionX;
+		this.positionY = shield.positionY;
+		System.arraycopy(shield.pixels, 0, this.pixels, 0, this.pixels.length);
+		this.filledRows = shield.filledRows;
+	}
+}
@@ -1,14 +1,13 @@
 package entity;
 
 
+import engine.Clock;
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager.SpriteType;
-import entity.Bullet;
-import entity.BulletPool;
+import engine.TimingWheel;
 
 import java.awt.*;
-import java.util.Set;
 
 /**
  * Implements a ship, to be controlled by the player.
@@ -20,6 +19,10 @@ public class Ship extends Entity {
 
 	/** Time between shots. */
 	private static final int SHOOTING_INTERVAL = 750;
+	/** Time between shots with rapid fire. */
+	private static final int RAPID_SHOOTING_INTERVAL = 250;
+	/** Horizontal speed of the side bullets of a spread shot. */
+	private static final float SPREAD_SPEED = 1.5f;
 	/** Speed of the bullets shot by the ship. */
 	private static final int BULLET_SPEED = -6;
 	/** Movement of the ship for each unit of time. */
@@ -27,6 +30,8 @@ public class Ship extends Entity {
 
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
+	/** Minimum time between shots with rapid fire. */
+	private Cooldown rapidShootingCooldown;
 	/** Time spent inactive between hits. */
 	private Cooldown destructionCooldown;
 	/** Time to exchange from AttackedEffect to DyingEffect. */
@@ -45,13 +50,31 @@ public class Ship extends Entity {
 	 *            Initial position of the ship in the Y axis.
 	 */
 	public Ship(final int positionX, final int positionY) {
+		this(positionX, positionY, Core.getClock());
+	}
+
+	/**
+	 * Constructor, establishes the ship's properties.
+	 *
+	 * @param positionX
+	 *            Initial position of the ship in the X axis.
+	 * @param positionY
+	 *            Initial position of the ship in the Y axis.
+	 * @param clock
+	 *            Clock the ship's cooldowns are measured against, kept in its
+	 *            timing wheel.
+	 */
+	public Ship(final int positionX, final int positionY, final Clock clock) {
 		super(positionX, positionY, 13 * 2, 8 * 2, Color.GREEN);
 
 		this.spriteType = SpriteType.Ship;
-		this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL);
-		this.destructionCooldown = Core.getCooldown(1200);
-		this.effectCooldown = Core.getCooldown(200);
-		this.vibrationCooldown = Core.getCooldown(200);
+		TimingWheel timingWheel = clock.getTimingWheel();
+		this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL, timingWheel);
+		this.rapidShootingCooldown = Core.getCooldown(RAPID_SHOOTING_INTERVAL,
+				timingWheel);
+		this.destructionCooldown = Core.getCooldown(1200, timingWheel);
+		this.effectCooldown = Core.getCooldown(200, timingWheel);
+		this.vibrationCooldown = Core.getCooldown(200, timingWheel);
 		this.flag = true;
 	}
 
@@ -75,14 +98,40 @@ public class Ship extends Entity {
 	 * Shoots a bullet upwards.
 	 *
 	 * @param bullets
-	 *            List of bullets on screen, to add the new bullet.
+	 *            Bullets on screen, to add the new bullet.
 	 * @return Checks if the bullet was shot correctly.
 	 */
-	public final boolean shoot(final Set<Bullet> bullets) {
-		if (this.shootingCooldown.checkFinished()) {
+	public final boolean shoot(final BulletStore bullets) {
+		return shoot(bullets, false, false);
+	}
+
+	/**
+	 * Shoots upwards, as the power-ups picked up say.
+	 *
+	 * @param bullets
+	 *            Bullets on screen, to add the new bullets.
+	 * @param rapidFire
+	 *            Checks if the ship shoots faster.
+	 * @param spreadShot
+	 *            Checks if the ship shoots three bullets, spread apart.
+	 * @return Checks if the bullets were shot correctly.
+	 */
+	public final boolean shoot(final BulletStore bullets,
+			final boolean rapidFire, final boolean spreadShot) {
+		Cooldown cooldown = rapidFire ? this.rapidShootingCooldown
+				: this.shootingCooldown;
+		if (cooldown.checkFinished()) {
+			// Both restart, so the normal pace follows on from the last shot.
 			this.shootingCooldown.reset();
-			bullets.add(BulletPool.getBullet(positionX + this.width / 2,
-					positionY, BULLET_SPEED, Color.white));
+			this.rapidShootingCooldown.reset();
+			bullets.add(positionX + this.width / 2, positionY, 0,
+					BULLET_SPEED, Color.white, false);
+			if (spreadShot) {
+				bullets.add(positionX + this.width / 2, positionY,
+						-SPREAD_SPEED, BULLET_SPEED, Color.white, false);
+				bullets.add(positionX + this.width / 2, positionY,
+						SPREAD_SPEED, BULLET_SPEED, Color.white, false);
+			}
 			return true;
 		}
 		return false;
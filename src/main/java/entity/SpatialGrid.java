@@ -0,0 +1,256 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Sorts entities into square cells by where they are, so what's in an area
+ * is found by looking at the few cells it covers instead of at every entity.
+ * Each cell keeps its entities as a chain of numbers into shared arrays, so
+ * the grid is filled again every frame without creating anything once it has
+ * grown to fit. Entities are kept by their number in an {@link Archetype},
+ * with a tag, such as the number of the formation it belongs to, telling
+ * apart entities of different archetypes.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class SpatialGrid {
+
+	/** Size of the side of a cell. */
+	private final int cellSize;
+	/** Cells across the grid. */
+	private final int columns;
+	/** Cells down the grid. */
+	private final int rows;
+	/** First entry of each cell, -1 if empty. */
+	private final int[] heads;
+	/** Entry after each one in its cell, -1 for the last. */
+	private int[] next;
+	/** Entity of each entry. */
+	private int[] entities;
+	/** Tag of each entry. */
+	private int[] tags;
+	/** Number of entries, an entity has one per cell it covers. */
+	private int size;
+	/** Entities found by the last search. */
+	private int[] found;
+	/** Tags of the entities found by the last search. */
+	private int[] foundTags;
+	/** Number of entities found by the last search. */
+	private int foundCount;
+
+	/**
+	 * Constructor, the grid starts empty.
+	 *
+	 * @param width
+	 *            Width of the area covered, entities past it are kept in the
+	 *            cells at its edge.
+	 * @param height
+	 *            Height of the area covered.
+	 * @param cellSize
+	 *            Size of the side of a cell.
+	 */
+	public SpatialGrid(final int width, final int height,
+			final int cellSize) {
+		this.cellSize = cellSize;
+		this.columns = Math.max(1, (width + cellSize - 1) / cellSize);
+		this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+		this.heads = new int[this.columns * this.rows];
+		Arrays.fill(this.heads, -1);
+		this.next = new int[16];
+		this.entities = new int[16];
+		this.tags = new int[16];
+		this.found = new int[16];
+		this.foundTags = new int[16];
+	}
+
+	/**
+	 * Removes every entity.
+	 */
+	public void clear() {
+		Arrays.fill(this.heads, -1);
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an entity to every cell it covers.
+	 *
+	 * @param entity
+	 *            Number of the entity added.
+	 * @param tag
+	 *            Tag of the entity.
+	 * @param positionX
+	 *            Position of the left side of the entity.
+	 * @param positionY
+	 *            Position of the upper side of the entity.
+	 * @param width
+	 *            Width of the entity.
+	 * @param height
+	 *            Height of the entity.
+	 */
+	public void add(final int entity, final int tag, final int positionX,
+			final int positionY, final int width, final int height) {
+		int firstColumn = column(positionX);
+		int lastColumn = column(positionX + width - 1);
+		int firstRow = row(positionY);
+		int lastRow = row(positionY + height - 1);
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				if (this.size == this.next.length)
+					grow();
+				int cell = row * this.columns + column;
+				this.entities[this.size] = entity;
+				this.tags[this.size] = tag;
+				this.next[this.size] = this.heads[cell];
+				this.heads[cell] = this.size;
+				this.size++;
+			}
+	}
+
+	/**
+	 * Finds the entities in the cells an area covers, each once. They may
+	 * not overlap the area themselves, that's for the caller to check.
+	 *
+	 * @param positionX
+	 *            Position of the left side of the area.
+	 * @param positionY
+	 *            Position of the upper side of the area.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @return Number of entities found.
+	 */
+	public int find(final int positionX, final int positionY,
+			final int width, final int height) {
+		this.foundCount = 0;
+		int firstColumn = column(positionX);
+		int lastColumn = column(positionX + width - 1);
+		int firstRow = row(positionY);
+		int lastRow = row(positionY + height - 1);
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++)
+				for (int entry = this.heads[row * this.columns + column];
+						entry >= 0; entry = this.next[entry])
+					addFound(entry);
+		return this.foundCount;
+	}
+
+	/**
+	 * Checks if the cells an area covers hold no entity. Unlike a search it
+	 * only reads the grid, so several threads can check areas at once.
+	 *
+	 * @param positionX
+	 *            Position of the left side of the area.
+	 * @param positionY
+	 *            Position of the upper side of the area.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @return True if no entity may be in the area.
+	 */
+	public boolean isEmpty(final int positionX, final int positionY,
+			final int width, final int height) {
+		int firstColumn = column(positionX);
+		int lastColumn = column(positionX + width - 1);
+		int firstRow = row(positionY);
+		int lastRow = row(positionY + height - 1);
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++)
+				if (this.heads[row * this.columns + column] >= 0)
+					return false;
+		return true;
+	}
+
+	/**
+	 * Keeps an entry among the found ones, unless its entity already is.
+	 *
+	 * @param entry
+	 *            Entry found.
+	 */
+	private void addFound(final int entry) {
+		int entity = this.entities[entry];
+		int tag = this.tags[entry];
+		// An entity covering several cells has several entries.
+		for (int i = 0; i < this.foundCount; i++)
+			if (this.found[i] == entity && this.foundTags[i] == tag)
+				return;
+		if (this.foundCount == this.found.length) {
+			this.found = Arrays.copyOf(this.found, this.found.length * 2);
+			this.foundTags = Arrays.copyOf(this.foundTags,
+					this.foundTags.length * 2);
+		}
+		this.found[this.foundCount] = entity;
+		this.foundTags[this.foundCount] = tag;
+		this.foundCount++;
+	}
+
+	/**
+	 * Getter for an entity found by the last search.
+	 *
+	 * @param index
+	 *            Number of the entity, below the number found.
+	 * @return Number of the entity.
+	 */
+	public int getFound(final int index) {
+		return this.found[index];
+	}
+
+	/**
+	 * Getter for the tag of an entity found by the last search.
+	 *
+	 * @param index
+	 *            Number of the entity, below the number found.
+	 * @return Tag of the entity.
+	 */
+	public int getFoundTag(final int index) {
+		return this.foundTags[index];
+	}
+
+	/**
+	 * Getter for the number of entries, an entity has one per cell it
+	 * covers.
+	 *
+	 * @return Entries in the grid.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Finds the column of the cells at a position, the edge one if it's
+	 * outside.
+	 *
+	 * @param positionX
+	 *            Position in the X axis.
+	 * @return Column of cells.
+	 */
+	private int column(final int positionX) {
+		return Math.max(0, Math.min(this.columns - 1,
+				Math.floorDiv(positionX, this.cellSize)));
+	}
+
+	/**
+	 * Finds the row of the cells at a position, the edge one if it's
+	 * outside.
+	 *
+	 * @param positionY
+	 *            Position in the Y axis.
+	 * @return Row of cells.
+	 */
+	private int row(final int positionY) {
+		return Math.max(0, Math.min(this.rows - 1,
+				Math.floorDiv(positionY, this.cellSize)));
+	}
+
+	/**
+	 * Doubles the room for entries.
+	 */
+	private void grow() {
+		int capacity = this.next.length * 2;
+		this.next = Arrays.copyOf(this.next, capacity);
+		this.entities = Arrays.copyOf(this.entities, capacity);
+		this.tags = Arrays.copyOf(this.tags, capacity);
+	}
+}
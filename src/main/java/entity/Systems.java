@@ -0,0 +1,217 @@
+package entity;
+
+import java.awt.Color;
+
+import engine.DrawManager.SpriteType;
+import engine.FrameSnapshot;
+
+/**
+ * Updates every entity of an {@link Archetype} that has the components an
+ * update needs, walking its columns from start to end. Each update is one
+ * pass over only the columns it reads and writes.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class Systems {
+
+	/** Second frame of each sprite, by their order, itself if it isn't
+	 * animated. */
+	private static final int[] SECOND_FRAMES = new int[
+			Archetype.SPRITE_TYPES.length];
+
+	static {
+		for (int i = 0; i < SECOND_FRAMES.length; i++)
+			SECOND_FRAMES[i] = i;
+		SECOND_FRAMES[SpriteType.EnemyShipA1.ordinal()] =
+				SpriteType.EnemyShipA2.ordinal();
+		SECOND_FRAMES[SpriteType.EnemyShipB1.ordinal()] =
+				SpriteType.EnemyShipB2.ordinal();
+		SECOND_FRAMES[SpriteType.EnemyShipC1.ordinal()] =
+				SpriteType.EnemyShipC2.ordinal();
+	}
+
+	/**
+	 * Constructor, not called.
+	 */
+	private Systems() {
+
+	}
+
+	/**
+	 * Moves every entity a frame's worth of its speed.
+	 *
+	 * @param archetype
+	 *            Entities with a position and a velocity.
+	 */
+	public static void move(final Archetype archetype) {
+		move(archetype, 0, archetype.size);
+	}
+
+	/**
+	 * Moves a range of the entities a frame's worth of their speed. Ranges
+	 * that don't overlap can be moved at the same time.
+	 *
+	 * @param archetype
+	 *            Entities with a position and a velocity.
+	 * @param from
+	 *            First entity moved.
+	 * @param to
+	 *            Entity after the last one moved.
+	 */
+	public static void move(final Archetype archetype, final int from,
+			final int to) {
+		float[] positionsX = archetype.positionsX;
+		float[] positionsY = archetype.positionsY;
+		float[] speedsX = archetype.speedsX;
+		float[] speedsY = archetype.speedsY;
+		for (int i = from; i < to; i++) {
+			positionsX[i] += speedsX[i];
+			positionsY[i] += speedsY[i];
+		}
+	}
+
+	/**
+	 * Slows every entity down.
+	 *
+	 * @param archetype
+	 *            Entities with a velocity.
+	 * @param drag
+	 *            Part of its speed each entity keeps.
+	 */
+	public static void drag(final Archetype archetype, final float drag) {
+		float[] speedsX = archetype.speedsX;
+		float[] speedsY = archetype.speedsY;
+		for (int i = 0; i < archetype.size; i++) {
+			speedsX[i] *= drag;
+			speedsY[i] *= drag;
+		}
+	}
+
+	/**
+	 * Takes a frame off the life of every entity, and removes the ones that
+	 * die. Removed entities are replaced by the last one, so the order of the
+	 * entities isn't kept.
+	 *
+	 * @param archetype
+	 *            Entities with a lifetime.
+	 */
+	public static void age(final Archetype archetype) {
+		int[] lives = archetype.lives;
+		int i = 0;
+		while (i < archetype.size) {
+			if (--lives[i] <= 0)
+				// The entity moved here hasn't aged yet.
+				archetype.remove(i);
+			else
+				i++;
+		}
+	}
+
+	/**
+	 * Moves a range of the entities the same distance. Ranges that don't
+	 * overlap can be moved at the same time.
+	 *
+	 * @param archetype
+	 *            Entities with a position.
+	 * @param from
+	 *            First entity moved.
+	 * @param to
+	 *            Entity after the last one moved.
+	 * @param distanceX
+	 *            Distance moved in the X axis.
+	 * @param distanceY
+	 *            Distance moved in the Y axis.
+	 */
+	public static void translate(final Archetype archetype, final int from,
+			final int to, final int distanceX, final int distanceY) {
+		float[] positionsX = archetype.positionsX;
+		float[] positionsY = archetype.positionsY;
+		for (int i = from; i < to; i++) {
+			positionsX[i] += distanceX;
+			positionsY[i] += distanceY;
+		}
+	}
+
+	/**
+	 * Sorts every entity with hits left into a grid by where it is, tagged
+	 * with its number in the archetype.
+	 *
+	 * @param archetype
+	 *            Entities with a position, a size and health.
+	 * @param grid
+	 *            Grid the entities are added to.
+	 * @param tag
+	 *            Tag of the archetype in the grid.
+	 */
+	public static void index(final Archetype archetype,
+			final SpatialGrid grid, final int tag) {
+		int[] hps = archetype.hps;
+		for (int i = 0; i < archetype.size; i++)
+			if (hps[i] > 0)
+				grid.add(i, tag, (int) archetype.positionsX[i],
+						(int) archetype.positionsY[i], archetype.widths[i],
+						archetype.heights[i]);
+	}
+
+	/**
+	 * Checks if an entity and an area overlap, by the distance between their
+	 * centers.
+	 *
+	 * @param archetype
+	 *            Entities with a position and a size.
+	 * @param index
+	 *            Entity checked.
+	 * @param positionX
+	 *            Position of the left side of the area.
+	 * @param positionY
+	 *            Position of the upper side of the area.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @return True if they overlap.
+	 */
+	public static boolean overlaps(final Archetype archetype, final int index,
+			final int positionX, final int positionY, final int width,
+			final int height) {
+		int entityWidth = archetype.widths[index];
+		int entityHeight = archetype.heights[index];
+		int distanceX = Math.abs(positionX + width / 2
+				- ((int) archetype.positionsX[index] + entityWidth / 2));
+		int distanceY = Math.abs(positionY + height / 2
+				- ((int) archetype.positionsY[index] + entityHeight / 2));
+		return distanceX < width / 2 + entityWidth / 2
+				&& distanceY < height / 2 + entityHeight / 2;
+	}
+
+	/**
+	 * Adds every entity to a snapshot of the frame where it is now, colored
+	 * by the hits it has left. Entities keep the first frame of their
+	 * sprite, the animation phase picks the frame drawn, so animating every
+	 * entity only takes a new phase.
+	 *
+	 * @param archetype
+	 *            Entities with a position, health and a sprite.
+	 * @param animationPhase
+	 *            Animation phase of the entities, odd ones draw the second
+	 *            frame.
+	 * @param color
+	 *            Color of the entities with no color for their hits.
+	 * @param snapshot
+	 *            Snapshot of the frame.
+	 */
+	public static void render(final Archetype archetype,
+			final int animationPhase, final Color color,
+			final FrameSnapshot snapshot) {
+		boolean second = (animationPhase & 1) != 0;
+		for (int i = 0; i < archetype.size; i++) {
+			int sprite = archetype.sprites[i];
+			if (second)
+				sprite = SECOND_FRAMES[sprite];
+			snapshot.addEntity(Archetype.SPRITE_TYPES[sprite],
+					archetype.hps[i], color, (int) archetype.positionsX[i],
+					(int) archetype.positionsY[i]);
+		}
+	}
+}
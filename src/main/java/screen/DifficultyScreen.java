@@ -32,9 +32,18 @@ public class DifficultyScreen extends Screen {
     public DifficultyScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
 
+        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+        this.renderOnChange = true;
+    }
+
+    /**
+     * Starts the screen over every time it's shown.
+     */
+    public final void initialize() {
+        super.initialize();
+
         // Defaults to normal level.
         this.returnCode = 1;
-        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
     }
 
@@ -55,22 +64,26 @@ public class DifficultyScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
         if (this.selectionCooldown.checkFinished()
                 && this.inputDelay.checkFinished()) {
             if (inputManager.isKeyDown(KeyEvent.VK_UP)
                     || inputManager.isKeyDown(KeyEvent.VK_W)) {
                 previousMenuItem();
                 this.selectionCooldown.reset();
+                requestRedraw();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_DOWN)
                     || inputManager.isKeyDown(KeyEvent.VK_S)) {
                 nextMenuItem();
                 this.selectionCooldown.reset();
+                requestRedraw();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_SPACE))
                 this.isRunning = false;
         }
+
+        if (consumeRedrawRequest())
+            draw();
     }
 
     /**
@@ -1,10 +1,7 @@
 package screen;
 
-import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
 import java.util.Random;
-import java.util.Set;
 
 import engine.*;
 import entity.*;
@@ -16,55 +13,16 @@ import entity.*;
  *
  */
 public class GameScreen extends Screen {
-	/** Milliseconds until the screen accepts user input. */
-	private static final int INPUT_DELAY = 6000;
-	/** Bonus score for each life remaining at the end of the level. */
-	private static final int LIFE_SCORE = 100;
-	/** Minimum time between bonus ship's appearances. */
-	private static final int BONUS_SHIP_INTERVAL = 20000;
-	/** Maximum variance in the time between bonus ship's appearances. */
-	private static final int BONUS_SHIP_VARIANCE = 10000;
-	/** Time until bonus ship explosion disappears. */
-	private static final int BONUS_SHIP_EXPLOSION = 500;
-	/** Time from finishing the level to screen change. */
-	private static final int SCREEN_CHANGE_INTERVAL = 1500;
-	/** Height of the interface separation line. */
-	private static final int SEPARATION_LINE_HEIGHT = 40;
-
 	/** Current game difficulty settings. */
 	private GameSettings gameSettings;
+	/** State of the game at the start of the level. */
+	private GameState gameState;
 	/** Current difficulty level number. */
 	private int level;
-	/** Formation of enemy ships. */
-	private EnemyShipFormation enemyShipFormation;
-
-	/** UFO 랜덤 발사 */
-	private int position;
-
-	/** Player's ship. */
-	private Ship ship;
-	/** Bonus enemy ship that appears sometimes. */
-	private EnemyShip enemyShipSpecial;
-	/** Minimum time between bonus ship appearances. */
-	private Cooldown enemyShipSpecialCooldown;
-	/** Time until bonus ship explosion disappears. */
-	private Cooldown enemyShipSpecialExplosionCooldown;
-	/** Time from finishing the level to screen change. */
-	private Cooldown screenFinishedCooldown;
-	/** Set of all bullets fired by on screen ships. */
-	private Set<Bullet> bullets;
-	/** Current score. */
-	private int score;
-	/** Player lives left. */
-	private int lives;
-	/** Total bullets shot by the player. */
-	private int bulletsShot;
-	/** Total ships destroyed by the player. */
-	private int shipsDestroyed;
+	/** Level being played. */
+	private GameSimulation simulation;
 	/** Moment the game starts. */
 	private long gameStartTime;
-	/** Checks if the level is finished. */
-	private boolean levelFinished;
 	/** Checks if a bonus life is received. */
 	private boolean bonusLife;
 
@@ -73,20 +31,71 @@ public class GameScreen extends Screen {
 	private Audio shootAudio;
 	private Audio explosionAudio;
 	private Audio gameOver;
+	private Audio invaderKilled;
+	/** Sounds of the formation's steps, in the order they are played. */
+	private Audio[] formationAudio;
 	/** Checks boss stage. */
 	private boolean bossStage;
 
-	/** 생명력 */
-	private int bulletCode;
-	/** pause */
-	private boolean isPause;
-	/** Check if the game will restart */
-	private boolean isResume;
+	/** Bullets shot when the sounds were last played. */
+	private int soundedBulletsShot;
+	/** Ships destroyed when the sounds were last played. */
+	private int soundedShipsDestroyed;
+	/** Lives left when the sounds were last played. */
+	private int soundedLives;
+	/** Formation steps when the sounds were last played. */
+	private int soundedMoves;
+	/** Checks if the bonus ship was on screen when the sounds were played. */
+	private boolean soundedSpecialShip;
+	/** Checks if the level was finished when the sounds were played. */
+	private boolean soundedLevelFinished;
+
+	/** Whether the game is being played, paused or about to be left. */
+	private State state;
+	/** Checks if the pause or checkout menu has to be drawn again. */
+	private boolean menuChanged;
 	/** Milliseconds between changes in user selection. */
 	private static final int SELECTION_TIME = 200;
+	/** Milliseconds between redraws of an unchanged pause menu. */
+	private static final int MENU_REDRAW_INTERVAL = 500;
+	/**
+	 * Most particles on screen at once, bounding what explosions cost a
+	 * frame however many ships blow up together.
+	 */
+	private static final int PARTICLE_BUDGET = 1024;
+	/** Most bullets on screen at once while the machine keeps up. */
+	private static final int BULLET_CAP = 4096;
 
 	/** Time between changes in user selection. */
 	private Cooldown selectionCooldown;
+	/** Time between redraws of an unchanged pause menu. */
+	private Cooldown menuRedrawCooldown;
+	/** Clock of the game, stopped while paused. */
+	private Clock clock;
+	/** Source of the game's random choices. */
+	private Random random;
+	/** Bot playing in attract mode, null when the player is. */
+	private Bot bot;
+	/** Formation and sounds of the level, built before it starts. */
+	private PreparedLevel preparedLevel;
+	/** Checks if the screen built its level itself, and has to close it. */
+	private boolean ownsLevel;
+	/** Called once if the level is cleared, null if nothing is. */
+	private Runnable onLevelCleared;
+	/** Caps the bullets on screen if frames take too long. */
+	private FrameBudget frameBudget;
+	/** Draws the frames handed to it on a thread of its own. */
+	private Renderer renderer;
+
+	/** States of the game screen. */
+	private enum State {
+		/** The game is running. */
+		PLAYING,
+		/** The game is stopped, showing the pause menu. */
+		PAUSED,
+		/** The game is stopped, asking to return to the title screen. */
+		CHECKOUT
+	};
 
 	/**
 	 * Constructor, establishes the properties of the screen.
@@ -107,20 +116,102 @@ public class GameScreen extends Screen {
 	public GameScreen(final GameState gameState,
 					  final GameSettings gameSettings, final boolean bonusLife, final boolean bossStage,
 					  final int width, final int height, final int fps) {
+		this(gameState, gameSettings, bonusLife, bossStage, width, height,
+				fps, new Clock());
+	}
+
+	/**
+	 * Constructor, establishes the properties of the screen around a level
+	 * built beforehand.
+	 *
+	 * @param gameState
+	 *            Current game state.
+	 * @param preparedLevel
+	 *            Level to play, with its settings, formation and sounds.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param fps
+	 *            Frames per second, frame rate at which the game is run.
+	 */
+	public GameScreen(final GameState gameState,
+			final PreparedLevel preparedLevel, final boolean bonusLife,
+			final int width, final int height, final int fps) {
+		this(gameState, preparedLevel.getGameSettings(), bonusLife,
+				preparedLevel.getGameSettings().getIsBoss(), width, height,
+				fps, preparedLevel.getClock());
+		this.random = preparedLevel.getRandom();
+		this.preparedLevel = preparedLevel;
+	}
+
+	/**
+	 * Constructor, establishes the properties of the screen and lets a bot
+	 * play it, as an attract mode that ends when any key is pressed.
+	 *
+	 * @param gameState
+	 *            Current game state.
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param fps
+	 *            Frames per second, frame rate at which the game is run.
+	 * @param bot
+	 *            Bot playing the game.
+	 */
+	public GameScreen(final GameState gameState,
+			final GameSettings gameSettings, final boolean bonusLife,
+			final boolean bossStage, final int width, final int height,
+			final int fps, final Bot bot) {
+		this(gameState, gameSettings, bonusLife, bossStage, width, height,
+				fps, new Clock());
+		this.bot = bot;
+	}
+
+	/**
+	 * Constructor, establishes the properties of the screen and the clock
+	 * the game runs on.
+	 *
+	 * @param gameState
+	 *            Current game state.
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param bonusLife
+	 *            Checks if a bonus life is awarded this level.
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param fps
+	 *            Frames per second, frame rate at which the game is run.
+	 * @param clock
+	 *            Clock of the game.
+	 */
+	private GameScreen(final GameState gameState,
+			final GameSettings gameSettings, final boolean bonusLife,
+			final boolean bossStage, final int width, final int height,
+			final int fps, final Clock clock) {
 		super(width, height, fps);
 
 		this.gameSettings = gameSettings;
+		this.gameState = gameState;
 		this.bonusLife = bonusLife;
 		this.bossStage = bossStage;
 		this.level = gameState.getLevel();
-		this.score = gameState.getScore();
-		this.lives = gameState.getLivesRemaining();
-		if (this.bonusLife)
-			this.lives++;
-		this.bulletsShot = gameState.getBulletsShot();
-		this.shipsDestroyed = gameState.getShipsDestroyed();
 		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
 		this.selectionCooldown.reset();
+		this.menuRedrawCooldown = Core.getCooldown(MENU_REDRAW_INTERVAL);
+		this.state = State.PLAYING;
+		this.clock = clock;
+		this.random = new Random();
+		this.frameBudget = Core.getFrameBudget();
 	}
 
 	/**
@@ -129,27 +220,37 @@ public class GameScreen extends Screen {
 	public final void initialize() {
 		super.initialize();
 
-		enemyShipFormation = new EnemyShipFormation(this.gameSettings);
-		enemyShipFormation.attach(this);
-		this.ship = new Ship((int)(this.width / (2 * this.getRatio())), (int)((this.height - 30)/ this.getRatio()));
-		// Appears each 10-30 seconds.
-		this.enemyShipSpecialCooldown = Core.getVariableCooldown(
-				BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE);
-		this.enemyShipSpecialCooldown.reset();
-		this.enemyShipSpecialExplosionCooldown = Core
-				.getCooldown(BONUS_SHIP_EXPLOSION);
-		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
+		if (this.preparedLevel == null) {
+			this.preparedLevel = new PreparedLevel(this.gameSettings,
+					this.clock, this.random);
+			this.ownsLevel = true;
+		}
+		this.simulation = new GameSimulation(this.gameState, this.bonusLife,
+				this.width, this.height, this.clock, this.random,
+				this.bot == null ? this.inputManager : new BotInput(this.bot),
+				this.preparedLevel.getEnemyShipFormations());
+		for (EnemyShipFormation formation
+				: this.simulation.getEnemyShipFormations())
+			formation.attach(this);
+		this.simulation.setParticles(new ParticleStore(PARTICLE_BUDGET));
+		this.renderer = new Renderer(this, BULLET_CAP, PARTICLE_BUDGET);
+		this.soundedBulletsShot = this.simulation.getBulletsShot();
+		this.soundedShipsDestroyed = this.simulation.getShipsDestroyed();
+		this.soundedLives = this.simulation.getLives();
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
-		this.inputDelay = Core.getCooldown(INPUT_DELAY);
+		this.gameStartTime = this.clock.getTime();
+		this.inputDelay = Core.getCooldown(GameSimulation.INPUT_DELAY,
+				this.clock.getTimingWheel());
 		this.inputDelay.reset();
 
-		// Load Audio file.
-		this.shootAudio = new Audio("shootAudio", false);
-		this.explosionAudio = new Audio("explosionAudio", false);
-		this.gameOver = new Audio("gameOver", false);
+		GameSounds sounds = this.preparedLevel.getSounds();
+		this.shootAudio = sounds.getShoot();
+		this.explosionAudio = sounds.getExplosion();
+		this.gameOver = sounds.getGameOver();
+		this.invaderKilled = sounds.getInvaderKilled();
+		this.specialAudio = sounds.getSpecial();
+		this.formationAudio = sounds.getFormation();
 	}
 
 	/**
@@ -158,11 +259,22 @@ public class GameScreen extends Screen {
 	 * @return Next screen code.
 	 */
 	public final int run() {
-		super.run();
+		this.renderer.start();
+		try {
+			super.run();
+		} finally {
+			this.renderer.stop();
+			// Levels built beforehand are closed by whoever built them.
+			if (this.ownsLevel) {
+				this.preparedLevel.close();
+				this.preparedLevel = null;
+				this.ownsLevel = false;
+			}
+		}
 
-		this.score += LIFE_SCORE * (this.lives - 1);
-		this.isPause = false;
-		this.logger.info("Screen cleared with a score of " + this.score);
+		this.simulation.addLifeBonus();
+		this.logger.info("Screen cleared with a score of "
+				+ this.simulation.getScore());
 
 		return this.returnCode;
 	}
@@ -173,135 +285,146 @@ public class GameScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		if (this.inputDelay.checkFinished() && !this.levelFinished) {
+		if (this.state != State.PLAYING) {
+			updateMenu();
+			return;
+		}
 
-			if (!this.ship.isDestroyed()) {
-				boolean moveRight = inputManager.isKeyDown(KeyEvent.VK_RIGHT)
-						|| inputManager.isKeyDown(KeyEvent.VK_D);
-				boolean moveLeft = inputManager.isKeyDown(KeyEvent.VK_LEFT)
-						|| inputManager.isKeyDown(KeyEvent.VK_A);
+		if (this.bot != null && inputManager.isAnyKeyDown()) {
+			this.isRunning = false;
+			return;
+		}
 
-				boolean isRightBorder = this.ship.getPositionX()
-						+ this.ship.getWidth() + this.ship.getSpeed() > (this.width / this.getRatio()) - 1;
-				boolean isLeftBorder = this.ship.getPositionX()
-						- this.ship.getSpeed() < 1;
+		if (this.simulation.isPlaying()
+				&& (inputManager.isKeyDown(KeyEvent.VK_ESCAPE)
+				|| inputManager.isKeyDown(KeyEvent.VK_P))) {
+			pause();
+			return;
+		}
 
-				if (moveRight && !isRightBorder) {
-					this.ship.moveRight();
-				}
-				if (moveLeft && !isLeftBorder) {
-					this.ship.moveLeft();
-				}
-				if (inputManager.isKeyDown(KeyEvent.VK_SPACE))
-					if (this.ship.shoot(this.bullets)) {
-						this.shootAudio.start();
-						this.bulletsShot++;
-					}
-			}
+		this.frameBudget.beginFrame();
+		this.simulation.getBullets().setLimit(
+				this.frameBudget.cap(BULLET_CAP));
+		this.simulation.update();
+		playSounds();
+		snapshot(this.renderer.getFrame());
+		this.renderer.hand();
+		this.frameBudget.endFrame();
 
-			if (this.enemyShipSpecial != null) {
-				if (!this.enemyShipSpecial.isDestroyed()) {
-					this.enemyShipSpecial.move(2, 0);
+		if (this.simulation.isOver())
+			this.isRunning = false;
+	}
 
-					if(this.enemyShipSpecial.getPositionX() == position) {
-						bullets.add(BulletPool.getBullet(enemyShipSpecial.getPositionX()+8,
-								+ enemyShipSpecial.getPositionY(), 4, Color.RED));
-						this.bulletCode = 1;
-					}
+	/**
+	 * Plays the sounds of what happened in the level since the last frame.
+	 */
+	private void playSounds() {
+		if (this.simulation.getBulletsShot() > this.soundedBulletsShot)
+			this.shootAudio.start();
+		if (this.simulation.getShipsDestroyed() > this.soundedShipsDestroyed)
+			this.invaderKilled.start();
+		if (this.simulation.getLives() < this.soundedLives)
+			this.explosionAudio.start();
+
+		int moves = 0;
+		for (EnemyShipFormation formation
+				: this.simulation.getEnemyShipFormations())
+			moves += formation.getMoves();
+		if (moves > this.soundedMoves)
+			this.formationAudio[(moves - 1) % this.formationAudio.length]
+					.start();
+
+		boolean specialShip = this.simulation.getEnemyShipSpecial() != null;
+		if (specialShip && !this.soundedSpecialShip)
+			this.specialAudio.start();
+		else if (!specialShip && this.soundedSpecialShip)
+			this.specialAudio.stop();
+
+		if (this.simulation.isLevelFinished() && !this.soundedLevelFinished) {
+			this.gameOver.start();
+			if (this.onLevelCleared != null && this.simulation.getLives() > 0)
+				this.onLevelCleared.run();
+		}
 
-				}
-				else if (this.enemyShipSpecialExplosionCooldown.checkFinished())
-					this.enemyShipSpecial = null;
-			}
+		this.soundedBulletsShot = this.simulation.getBulletsShot();
+		this.soundedShipsDestroyed = this.simulation.getShipsDestroyed();
+		this.soundedLives = this.simulation.getLives();
+		this.soundedMoves = moves;
+		this.soundedSpecialShip = specialShip;
+		this.soundedLevelFinished = this.simulation.isLevelFinished();
+	}
 
-			if (this.enemyShipSpecial == null
-					&& this.enemyShipSpecialCooldown.checkFinished()) {
-				this.specialAudio = new Audio("specialAudio", true);
-				this.specialAudio.start();
-				this.enemyShipSpecial = new EnemyShip();
-				this.enemyShipSpecialCooldown.reset();
-				// width == 448, 처음 위치 = -32
-				Random rand = new Random();
-				this.position = 20 + rand.nextInt((this.width-50)/2)*2;
-				this.logger.info("A special ship appears");
-			}
-			if (this.enemyShipSpecial != null
-					&& this.enemyShipSpecial.getPositionX() > this.width) {
-				this.specialAudio.stop();
-				this.enemyShipSpecial = null;
-				this.logger.info("The special ship has escaped");
-			}
+	/**
+	 * Stops the game and shows the pause menu.
+	 */
+	private void pause() {
+		// The menu is drawn over the last frame, once it's on screen.
+		this.renderer.flush();
+		this.state = State.PAUSED;
+		this.clock.pause();
+		this.returnCode = 0;
+		this.menuChanged = true;
+		this.selectionCooldown.reset();
+		this.logger.info("Game paused.");
+	}
 
-			if (inputManager.isKeyDown(KeyEvent.VK_ESCAPE)
-					|| inputManager.isKeyDown(KeyEvent.VK_P))
-				isPause = true;
-			while (isPause) {
-				if (inputManager.isKeyDown(KeyEvent.VK_LEFT)
-						|| inputManager.isKeyDown(KeyEvent.VK_A)) {
-					previousMenuItem();
-				}
-				if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)
-						|| inputManager.isKeyDown(KeyEvent.VK_D)) {
-					nextMenuItem();
+	/**
+	 * Hides the pause menu and restarts the game where it was stopped.
+	 */
+	private void resume() {
+		this.state = State.PLAYING;
+		this.clock.resume();
+		this.logger.info("Game resumed.");
+	}
+
+	/**
+	 * Checks for events on the pause and checkout menus, drawing them only
+	 * when they change or every few hundred milliseconds.
+	 */
+	private void updateMenu() {
+		if (inputManager.isKeyDown(KeyEvent.VK_LEFT)
+				|| inputManager.isKeyDown(KeyEvent.VK_A)) {
+			this.menuChanged |= this.returnCode != 0;
+			previousMenuItem();
+		}
+		if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)
+				|| inputManager.isKeyDown(KeyEvent.VK_D)) {
+			this.menuChanged |= this.returnCode != 1;
+			nextMenuItem();
+		}
+
+		if (this.selectionCooldown.checkFinished()) {
+			if (this.state == State.PAUSED
+					&& inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
+				this.selectionCooldown.reset();
+				if (this.returnCode == 0) {
+					resume();
+					return;
 				}
-				if (inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
-					try {
-						if (this.returnCode == 0) {
-							this.isPause = false;
-						}
-						else if (this.returnCode == 1) {
-							isResume = true;
-							while (isResume) {
-								if (inputManager.isKeyDown(KeyEvent.VK_LEFT)
-										|| inputManager.isKeyDown(KeyEvent.VK_A)) {
-									previousMenuItem();
-								}
-								if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)
-										|| inputManager.isKeyDown(KeyEvent.VK_D)) {
-									nextMenuItem();
-								}
-								if (inputManager.isKeyDown(KeyEvent.VK_ENTER)) // Checkout
-									try {
-										if (this.returnCode == 1) {
-											this.isPause = false;
-											this.isResume = false;
-										} else if (this.returnCode == 0) {
-											this.lives = -1;
-											this.isPause = false;
-											this.isResume = false;
-											this.isRunning = false;
-										}
-										Thread.sleep(100);
-									} catch (InterruptedException e) { }
-								drawCheckOut(this.returnCode);
-							}
-						}
-						Thread.sleep(100);
-					} catch (InterruptedException e) { }
-					this.selectionCooldown.reset();
+				this.state = State.CHECKOUT;
+				this.menuChanged = true;
+			} else if (this.state == State.CHECKOUT
+					&& inputManager.isKeyDown(KeyEvent.VK_ENTER)) {
+				this.selectionCooldown.reset();
+				if (this.returnCode == 0) {
+					this.simulation.setLives(-1);
+					this.isRunning = false;
 				}
-				drawPause(this.returnCode);
+				resume();
+				return;
 			}
-
-			this.ship.update();
-			this.enemyShipFormation.update();
-			this.enemyShipFormation.shoot(this.bullets);
 		}
 
-		manageCollisions();
-		cleanBullets();
-		draw();
-
-		if ((this.enemyShipFormation.isEmpty() || this.lives == 0)
-				&& !this.levelFinished) {
-			this.levelFinished = true;
-			this.gameOver.start();
-			this.screenFinishedCooldown.reset();
+		if (this.menuChanged || this.menuRedrawCooldown.checkFinished()) {
+			this.menuChanged = false;
+			this.menuRedrawCooldown.reset();
+			if (this.state == State.PAUSED)
+				drawPause(this.returnCode);
+			else
+				drawCheckOut(this.returnCode);
 		}
-
-		if (this.levelFinished && this.screenFinishedCooldown.checkFinished())
-			this.isRunning = false;
 	}
+
 	/**
 	 * Shifts the focus to the next menu item.
 	 */
@@ -319,8 +442,9 @@ public class GameScreen extends Screen {
 	/** next option */
 
 	private void drawPause(final int option) {
-		drawManager.drawPause(this, INPUT_DELAY, this.isPause,
-				option, this.level, this.score, this.lives);
+		drawManager.drawPause(this, GameSimulation.INPUT_DELAY,
+				this.state == State.PAUSED, option, this.level,
+				this.simulation.getScore(), this.simulation.getLives());
 		drawManager.drawHorizontalLine(this, this.height / 2 - this.height
 				/ 4);
 		drawManager.drawHorizontalLine(this, this.height / 2 + this.height
@@ -336,138 +460,66 @@ public class GameScreen extends Screen {
 	}
 
 	/**
-	 * Draws the elements associated with the screen.
+	 * Copies what the frame shows into a snapshot, for it to be drawn while
+	 * the game goes on.
+	 *
+	 * @param snapshot
+	 *            Snapshot filled.
 	 */
-	private void draw() {
-		drawManager.initDrawing(this);
-		drawManager.drawEntity(this.ship, this.ship.getPositionX(),
-				this.ship.getPositionY());
-		if (this.enemyShipSpecial != null)
-			drawManager.drawEntity(this.enemyShipSpecial,
-					this.enemyShipSpecial.getPositionX(),
-					this.enemyShipSpecial.getPositionY());
-
-		enemyShipFormation.draw();
-
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
-
-		// Interface.
-		drawManager.drawBulletCount(this, this.bulletsShot);
-		drawManager.drawBulletCountString (this);
-		drawManager.drawScoreString(this);
-
-		drawManager.drawScore(this, this.score);
-		drawManager.drawLives(this, this.lives);
-		drawManager.drawHorizontalLine(this, (int) Math.round((SEPARATION_LINE_HEIGHT - 1) * (this.getHeight()/522f)));
-		// Countdown to game start.
-		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY
-					- (System.currentTimeMillis()
-					- this.gameStartTime)) / 1000);
-			drawManager.drawCountDown(this, this.level, countdown,
-					this.bonusLife);
-			drawManager.drawHorizontalLine(this, this.height / 2 - this.height
-					/ 12);
-			drawManager.drawHorizontalLine(this, this.height / 2 + this.height
-					/ 12);
-		}
-
-		drawManager.completeDrawing(this);
+	private void snapshot(final FrameSnapshot snapshot) {
+		snapshot.clear();
+		Ship ship = this.simulation.getShip();
+		snapshot.addEntity(ship, ship.getSpriteType());
+		EnemyShip enemyShipSpecial = this.simulation.getEnemyShipSpecial();
+		if (enemyShipSpecial != null)
+			snapshot.addEntity(enemyShipSpecial,
+					enemyShipSpecial.getSpriteType());
+		for (EnemyShipFormation formation
+				: this.simulation.getEnemyShipFormations())
+			formation.addTo(snapshot);
+		snapshot.copyShields(this.simulation.getShields());
+		snapshot.copyParticles(this.simulation.getParticles());
+		snapshot.copyBullets(this.simulation.getBullets());
+		snapshot.copyPowerUps(this.simulation.getPowerUpEffects(), ship);
+
+		snapshot.setInterface(this.simulation.getScore(),
+				this.simulation.getLives(), this.simulation.getBulletsShot());
+		int countdown = FrameSnapshot.NO_COUNTDOWN;
+		if (!this.simulation.isStarted())
+			countdown = (int) Math.max(0, (GameSimulation.INPUT_DELAY
+					- (this.clock.getTime() - this.gameStartTime)) / 1000);
+		snapshot.setCountdown(this.level, countdown, this.bonusLife);
 	}
 
 	/**
-	 * Cleans bullets that go off screen.
+	 * Sets what to do once the level is cleared, while its last seconds are
+	 * still on screen.
+	 *
+	 * @param onLevelCleared
+	 *            Called once if the level is cleared.
 	 */
-	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+	public final void setOnLevelCleared(final Runnable onLevelCleared) {
+		this.onLevelCleared = onLevelCleared;
 	}
 
 	/**
-	 * Manages collisions between bullets and ships.
+	 * Getter for the renderer drawing the level. Package visible for the
+	 * allocation test.
+	 *
+	 * @return Renderer of the screen.
 	 */
-	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets)
-			if (bullet.getSpeed() > 0) {
-				if (checkCollision(bullet, this.ship) && !this.levelFinished) {
-					recyclable.add(bullet);
-					if (!this.ship.isDestroyed()) {
-						this.ship.destroy();
-						this.explosionAudio.start();
-						if (this.bulletCode == 1) {
-							this.lives -= 2;
-							this.bulletCode = 0;
-						} else {
-							this.lives--;
-						}
-						this.logger.info("Hit on player ship, " + this.lives
-								+ " lives remaining.");
-					}
-				}
-			} else {
-				for (EnemyShip enemyShip : this.enemyShipFormation)
-					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
-						if (enemyShip.getHp() == 1) {
-							this.score += enemyShip.getPointValue();
-							this.shipsDestroyed++;
-							this.enemyShipFormation.destroy(enemyShip);
-							recyclable.add(bullet);
-						}
-						else {
-							this.score += enemyShip.getPointValue();
-							recyclable.add(bullet);
-							enemyShip.hp--;
-
-						}
-					}
-				if (this.enemyShipSpecial != null
-						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
-					this.score += this.enemyShipSpecial.getPointValue();
-					this.shipsDestroyed++;
-					this.enemyShipSpecial.destroy();
-					this.enemyShipSpecialExplosionCooldown.reset();
-					recyclable.add(bullet);
-				}
-			}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+	final Renderer getRenderer() {
+		return this.renderer;
 	}
 
 	/**
-	 * Checks if two entities are colliding.
+	 * Getter for the level being played. Package visible for the allocation
+	 * test.
 	 *
-	 * @param a
-	 *            First entity, the bullet.
-	 * @param b
-	 *            Second entity, the ship.
-	 * @return Result of the collision test.
+	 * @return Simulation of the level.
 	 */
-	private boolean checkCollision(final Entity a, final Entity b) {
-		// Calculate center point of the entities in both axis.
-		int centerAX = a.getPositionX() + a.getWidth() / 2;
-		int centerAY = a.getPositionY() + a.getHeight() / 2;
-		int centerBX = b.getPositionX() + b.getWidth() / 2;
-		int centerBY = b.getPositionY() + b.getHeight() / 2;
-		// Calculate maximum distance without collision.
-		int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
-		int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
-		// Calculates distance.
-		int distanceX = Math.abs(centerAX - centerBX);
-		int distanceY = Math.abs(centerAY - centerBY);
-
-		return distanceX < maxDistanceX && distanceY < maxDistanceY;
+	final GameSimulation getSimulation() {
+		return this.simulation;
 	}
 
 	/**
@@ -476,7 +528,6 @@ public class GameScreen extends Screen {
 	 * @return Current game state.
 	 */
 	public final GameState getGameState() {
-		return new GameState(this.level, this.score, this.lives,
-				this.bulletsShot, this.shipsDestroyed);
+		return this.simulation.getGameState();
 	}
-}
\ No newline at end of file
+}
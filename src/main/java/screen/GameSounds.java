@@ -0,0 +1,96 @@
+package screen;
+
+import engine.Audio;
+
+/**
+ * Opens the sounds played during a level.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+final class GameSounds {
+
+	/** Sound of the player's shots. */
+	private final Audio shoot;
+	/** Sound of the player's ship being hit. */
+	private final Audio explosion;
+	/** Sound of the level ending. */
+	private final Audio gameOver;
+	/** Sound of an enemy ship destroyed. */
+	private final Audio invaderKilled;
+	/** Sound of the bonus ship, looped while it's on screen. */
+	private final Audio special;
+	/** Sounds of the formation's steps, in the order they are played. */
+	private final Audio[] formation;
+
+	/**
+	 * Constructor, opens every sound.
+	 */
+	GameSounds() {
+		this.shoot = new Audio("shootAudio", false);
+		this.explosion = new Audio("explosionAudio", false);
+		this.gameOver = new Audio("gameOver", false);
+		this.invaderKilled = new Audio("invaderKilled", false);
+		this.special = new Audio("specialAudio", true);
+		this.formation = new Audio[] {
+				new Audio("fastInvader4", false),
+				new Audio("fastInvader1", false),
+				new Audio("fastInvader2", false),
+				new Audio("fastInvader3", false) };
+	}
+
+	/**
+	 * @return the sound of the player's shots
+	 */
+	Audio getShoot() {
+		return this.shoot;
+	}
+
+	/**
+	 * @return the sound of the player's ship being hit
+	 */
+	Audio getExplosion() {
+		return this.explosion;
+	}
+
+	/**
+	 * @return the sound of the level ending
+	 */
+	Audio getGameOver() {
+		return this.gameOver;
+	}
+
+	/**
+	 * @return the sound of an enemy ship destroyed
+	 */
+	Audio getInvaderKilled() {
+		return this.invaderKilled;
+	}
+
+	/**
+	 * @return the sound of the bonus ship
+	 */
+	Audio getSpecial() {
+		return this.special;
+	}
+
+	/**
+	 * @return the sounds of the formation's steps
+	 */
+	Audio[] getFormation() {
+		return this.formation;
+	}
+
+	/**
+	 * Releases every sound.
+	 */
+	void close() {
+		this.shoot.close();
+		this.explosion.close();
+		this.gameOver.close();
+		this.invaderKilled.close();
+		this.special.close();
+		for (Audio step : this.formation)
+			step.close();
+	}
+}
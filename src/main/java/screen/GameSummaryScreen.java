@@ -1,11 +1,6 @@
 package screen;
 
 import java.awt.event.KeyEvent;
-import java.io.IOException;
-import java.util.List;
-
-import engine.Core;
-import engine.Score;
 
 /**
  * Implements the high scores screen, it shows player records.
@@ -15,9 +10,6 @@ import engine.Score;
  */
 public class GameSummaryScreen extends Screen {
 
-    /** List of past high scores. */
-    private List<Score> highScores;
-
     /**
      * Constructor, establishes the properties of the screen.
      *
@@ -31,13 +23,16 @@ public class GameSummaryScreen extends Screen {
     public GameSummaryScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
 
-        this.returnCode = 2;
+        this.renderOnChange = true;
+    }
 
-        try {
-            this.highScores = Core.getFileManager().loadHighScores();
-        } catch (NumberFormatException | IOException e) {
-            logger.warning("Couldn't load high scores!");
-        }
+    /**
+     * Starts the screen over every time it's shown.
+     */
+    public final void initialize() {
+        super.initialize();
+
+        this.returnCode = 2;
     }
 
     /**
@@ -57,10 +52,12 @@ public class GameSummaryScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
         if (inputManager.isKeyDown(KeyEvent.VK_SPACE)
                 && this.inputDelay.checkFinished())
             this.isRunning = false;
+
+        if (consumeRedrawRequest())
+            draw();
     }
 
     /**
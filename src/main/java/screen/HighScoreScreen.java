@@ -31,8 +31,16 @@ public class HighScoreScreen extends Screen {
 	public HighScoreScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
 
-		this.returnCode = 1;
+		this.renderOnChange = true;
+	}
+
+	/**
+	 * Starts the screen over every time it's shown, with the latest scores.
+	 */
+	public final void initialize() {
+		super.initialize();
 
+		this.returnCode = 1;
 		try {
 			this.highScores = Core.getFileManager().loadHighScores();
 		} catch (NumberFormatException | IOException e) {
@@ -57,11 +65,12 @@ public class HighScoreScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
-
 		if (inputManager.isKeyDown(KeyEvent.VK_SPACE)
 				&& this.inputDelay.checkFinished())
 			this.isRunning = false;
+
+		if (consumeRedrawRequest())
+			draw();
 	}
 
 	/**
@@ -0,0 +1,111 @@
+package screen;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import engine.Core;
+import engine.GameSettings;
+
+/**
+ * Builds the next level on a background thread while the current one is
+ * still on screen, so starting it doesn't stall the game.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class LevelPreparer {
+
+	/** Thread levels are built on. */
+	private final ExecutorService executor;
+	/** Application logger. */
+	private Logger logger;
+	/** Settings of the level being built, null if none is. */
+	private GameSettings pendingSettings;
+	/** Level being built, null if none is. */
+	private Future<PreparedLevel> pending;
+	/** Level last handed out, closed when the next one is. */
+	private PreparedLevel current;
+
+	/**
+	 * Constructor, starts the background thread.
+	 */
+	public LevelPreparer() {
+		this.logger = Core.getLogger();
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "level-preparer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts building a level in the background, replacing any other level
+	 * being built.
+	 *
+	 * @param gameSettings
+	 *            Settings of the level.
+	 */
+	public synchronized void prepare(final GameSettings gameSettings) {
+		if (this.pending != null && this.pendingSettings == gameSettings)
+			return;
+		discard();
+		this.pendingSettings = gameSettings;
+		this.pending = this.executor.submit(
+				() -> new PreparedLevel(gameSettings));
+	}
+
+	/**
+	 * Returns a level ready to play, the one built in the background if it
+	 * has the given settings, or a new one otherwise. The level handed out
+	 * before is released.
+	 *
+	 * @param gameSettings
+	 *            Settings of the level.
+	 * @return Level ready to play.
+	 */
+	public synchronized PreparedLevel take(final GameSettings gameSettings) {
+		PreparedLevel level = null;
+		if (this.pending != null && this.pendingSettings == gameSettings) {
+			try {
+				level = this.pending.get();
+			} catch (ExecutionException e) {
+				this.logger.warning("Preparing the level failed: "
+						+ e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			this.pending = null;
+			this.pendingSettings = null;
+		} else {
+			discard();
+		}
+		if (level == null)
+			level = new PreparedLevel(gameSettings);
+
+		if (this.current != null)
+			this.current.close();
+		this.current = level;
+		return level;
+	}
+
+	/**
+	 * Drops the level being built, releasing it once it's done.
+	 */
+	private void discard() {
+		if (this.pending == null)
+			return;
+		final Future<PreparedLevel> discarded = this.pending;
+		this.executor.execute(() -> {
+			try {
+				discarded.get().close();
+			} catch (ExecutionException | InterruptedException e) {
+				return;
+			}
+		});
+		this.pending = null;
+		this.pendingSettings = null;
+	}
+}
@@ -0,0 +1,101 @@
+package screen;
+
+import java.util.Random;
+
+import engine.Clock;
+import engine.GameSettings;
+import entity.EnemyShipFormation;
+
+/**
+ * What a level needs built before it starts: its formations and sounds, along
+ * with the clock and random source the formations were built with. Nothing in
+ * it starts running until the level does, so it can be built ahead of time.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+public final class PreparedLevel {
+
+	/** Settings of the level. */
+	private final GameSettings gameSettings;
+	/** Clock of the level. */
+	private final Clock clock;
+	/** Source of the level's random choices. */
+	private final Random random;
+	/** Formations of the level. */
+	private final EnemyShipFormation[] enemyShipFormations;
+	/** Sounds of the level. */
+	private final GameSounds sounds;
+
+	/**
+	 * Constructor, builds the level with a new clock and random source.
+	 *
+	 * @param gameSettings
+	 *            Settings of the level.
+	 */
+	public PreparedLevel(final GameSettings gameSettings) {
+		this(gameSettings, new Clock(), new Random());
+	}
+
+	/**
+	 * Constructor, builds the level.
+	 *
+	 * @param gameSettings
+	 *            Settings of the level.
+	 * @param clock
+	 *            Clock of the level.
+	 * @param random
+	 *            Source of the level's random choices.
+	 */
+	PreparedLevel(final GameSettings gameSettings, final Clock clock,
+			final Random random) {
+		this.gameSettings = gameSettings;
+		this.clock = clock;
+		this.random = random;
+		this.enemyShipFormations = EnemyShipFormation.createAll(gameSettings,
+				clock, random);
+		this.sounds = new GameSounds();
+	}
+
+	/**
+	 * @return the settings of the level
+	 */
+	public GameSettings getGameSettings() {
+		return this.gameSettings;
+	}
+
+	/**
+	 * @return the clock of the level
+	 */
+	Clock getClock() {
+		return this.clock;
+	}
+
+	/**
+	 * @return the source of the level's random choices
+	 */
+	Random getRandom() {
+		return this.random;
+	}
+
+	/**
+	 * @return the formations of the level
+	 */
+	EnemyShipFormation[] getEnemyShipFormations() {
+		return this.enemyShipFormations;
+	}
+
+	/**
+	 * @return the sounds of the level
+	 */
+	GameSounds getSounds() {
+		return this.sounds;
+	}
+
+	/**
+	 * Releases the level's sounds once it's no longer played.
+	 */
+	void close() {
+		this.sounds.close();
+	}
+}
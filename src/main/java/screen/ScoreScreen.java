@@ -2,6 +2,8 @@ package screen;
 
 import java.awt.event.KeyEvent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -58,24 +60,41 @@ public class ScoreScreen extends Screen {
 	 *            Screen height.
 	 * @param fps
 	 *            Frames per second, frame rate at which the game is run.
-	 * @param gameState
-	 *            Current game state.
 	 */
-	public ScoreScreen(final int width, final int height, final int fps,
-			final GameState gameState) {
+	public ScoreScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
 
+		this.name = new char[3];
+		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+		this.scoreAudio = new Audio("scoreAudio", false);
+	}
+
+	/**
+	 * Sets the game whose results are shown next.
+	 *
+	 * @param gameState
+	 *            State of the finished game.
+	 */
+	public final void setGameState(final GameState gameState) {
 		this.score = gameState.getScore();
 		this.livesRemaining = gameState.getLivesRemaining();
 		this.bulletsShot = gameState.getBulletsShot();
 		this.shipsDestroyed = gameState.getShipsDestroyed();
+	}
+
+	/**
+	 * Starts the screen over every time it's shown, with the results of the
+	 * last game set.
+	 */
+	public final void initialize() {
+		super.initialize();
+
+		this.returnCode = 0;
 		this.isNewRecord = false;
-		this.name = "AAA".toCharArray();
+		Arrays.fill(this.name, 'A');
 		this.nameCharSelected = 0;
-		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
 		this.selectionCooldown.reset();
 
-		this.scoreAudio = new Audio("scoreAudio", false);
 		this.scoreAudio.start();
 
 		try {
@@ -156,6 +175,8 @@ public class ScoreScreen extends Screen {
 	 * Saves the score as a high score.
 	 */
 	private void saveScore() {
+		// The loaded scores are shared, the new list replaces them.
+		List<Score> highScores = new ArrayList<Score>(this.highScores);
 		highScores.add(new Score(new String(this.name), score));
 		Collections.sort(highScores);
 		if (highScores.size() > MAX_HIGH_SCORE_NUM)
@@ -17,6 +17,8 @@ public class Screen {
 
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Longest time an idle screen waits before checking its state again. */
+	private static final int IDLE_TIMEOUT = 1000;
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
@@ -26,6 +28,8 @@ public class Screen {
 	protected InputManager inputManager;
 	/** Application logger. */
 	protected Logger logger;
+	/** Input latency monitor. */
+	protected LatencyMonitor latencyMonitor;
 
 	/** Screen width. */
 	protected int width;
@@ -42,6 +46,15 @@ public class Screen {
 	protected boolean isRunning;
 	/** What kind of screen goes next. */
 	protected int returnCode;
+	/** If the screen is only drawn when its state changes. */
+	protected boolean renderOnChange;
+
+	/** Lock an idle screen waits on until something happens. */
+	private final Object idleLock = new Object();
+	/** Checks if something happened since the screen last went idle. */
+	private boolean eventPending;
+	/** Checks if the screen has to be drawn again. */
+	private boolean redrawRequested;
 
 	private final int FPS = 60;
 
@@ -63,16 +76,23 @@ public class Screen {
 		this.drawManager = Core.getDrawManager();
 		this.inputManager = Core.getInputManager();
 		this.logger = Core.getLogger();
+		this.latencyMonitor = Core.getLatencyMonitor();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 		this.returnCode = 0;
+		this.redrawRequested = true;
 	}
 
 	/**
-	 * Initializes basic screen properties.
+	 * Initializes basic screen properties. Called every time the screen is
+	 * shown, so screens kept between uses start over from here.
 	 */
 	public void initialize() {
-
+		this.inputDelay.reset();
+		synchronized (this.idleLock) {
+			this.eventPending = false;
+			this.redrawRequested = true;
+		}
 	}
 
 	/**
@@ -84,18 +104,23 @@ public class Screen {
 		this.isRunning = true;
 		while (this.isRunning) {
 			long time = System.currentTimeMillis();
+			this.latencyMonitor.beginFrame(
+					this.inputManager.consumeOldestEventTime());
 
 			update();
 
 			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
-				try {
+			try {
+				if (time > 0)
 					TimeUnit.MILLISECONDS.sleep(time);
-				} catch (InterruptedException e) {
-					return 0;
-				}
+				if (this.renderOnChange && this.isRunning)
+					waitForEvent();
+			} catch (InterruptedException e) {
+				return 0;
 			}
 		}
+		this.latencyMonitor.report(getClass().getSimpleName(), this.width,
+				this.height);
 
 		return 0;
 	}
@@ -106,6 +131,60 @@ public class Screen {
 	protected void update() {
 	}
 
+	/**
+	 * Blocks an idle screen until there is input, a redraw is requested, or
+	 * a timer the screen depends on may have finished.
+	 *
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting.
+	 */
+	private void waitForEvent() throws InterruptedException {
+		// Held keys and the input delay are polled at the normal frame rate.
+		long timeout = IDLE_TIMEOUT;
+		if (this.inputManager.isAnyKeyDown()
+				|| !this.inputDelay.checkFinished())
+			timeout = 1000 / this.fps;
+
+		synchronized (this.idleLock) {
+			if (!this.eventPending && !this.redrawRequested)
+				this.idleLock.wait(timeout);
+			this.eventPending = false;
+		}
+	}
+
+	/**
+	 * Wakes the screen up if it's idle, so it checks for input.
+	 */
+	public final void wake() {
+		synchronized (this.idleLock) {
+			this.eventPending = true;
+			this.idleLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Asks for the screen to be drawn again, waking it up if it's idle.
+	 */
+	public final void requestRedraw() {
+		synchronized (this.idleLock) {
+			this.redrawRequested = true;
+			this.idleLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Checks if the screen has to be drawn, and clears the request.
+	 *
+	 * @return True if the screen has to be drawn this frame.
+	 */
+	protected final boolean consumeRedrawRequest() {
+		synchronized (this.idleLock) {
+			boolean redraw = this.redrawRequested || !this.renderOnChange;
+			this.redrawRequested = false;
+			return redraw;
+		}
+	}
+
 	/**
 	 * Getter for screen width.
 	 *
@@ -124,6 +203,19 @@ public class Screen {
 		return this.height;
 	}
 
+	/**
+	 * Changes the size of the screen, after the window changes.
+	 *
+	 * @param width
+	 *            New screen width.
+	 * @param height
+	 *            New screen height.
+	 */
+	public final void setSize(final int width, final int height) {
+		this.width = width;
+		this.height = height;
+	}
+
 	/**
 	 * Getter for screen ratio.
 	 *
@@ -15,9 +15,15 @@ public class TitleScreen extends Screen {
 
 	/** Milliseconds between changes in user selection. */
 	private static final int SELECTION_TIME = 200;
+	/** Milliseconds without input before a bot starts playing. */
+	private static final int ATTRACT_DELAY = 20000;
+	/** Codes of the menu items, from the top. */
+	private static final int[] MENU = { 2, 6, 3, 4, 0 };
 	
 	/** Time between changes in user selection. */
 	private Cooldown selectionCooldown;
+	/** Time without input before a bot starts playing. */
+	private Cooldown attractCooldown;
 
 
 	/**
@@ -33,10 +39,21 @@ public class TitleScreen extends Screen {
 	public TitleScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
 
+		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+		this.attractCooldown = Core.getCooldown(ATTRACT_DELAY);
+		this.renderOnChange = true;
+	}
+
+	/**
+	 * Starts the screen over every time it's shown.
+	 */
+	public final void initialize() {
+		super.initialize();
+
 		// Defaults to play.
 		this.returnCode = 2;
-		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
 		this.selectionCooldown.reset();
+		this.attractCooldown.reset();
 	}
 
 	/**
@@ -56,46 +73,61 @@ public class TitleScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
+		if (inputManager.isAnyKeyDown())
+			this.attractCooldown.reset();
+		else if (this.attractCooldown.checkFinished()) {
+			// Attract mode.
+			this.returnCode = 5;
+			this.isRunning = false;
+			return;
+		}
+
 		if (this.selectionCooldown.checkFinished()
 				&& this.inputDelay.checkFinished()) {
 			if (inputManager.isKeyDown(KeyEvent.VK_UP)
 					|| inputManager.isKeyDown(KeyEvent.VK_W)) {
 				previousMenuItem();
 				this.selectionCooldown.reset();
+				requestRedraw();
 			}
 			if (inputManager.isKeyDown(KeyEvent.VK_DOWN)
 					|| inputManager.isKeyDown(KeyEvent.VK_S)) {
 				nextMenuItem();
 				this.selectionCooldown.reset();
+				requestRedraw();
 			}
 			if (inputManager.isKeyDown(KeyEvent.VK_SPACE))
 				this.isRunning = false;
 		}
+
+		if (consumeRedrawRequest())
+			draw();
 	}
 
 	/**
 	 * Shifts the focus to the next menu item.
 	 */
 	private void nextMenuItem() {
-		if (this.returnCode == 4)
-			this.returnCode = 0;
-		else if (this.returnCode == 0)
-			this.returnCode = 2;
-		else
-			this.returnCode++;
+		this.returnCode = MENU[(menuIndex() + 1) % MENU.length];
 	}
 
 	/**
 	 * Shifts the focus to the previous menu item.
 	 */
 	private void previousMenuItem() {
-		if (this.returnCode == 0)
-			this.returnCode = 4;
-		else if (this.returnCode == 2)
-			this.returnCode = 0;
-		else
-			this.returnCode--;
+		this.returnCode = MENU[(menuIndex() + MENU.length - 1) % MENU.length];
+	}
+
+	/**
+	 * Finds the menu item in focus.
+	 *
+	 * @return Place of the item in the menu, from the top.
+	 */
+	private int menuIndex() {
+		int index = 0;
+		while (MENU[index] != this.returnCode)
+			index++;
+		return index;
 	}
 
 	/**
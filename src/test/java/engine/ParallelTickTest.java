@@ -0,0 +1,156 @@
+package engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletStore;
+import entity.EnemyShipFormation;
+import entity.PowerUp;
+
+/**
+ * Plays the same games with every frame split across threads and on a single
+ * thread, and checks they are played the same way, frame by frame, while
+ * destroyed ships drop power-ups among the bullets. Every frame starts with
+ * the store holding as many bullets as there is room for, each on a ship
+ * that one hit destroys, so power-ups are dropped while the collisions of a
+ * full store are managed.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+class ParallelTickTest {
+
+	/** Number of games played, each from its own seed. */
+	private static final int SEEDS = 10;
+	/** Most frames played of each game. */
+	private static final int FRAMES = 2000;
+	/** Bullets the store holds at the start of every frame. */
+	private static final int BULLETS = 32;
+	/** Rows of ships of the formation. */
+	private static final int ROWS = 6;
+	/** Threads each frame is split across. */
+	private static final int THREADS = 2;
+	/** Milliseconds between frames. */
+	private static final int FRAME_TIME = 1000 / Core.FPS;
+
+	/**
+	 * Plays every game both ways and compares them.
+	 */
+	@Test
+	void splitFramesPlayTheSame() {
+		Core.getLogger().setLevel(Level.SEVERE);
+		ForkJoinPool pool = new ForkJoinPool(THREADS);
+		try {
+			int drops = 0;
+			for (int seed = 0; seed < SEEDS; seed++) {
+				long[] single = new long[FRAMES];
+				long[] split = new long[FRAMES];
+				drops += play(seed, null, single);
+				play(seed, new ParallelTick(pool, 1), split);
+				for (int frame = 0; frame < FRAMES; frame++)
+					assertEquals(single[frame], split[frame],
+							"seed " + seed + " frame " + frame);
+			}
+			assertTrue(drops > 0, "no power-up dropped");
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a game, keeping a summary of each frame.
+	 *
+	 * @param seed
+	 *            Seed of the game.
+	 * @param parallelTick
+	 *            Splits the frames across threads, null to use one.
+	 * @param frames
+	 *            Summary of each frame, 0 past the end of the game.
+	 * @return Frames with power-ups falling.
+	 */
+	private static int play(final long seed, final ParallelTick parallelTick,
+			final long[] frames) {
+		SpriteType[] rowTypes = new SpriteType[ROWS];
+		int[] rowHitPoints = new int[ROWS];
+		Arrays.fill(rowTypes, SpriteType.EnemyShipA1);
+		Arrays.fill(rowHitPoints, 1);
+		Random random = new Random(seed);
+		TickClock clock = new TickClock();
+		// Nothing is pressed, the bullets are put on the ships instead.
+		GameSimulation simulation = new GameSimulation(
+				new GameState(1, 0, Core.MAX_LIVES, 0, 0),
+				new GameSettings(16, ROWS, 20, 1000, false, rowTypes,
+						rowHitPoints, 1), false, Core.WIDTH, Core.HEIGHT,
+				clock, random, keyCode -> false);
+		simulation.setParallelTick(parallelTick);
+		int drops = 0;
+		for (int frame = 0; frame < FRAMES && !simulation.isOver();
+				frame++) {
+			aim(simulation);
+			clock.advance(FRAME_TIME);
+			simulation.update();
+			frames[frame] = summarize(simulation);
+			BulletStore bullets = simulation.getBullets();
+			for (int i = 0; i < bullets.size(); i++)
+				if (bullets.getPowerUp(i) != null) {
+					drops++;
+					break;
+				}
+		}
+		return drops;
+	}
+
+	/**
+	 * Puts still player bullets on the ships left, until the store holds
+	 * as many bullets as there is room for before it grows.
+	 *
+	 * @param simulation
+	 *            Game the bullets are put in.
+	 */
+	private static void aim(final GameSimulation simulation) {
+		BulletStore bullets = simulation.getBullets();
+		for (EnemyShipFormation formation
+				: simulation.getEnemyShipFormations())
+			for (int i = 0; i < formation.size()
+					&& bullets.size() < BULLETS; i++)
+				if (!formation.isDestroyed(i))
+					bullets.add(formation.getPositionX(i)
+							+ formation.getWidth(i) / 2,
+							formation.getPositionY(i), 0, 0, Color.WHITE,
+							false);
+	}
+
+	/**
+	 * Sums up where a game stands, so two frames played differently are
+	 * told apart.
+	 *
+	 * @param simulation
+	 *            Game summed up.
+	 * @return Hash of the score, lives, ships, bullets and power-ups.
+	 */
+	private static long summarize(final GameSimulation simulation) {
+		long hash = simulation.getScore();
+		hash = hash * 31 + simulation.getLives();
+		hash = hash * 31 + simulation.getShipsLeft();
+		BulletStore bullets = simulation.getBullets();
+		for (int i = 0; i < bullets.size(); i++) {
+			PowerUp powerUp = bullets.getPowerUp(i);
+			hash = hash * 31 + bullets.getPositionX(i);
+			hash = hash * 31 + bullets.getPositionY(i);
+			hash = hash * 31 + (powerUp == null ? -1 : powerUp.ordinal());
+		}
+		PowerUpEffects effects = simulation.getPowerUpEffects();
+		for (int i = 0; i < PowerUp.count(); i++)
+			hash = hash * 31 + effects.getRemaining(PowerUp.get(i));
+		return hash;
+	}
+}
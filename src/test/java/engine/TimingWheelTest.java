@@ -0,0 +1,301 @@
+package engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the timing wheel against a brute force model that keeps the
+ * deadline of every timer and looks at all of them each time the clock
+ * moves. Timers are scheduled, moved and cancelled at random, with delays
+ * and clock jumps that cross the edges of every wheel, and some of them
+ * schedule themselves again when they come due.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+class TimingWheelTest {
+
+	/** Number of timers played with. */
+	private static final int TIMERS = 64;
+	/** Random operations made in each game. */
+	private static final int STEPS = 20000;
+	/** Number of games played, each from its own seed. */
+	private static final int SEEDS = 20;
+	/** Sizes of each wheel, from the innermost, and past the outermost. */
+	private static final long[] EDGES = { 1L << 8, 1L << 14, 1L << 20,
+			1L << 26 };
+	/** Deadline of a timer that isn't waiting, in the model. */
+	private static final long IDLE = Long.MIN_VALUE;
+
+	/** Clock the wheel is measured against. */
+	private TickClock clock;
+	/** Wheel checked. */
+	private TimingWheel wheel;
+	/** Source of the operations. */
+	private Random random;
+	/** Timers played with. */
+	private TimingWheel.Timer[] timers;
+	/** Deadline of each timer in the model, IDLE if it isn't waiting. */
+	private long[] deadlines;
+	/** Checks if each timer came due since it was last scheduled. */
+	private boolean[] due;
+	/** Period of each timer that schedules itself again, 0 if it doesn't. */
+	private long[] periods;
+	/** Times each timer was called back during the last advance. */
+	private int[] calls;
+	/** Deadline of the last timer called back during the last advance. */
+	private long lastCall;
+
+	/**
+	 * Plays random games against the model.
+	 */
+	@Test
+	void matchesBruteForce() {
+		for (int seed = 0; seed < SEEDS; seed++)
+			play(seed);
+	}
+
+	/**
+	 * A timer cancelled or moved is not called back at its old time, and one
+	 * moved while the clock ran ahead of the wheel counts from the clock.
+	 */
+	@Test
+	void cancelAndReschedule() {
+		TickClock clock = new TickClock();
+		TimingWheel wheel = clock.getTimingWheel();
+		int[] calls = new int[1];
+		TimingWheel.Timer timer = new TimingWheel.Timer(() -> calls[0]++);
+
+		wheel.schedule(timer, 100);
+		wheel.cancel(timer);
+		clock.advance(1000);
+		wheel.advance();
+		assertEquals(0, calls[0]);
+		assertFalse(timer.isPending());
+		assertFalse(timer.isDue());
+
+		wheel.schedule(timer, 100);
+		wheel.schedule(timer, 5000);
+		clock.advance(4999);
+		// Counts from the clock, the wheel is still behind.
+		wheel.schedule(timer, 10);
+		clock.advance(9);
+		wheel.advance();
+		assertEquals(0, calls[0]);
+		assertEquals(1, wheel.getRemaining(timer));
+		clock.advance(1);
+		wheel.advance();
+		assertEquals(1, calls[0]);
+		assertTrue(timer.isDue());
+		assertEquals(0, wheel.getPendingCount());
+	}
+
+	/**
+	 * A timer longer than every wheel together is parked and placed again
+	 * until it comes due, also when the clock jumps past it at once.
+	 */
+	@Test
+	void longDelays() {
+		TickClock clock = new TickClock();
+		TimingWheel wheel = clock.getTimingWheel();
+		TimingWheel.Timer parked = new TimingWheel.Timer();
+		TimingWheel.Timer jumped = new TimingWheel.Timer();
+		long delay = 3 * EDGES[3] + 12345;
+		wheel.schedule(parked, delay);
+		wheel.schedule(jumped, delay);
+
+		while (clock.getTime() < delay - 1) {
+			clock.advance(Math.min(EDGES[2] - 1, delay - 1 - clock.getTime()));
+			wheel.advance();
+		}
+		assertTrue(parked.isPending());
+		assertEquals(1, wheel.getRemaining(parked));
+		clock.advance(1);
+		wheel.advance();
+		assertTrue(parked.isDue());
+		assertTrue(jumped.isDue());
+
+		wheel.schedule(jumped, delay);
+		clock.advance(10 * delay);
+		wheel.advance();
+		assertTrue(jumped.isDue());
+		assertEquals(0, wheel.getPendingCount());
+	}
+
+	/**
+	 * Plays a random game, checking the wheel against the model after every
+	 * operation.
+	 *
+	 * @param seed
+	 *            Seed of the operations.
+	 */
+	private void play(final long seed) {
+		this.clock = new TickClock();
+		this.wheel = this.clock.getTimingWheel();
+		this.random = new Random(seed);
+		this.timers = new TimingWheel.Timer[TIMERS];
+		this.deadlines = new long[TIMERS];
+		this.due = new boolean[TIMERS];
+		this.periods = new long[TIMERS];
+		this.calls = new int[TIMERS];
+		for (int i = 0; i < TIMERS; i++) {
+			final int timer = i;
+			this.timers[i] = new TimingWheel.Timer(() -> call(timer));
+			this.deadlines[i] = IDLE;
+			// A quarter of the timers repeat, as cooldowns do.
+			if (i % 4 == 0)
+				this.periods[i] = 1 + this.random.nextInt(2000);
+		}
+
+		for (int step = 0; step < STEPS; step++) {
+			int operation = this.random.nextInt(100);
+			int timer = this.random.nextInt(TIMERS);
+			if (operation < 40)
+				schedule(timer, randomDelay());
+			else if (operation < 50)
+				cancel(timer);
+			else if (operation < 55)
+				// The clock runs ahead of the wheel until the next advance.
+				this.clock.advance(this.random.nextInt(50));
+			else
+				advance(randomJump());
+			check("seed " + seed + " step " + step);
+		}
+	}
+
+	/**
+	 * Schedules a timer in both the wheel and the model.
+	 *
+	 * @param timer
+	 *            Number of the timer.
+	 * @param delay
+	 *            Delay it's scheduled with.
+	 */
+	private void schedule(final int timer, final long delay) {
+		this.deadlines[timer] = Math.max(this.clock.getTime(),
+				this.wheel.getTime()) + Math.max(1, delay);
+		this.due[timer] = false;
+		this.wheel.schedule(this.timers[timer], delay);
+	}
+
+	/**
+	 * Cancels a timer in both the wheel and the model.
+	 *
+	 * @param timer
+	 *            Number of the timer.
+	 */
+	private void cancel(final int timer) {
+		this.deadlines[timer] = IDLE;
+		this.wheel.cancel(this.timers[timer]);
+	}
+
+	/**
+	 * Moves the clock forward and advances the wheel, checking every timer
+	 * the model has due by then is called back once, in order, at its time.
+	 *
+	 * @param milliseconds
+	 *            Time the clock moves forward.
+	 */
+	private void advance(final long milliseconds) {
+		this.clock.advance(milliseconds);
+		long target = this.clock.getTime();
+		boolean[] expected = new boolean[TIMERS];
+		for (int i = 0; i < TIMERS; i++)
+			expected[i] = this.deadlines[i] != IDLE
+					&& this.deadlines[i] <= target;
+		this.calls = new int[TIMERS];
+		this.lastCall = Long.MIN_VALUE;
+
+		this.wheel.advance();
+
+		assertEquals(target, this.wheel.getTime());
+		for (int i = 0; i < TIMERS; i++)
+			assertEquals(expected[i] ? 1 : 0, this.calls[i], "calls of " + i);
+	}
+
+	/**
+	 * Called back by a timer, checks it's due now and after the ones
+	 * before it, then updates the model.
+	 *
+	 * @param timer
+	 *            Number of the timer.
+	 */
+	private void call(final int timer) {
+		long now = this.wheel.getTime();
+		assertEquals(this.deadlines[timer], now, "deadline of " + timer);
+		assertTrue(now >= this.lastCall, "order of " + timer);
+		assertFalse(this.timers[timer].isPending());
+		assertTrue(this.timers[timer].isDue());
+		this.lastCall = now;
+		this.calls[timer]++;
+		this.deadlines[timer] = IDLE;
+		this.due[timer] = true;
+		if (this.periods[timer] != 0)
+			schedule(timer, this.periods[timer]);
+	}
+
+	/**
+	 * Checks every timer is where the model has it.
+	 *
+	 * @param where
+	 *            Operation checked, for the failure message.
+	 */
+	private void check(final String where) {
+		int pending = 0;
+		for (int i = 0; i < TIMERS; i++) {
+			boolean waiting = this.deadlines[i] != IDLE;
+			assertEquals(waiting, this.timers[i].isPending(),
+					where + ": pending " + i);
+			assertEquals(this.due[i], this.timers[i].isDue(),
+					where + ": due " + i);
+			if (waiting) {
+				pending++;
+				assertEquals(this.deadlines[i] - this.wheel.getTime(),
+						this.wheel.getRemaining(this.timers[i]),
+						where + ": remaining " + i);
+			}
+		}
+		assertEquals(pending, this.wheel.getPendingCount(), where);
+	}
+
+	/**
+	 * Picks a delay, mostly short, often right around the size of a wheel,
+	 * sometimes longer than every wheel together.
+	 *
+	 * @return Milliseconds of delay, maybe 0.
+	 */
+	private long randomDelay() {
+		int kind = this.random.nextInt(10);
+		if (kind < 4)
+			return this.random.nextInt(300);
+		if (kind < 8) {
+			long edge = EDGES[this.random.nextInt(EDGES.length)];
+			return Math.max(0, edge - 3 + this.random.nextInt(7));
+		}
+		if (kind < 9)
+			return this.random.nextInt((int) EDGES[2]);
+		return EDGES[3] + (long) (this.random.nextDouble() * 3 * EDGES[3]);
+	}
+
+	/**
+	 * Picks how far the clock moves, mostly a frame, sometimes across
+	 * wheels, and now and then a jump longer than every wheel together.
+	 *
+	 * @return Milliseconds the clock moves, maybe 0.
+	 */
+	private long randomJump() {
+		int kind = this.random.nextInt(100);
+		if (kind < 80)
+			return this.random.nextInt(40);
+		if (kind < 95)
+			return this.random.nextInt((int) EDGES[1] * 2);
+		if (kind < 99)
+			return this.random.nextInt((int) EDGES[2] * 2);
+		return EDGES[3] + (long) (this.random.nextDouble() * 2 * EDGES[3]);
+	}
+}
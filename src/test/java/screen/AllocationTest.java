@@ -0,0 +1,208 @@
+package screen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Container;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+import engine.Core;
+import engine.GameSettings;
+import engine.GameState;
+import engine.InputManager;
+import engine.PowerUpEffects;
+import engine.Renderer;
+import engine.TickClock;
+import entity.PowerUp;
+
+/**
+ * Plays a game without a window and checks that, once warmed up, its frames
+ * don't allocate memory, neither on the thread playing them nor on the
+ * render thread drawing them.
+ *
+ * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
+ *
+ */
+class AllocationTest {
+
+	/** Width of the screen played on. */
+	private static final int WIDTH = 448;
+	/** Height of the screen played on. */
+	private static final int HEIGHT = 520;
+	/** Frame rate of the screen played on. */
+	private static final int FPS = 60;
+	/** Frames played before measuring, so everything is loaded and compiled. */
+	private static final int WARMUP_FRAMES = 10000;
+	/** Frames measured. */
+	private static final int MEASURED_FRAMES = 10000;
+	/** Frames the ship keeps moving in the same direction. */
+	private static final int TURN_FRAMES = 90;
+	/** Frames between the power-ups given while warming up. */
+	private static final int POWER_UP_FRAMES = 2000;
+	/** Lives of the player, enough to last the whole test. */
+	private static final int LIVES = 100;
+	/** Seed of the game played. */
+	private static final long SEED = 1;
+
+	/** Input manager the keys are sent to. */
+	private InputManager inputManager;
+	/** Key press events, by key code. */
+	private KeyEvent[] presses;
+	/** Key release events, by key code. */
+	private KeyEvent[] releases;
+
+	/**
+	 * Plays warmed up frames with the render thread running, and checks
+	 * neither thread allocates.
+	 */
+	@Test
+	void steadyStateFramesDontAllocate() {
+		// Logging isn't measured, nor are the warnings of the frame budget
+		// when the render thread takes the game's time on a busy machine.
+		Core.getLogger().setLevel(Level.SEVERE);
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean) ManagementFactory
+						.getThreadMXBean();
+		long gameThread = Thread.currentThread().getId();
+
+		TickClock clock = new TickClock();
+		PreparedLevel level = new PreparedLevel(
+				new GameSettings(16, 6, 20, 1000, false), clock,
+				new Random(SEED));
+		GameScreen gameScreen = new GameScreen(
+				new GameState(1, 0, LIVES, 0, 0), level, false, WIDTH, HEIGHT,
+				FPS);
+		gameScreen.initialize();
+		Renderer renderer = gameScreen.getRenderer();
+		renderer.start();
+		try {
+			Thread renderThread = findThread("Renderer");
+			assertNotNull(renderThread, "render thread");
+			pressKeys();
+
+			long frameTime = 1000 / FPS;
+			// Every warm up frame is drawn, or the render thread could get
+			// too few of them to have its code compiled. Power-ups are given
+			// as well, drawing them is warmed up whatever the game drops.
+			play(gameScreen, clock, renderer, 0, WARMUP_FRAMES, frameTime);
+
+			long gameStart = threads.getThreadAllocatedBytes(gameThread);
+			long overhead = threads.getThreadAllocatedBytes(gameThread)
+					- gameStart;
+			long renderStart = threads
+					.getThreadAllocatedBytes(renderThread.getId());
+			gameStart = threads.getThreadAllocatedBytes(gameThread);
+			play(gameScreen, clock, null, WARMUP_FRAMES, MEASURED_FRAMES,
+					frameTime);
+			renderer.flush();
+			long gameAllocated = threads.getThreadAllocatedBytes(gameThread)
+					- gameStart - overhead;
+			// Read before the thread stops, a dead thread isn't measured.
+			long renderAllocated = threads
+					.getThreadAllocatedBytes(renderThread.getId())
+					- renderStart;
+
+			assertTrue(gameScreen.getGameState().getLivesRemaining() > 0,
+					"game over before the end of the test");
+			assertEquals(0, Math.max(0, gameAllocated),
+					"bytes allocated by the game thread");
+			assertEquals(0, renderAllocated,
+					"bytes allocated by the render thread");
+		} finally {
+			renderer.stop();
+			releaseKeys();
+			level.close();
+		}
+	}
+
+	/**
+	 * Makes the key events sent, and holds the fire key down.
+	 */
+	private void pressKeys() {
+		this.inputManager = Core.getInputManager();
+		Container source = new Container();
+		this.presses = new KeyEvent[KeyEvent.VK_RIGHT + 1];
+		this.releases = new KeyEvent[KeyEvent.VK_RIGHT + 1];
+		for (int code : new int[] { KeyEvent.VK_SPACE, KeyEvent.VK_LEFT,
+				KeyEvent.VK_RIGHT }) {
+			this.presses[code] = new KeyEvent(source, KeyEvent.KEY_PRESSED,
+					0, 0, code, KeyEvent.CHAR_UNDEFINED);
+			this.releases[code] = new KeyEvent(source, KeyEvent.KEY_RELEASED,
+					0, 0, code, KeyEvent.CHAR_UNDEFINED);
+		}
+		this.inputManager.keyPressed(this.presses[KeyEvent.VK_SPACE]);
+	}
+
+	/**
+	 * Lets go of every key pressed.
+	 */
+	private void releaseKeys() {
+		if (this.releases == null)
+			return;
+		for (KeyEvent release : this.releases)
+			if (release != null)
+				this.inputManager.keyReleased(release);
+	}
+
+	/**
+	 * Plays a number of frames, firing all the time and moving from side to
+	 * side. While warming up, every power-up is given now and then.
+	 *
+	 * @param gameScreen
+	 *            Game being played.
+	 * @param clock
+	 *            Clock of the game.
+	 * @param renderer
+	 *            Renderer waited for to draw each frame while warming up,
+	 *            null to go on without waiting.
+	 * @param firstFrame
+	 *            Number of frames played before.
+	 * @param frames
+	 *            Number of frames to play.
+	 * @param frameTime
+	 *            Milliseconds between frames.
+	 */
+	private void play(final GameScreen gameScreen, final TickClock clock,
+			final Renderer renderer, final int firstFrame, final int frames,
+			final long frameTime) {
+		for (int frame = firstFrame; frame < firstFrame + frames; frame++) {
+			if (frame % TURN_FRAMES == 0) {
+				boolean right = frame / TURN_FRAMES % 2 == 0;
+				this.inputManager.keyReleased(this.releases[right
+						? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT]);
+				this.inputManager.keyPressed(this.presses[right
+						? KeyEvent.VK_RIGHT : KeyEvent.VK_LEFT]);
+			}
+			if (renderer != null && frame % POWER_UP_FRAMES == 0) {
+				PowerUpEffects effects = gameScreen.getSimulation()
+						.getPowerUpEffects();
+				for (int i = 0; i < PowerUp.count(); i++)
+					effects.activate(PowerUp.get(i));
+			}
+			clock.advance(frameTime);
+			gameScreen.update();
+			if (renderer != null)
+				renderer.flush();
+		}
+	}
+
+	/**
+	 * Looks for a running thread by its name.
+	 *
+	 * @param name
+	 *            Name of the thread.
+	 * @return Thread found, null if none has that name.
+	 */
+	private static Thread findThread(final String name) {
+		for (Thread thread : Thread.getAllStackTraces().keySet())
+			if (name.equals(thread.getName()))
+				return thread;
+		return null;
+	}
+}